@@ -24,6 +24,7 @@ import com.usermanager.manager.dto.user.UserLoginInfo;
 import com.usermanager.manager.enums.ClientType;
 import com.usermanager.manager.exception.authentication.TokenInvalidException;
 import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserPrincipal;
 import com.usermanager.manager.service.auth.AuthService;
 
 import jakarta.servlet.http.Cookie;
@@ -187,17 +188,19 @@ public class AuthController {
 
     // --- Info e validação de token ---
     @GetMapping("token/validate")
-    public ResponseEntity<String> validateToken(@AuthenticationPrincipal User user) {
+    public ResponseEntity<String> validateToken(@AuthenticationPrincipal UserPrincipal user) {
         return ResponseEntity.ok("válido");
     }
 
     @GetMapping("me")
     @ResponseBody
-    public ResponseEntity<ProfileDTO> getUserInfo(@AuthenticationPrincipal User user) {
-        if (user == null) {
+    public ResponseEntity<ProfileDTO> getUserInfo(@AuthenticationPrincipal UserPrincipal principal) {
+        if (principal == null) {
             return null;
         }
 
+        User user = authService.findUserByLogin(principal.login());
+
         ZonedDateTime expirationDate = authService.getExpirationDate(user);
         return ResponseEntity.ok(new ProfileDTO(
                 user.getName(),
@@ -209,11 +212,13 @@ public class AuthController {
 
     @GetMapping("user/info")
     @ResponseBody
-    public ResponseEntity<UserLoginInfo> getUserLoginInfo(@AuthenticationPrincipal User user) {
-        if (user == null) {
+    public ResponseEntity<UserLoginInfo> getUserLoginInfo(@AuthenticationPrincipal UserPrincipal principal) {
+        if (principal == null) {
             return null;
         }
 
+        User user = authService.findUserByLogin(principal.login());
+
         String username = capitalize(user.getName().split(" ")[0]);
         return ResponseEntity.ok(new UserLoginInfo(username, user.getLastLogin()));
     }
@@ -8,7 +8,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.usermanager.manager.dto.device.RegisterDeviceRequest;
-import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserPrincipal;
 import com.usermanager.manager.service.device.DeviceService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,9 +23,9 @@ public class DevicesController {
     private final DeviceService deviceService;
 
     @PostMapping("register")
-    public ResponseEntity<Void> registerDevice(@AuthenticationPrincipal User user, @RequestBody RegisterDeviceRequest request) {
+    public ResponseEntity<Void> registerDevice(@AuthenticationPrincipal UserPrincipal user, @RequestBody RegisterDeviceRequest request) {
         log.info("Authenticated user: {}, Request: {}", user, request);
-        deviceService.registerDevice(user.getId(), request);
+        deviceService.registerDevice(user.id(), request);
         return ResponseEntity.ok().build();
     }
 }
@@ -2,10 +2,11 @@ package com.usermanager.manager.controller;
 
 
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
-import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserPrincipal;
 import com.usermanager.manager.websocket.presence.PresenceService;
 
 import lombok.RequiredArgsConstructor;
@@ -19,10 +20,10 @@ public class HeartbeatController {
     private final PresenceService presenceService;
 
     @MessageMapping("/heartbeat")
-    public void heartbeat(Authentication auth) {
+    public void heartbeat(Authentication auth, SimpMessageHeaderAccessor headerAccessor) {
         if (auth != null) {
-            var user = (User) auth.getPrincipal();
-            presenceService.heartbeat(user.getId());
+            var user = (UserPrincipal) auth.getPrincipal();
+            presenceService.heartbeat(user.id(), headerAccessor.getSessionId());
         }
     }
 }
\ No newline at end of file
@@ -2,24 +2,29 @@ package com.usermanager.manager.controller;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.usermanager.manager.dto.message.CreateMessage;
 import com.usermanager.manager.dto.message.MessageDTO;
+import com.usermanager.manager.dto.message.MessageListVersion;
+import com.usermanager.manager.dto.message.MessageSyncResponse;
 import com.usermanager.manager.service.message.MessageService;
+import com.usermanager.manager.websocket.broker.SignalBroadcaster;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,12 +33,12 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/api/message")
 public class MessageController {
     private MessageService messageService;
-    private SimpMessagingTemplate messagingTemplate;
+    private SignalBroadcaster signalBroadcaster;
 
-    public MessageController(MessageService messageService, SimpMessagingTemplate messagingTemplate,
+    public MessageController(MessageService messageService, SignalBroadcaster signalBroadcaster,
             AuthController authController) {
         this.messageService = messageService;
-        this.messagingTemplate = messagingTemplate;
+        this.signalBroadcaster = signalBroadcaster;
     }
 
     @PostMapping
@@ -42,7 +47,7 @@ public class MessageController {
 
         log.info("Enviando para websocket: {}", request);
         log.info("message: {}", message.content());
-        messagingTemplate.convertAndSend("/topic/messages", message);
+        signalBroadcaster.broadcast(SignalBroadcaster.MESSAGES_TOPIC, message);
         return ResponseEntity.created(URI.create("/api/message/" + message.id().toString()))
                 .body(message);
     }
@@ -51,15 +56,55 @@ public class MessageController {
     public ResponseEntity<Page<MessageDTO>> getMessages(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) Long afterId) {
+            @RequestParam(required = false) Long afterId,
+            WebRequest webRequest) {
+        // A versão é lida antes do corpo: se algo mudar no meio, o ETag fica
+        // só mais velho que o conteúdo e a próxima requisição recebe 200.
+        Optional<MessageListVersion> version = messageService.currentVersion();
+        String etag = version.map(v -> v.etag("list", page, size, afterId)).orElse(null);
+        if (isNotModified(webRequest, version, etag)) {
+            return null;
+        }
+
         if (afterId != null) {
             // Sync ao voltar ao foreground: busca tudo após o lastMessageId
             List<MessageDTO> newMessages = messageService.findAfterIdOrdered(afterId);
-            return ResponseEntity.ok(new PageImpl<>(newMessages));
+            return ok(version, etag, new PageImpl<>(newMessages));
         }
 
         // Carregamento inicial e paginação por scroll
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").ascending());
-        return ResponseEntity.ok(messageService.findAllPaged(pageable));
+        return ok(version, etag, messageService.findAllPaged(pageable));
+    }
+
+    @GetMapping("/sync")
+    public ResponseEntity<MessageSyncResponse> sync(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            WebRequest webRequest) {
+        Optional<MessageListVersion> version = messageService.currentVersion();
+        String etag = version.map(v -> v.etag("sync", cursor, size)).orElse(null);
+        if (isNotModified(webRequest, version, etag)) {
+            return null;
+        }
+        return ok(version, etag, messageService.sync(cursor, size));
+    }
+
+    /** Responde 304 quando o cliente já tem a versão atual da lista. */
+    private boolean isNotModified(WebRequest webRequest, Optional<MessageListVersion> version, String etag) {
+        return etag != null && webRequest.checkNotModified(etag, version.get().lastModifiedMillis());
+    }
+
+    private <T> ResponseEntity<T> ok(Optional<MessageListVersion> version, String etag, T body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body);
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+        if (version.get().lastModified() != null) {
+            builder.lastModified(version.get().lastModified());
+        }
+        return builder.body(body);
     }
 }
@@ -18,7 +18,7 @@ import com.usermanager.manager.dto.payment.PreferenceResponse;
 import com.usermanager.manager.dto.payment.UserSubscriptionResponse;
 import com.usermanager.manager.dto.payment.WebhookRequest;
 import com.usermanager.manager.dto.payment.WebhookResponse;
-import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserPrincipal;
 import com.usermanager.manager.service.payment.PaymentService;
 
 import lombok.AllArgsConstructor;
@@ -33,12 +33,12 @@ public class PaymentController {
     private final PaymentService paymentService;
 
     @GetMapping("/status")
-    public ResponseEntity<String> getUserSubscriptionStatus(@AuthenticationPrincipal User user) {
+    public ResponseEntity<String> getUserSubscriptionStatus(@AuthenticationPrincipal UserPrincipal user) {
         if (user == null) {
             return ResponseEntity.status(401).body("unathorized");
         }
 
-        UserSubscriptionResponse response = paymentService.getUserSubscription(user.getId());
+        UserSubscriptionResponse response = paymentService.getUserSubscription(user.id());
 
         return ResponseEntity.status(200).body(response.subscription().toString());
     }
@@ -55,13 +55,13 @@ public class PaymentController {
     }
 
     @PostMapping("/create")
-    public ResponseEntity<String> createPayment(@AuthenticationPrincipal User user) throws MPException {
+    public ResponseEntity<String> createPayment(@AuthenticationPrincipal UserPrincipal user) throws MPException {
         if (user == null) {
             return ResponseEntity.status(401).body("unauthorized");
         }
 
         log.info("Initiating payment creation");
-        PreferenceResponse paymentLink = paymentService.createPayment(user.getId());
+        PreferenceResponse paymentLink = paymentService.createPayment(user.id());
         return ResponseEntity.ok(paymentLink.paymentLink());
     }
 
@@ -21,7 +21,8 @@ import com.usermanager.manager.dto.user.SubscriptionDTO;
 import com.usermanager.manager.dto.user.UserDTO;
 import com.usermanager.manager.dto.user.UserResponseDTO;
 import com.usermanager.manager.dto.user.VipUserDTO;
-import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserPrincipal;
+import com.usermanager.manager.service.auth.RefreshTokenService;
 import com.usermanager.manager.service.subscription.SubscriptionService;
 import com.usermanager.manager.service.user.UserService;
 
@@ -37,10 +38,13 @@ public class UserController {
 
     private final UserService userService;
     private final SubscriptionService subscriptionService;
+    private final RefreshTokenService refreshTokenService;
 
-    public UserController(UserService userService, SubscriptionService subscriptionService) {
+    public UserController(UserService userService, SubscriptionService subscriptionService,
+            RefreshTokenService refreshTokenService) {
         this.userService = userService;
         this.subscriptionService = subscriptionService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PutMapping("/update")
@@ -94,15 +98,22 @@ public class UserController {
     @GetMapping("subscription")
     @ResponseBody
     public ResponseEntity<SubscriptionDTO> getUserSignature(
-        @AuthenticationPrincipal User user
+        @AuthenticationPrincipal UserPrincipal user
     ) {
         log.info("user {}", user);
-        return ResponseEntity.ok(new SubscriptionDTO(user.getSubscription().getValue()));
+        return ResponseEntity.ok(new SubscriptionDTO(user.subscription().getValue()));
     }
 
     @GetMapping("subscription/alert")
-    public ResponseEntity<SubscriptionAlert> getUserSubscriptionAlert(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(new SubscriptionAlert(subscriptionService.verifyUserAlert(user)));
+    public ResponseEntity<SubscriptionAlert> getUserSubscriptionAlert(@AuthenticationPrincipal UserPrincipal user) {
+        return ResponseEntity.ok(new SubscriptionAlert(
+            subscriptionService.verifyUserAlert(userService.getReference(user.id()))));
+    }
+
+    @DeleteMapping("sessions")
+    public ResponseEntity<ResponseMessage> revokeAllSessions(@AuthenticationPrincipal UserPrincipal user) {
+        int revoked = refreshTokenService.revokeAll(user.id());
+        return ResponseEntity.ok(new ResponseMessage(revoked + " sessões encerradas."));
     }
 
     @GetMapping("vip")
@@ -12,9 +12,10 @@ import com.usermanager.manager.dto.term.TermAcceptedResponse;
 import com.usermanager.manager.exception.user.UserNotFoundException;
 import com.usermanager.manager.model.term.TermOfUse;
 import com.usermanager.manager.model.term.UserTermAcceptance;
-import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserPrincipal;
 import com.usermanager.manager.service.term.TermOfUseService;
 import com.usermanager.manager.service.term.UserTermAcceptanceService;
+import com.usermanager.manager.service.user.UserService;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,16 +26,19 @@ public class UserTermAcceptanceController {
 
     private final UserTermAcceptanceService acceptanceService;
     private final TermOfUseService termOfUseService;
+    private final UserService userService;
 
     public UserTermAcceptanceController(UserTermAcceptanceService acceptanceService,
-                                        TermOfUseService termOfUseService) {
+                                        TermOfUseService termOfUseService,
+                                        UserService userService) {
         this.acceptanceService = acceptanceService;
         this.termOfUseService = termOfUseService;
+        this.userService = userService;
     }
 
     @PostMapping("/accept-latest")
     public ResponseEntity<TermAcceptedResponse> acceptLatestTerm(
-        @AuthenticationPrincipal User user,
+        @AuthenticationPrincipal UserPrincipal user,
         AcceptanceRequest request
     ) {
         TermOfUse latestTerm = termOfUseService.findLatest();
@@ -43,20 +47,22 @@ public class UserTermAcceptanceController {
             isAdult = request.isAdult();
         }
 
-        UserTermAcceptance acceptance = acceptanceService.acceptTerm(user, latestTerm, isAdult);
+        UserTermAcceptance acceptance = acceptanceService.acceptTerm(
+            userService.getReference(user.id()), latestTerm, isAdult);
 
-        return ResponseEntity.ok(new TermAcceptedResponse(acceptance.getTermOfUse(), acceptance.getIsAdult(), acceptance.getAcceptedAt(), acceptance.getUser().getLogin()));
+        return ResponseEntity.ok(new TermAcceptedResponse(acceptance.getTermOfUse(), acceptance.getIsAdult(), acceptance.getAcceptedAt(), user.login()));
     }
 
     @GetMapping("/has-accepted-latest")
     public ResponseEntity<Boolean> hasAcceptedLatest(
-        @AuthenticationPrincipal User user
+        @AuthenticationPrincipal UserPrincipal user
     ) {
         if (user == null) {
             throw new UserNotFoundException("");
         }
         TermOfUse latestTerm = termOfUseService.findLatest();
-        boolean accepted = acceptanceService.hasAcceptedLatestTerm(user, latestTerm);
+        boolean accepted = acceptanceService.hasAcceptedLatestTerm(
+            userService.getReference(user.id()), latestTerm);
         return ResponseEntity.ok(accepted);
     }
 }
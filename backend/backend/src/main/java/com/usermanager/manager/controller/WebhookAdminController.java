@@ -0,0 +1,39 @@
+package com.usermanager.manager.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.usermanager.manager.dto.payment.DeadLetterReplayRequest;
+import com.usermanager.manager.dto.payment.DeadLetterReplayResponse;
+import com.usermanager.manager.dto.payment.DeadLetterWebhookEvent;
+import com.usermanager.manager.infra.webhook.WebhookDeadLetterService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/payment/webhooks/dead-letter")
+@RequiredArgsConstructor
+public class WebhookAdminController {
+
+    private final WebhookDeadLetterService deadLetterService;
+
+    @GetMapping
+    public ResponseEntity<List<DeadLetterWebhookEvent>> list(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(deadLetterService.list(afterId, size));
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<DeadLetterReplayResponse> replay(@RequestBody(required = false) DeadLetterReplayRequest request) {
+        int replayed = deadLetterService.replay(request != null ? request.ids() : List.of());
+        return ResponseEntity.ok(new DeadLetterReplayResponse(replayed));
+    }
+}
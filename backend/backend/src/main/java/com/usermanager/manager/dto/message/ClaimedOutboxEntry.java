@@ -0,0 +1,14 @@
+package com.usermanager.manager.dto.message;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Evento do outbox reservado por um worker do relay.
+ *
+ * @param attempts    tentativas contando a atual
+ * @param lockedUntil fim do lease desta reserva; só quem ainda o tem pode
+ *                    renovar ou encerrar o evento
+ */
+public record ClaimedOutboxEntry(long id, long messageId, String title, String body, int attempts,
+        ZonedDateTime createdAt, ZonedDateTime lockedUntil) {
+}
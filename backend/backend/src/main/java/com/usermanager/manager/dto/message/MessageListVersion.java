@@ -0,0 +1,51 @@
+package com.usermanager.manager.dto.message;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Identifica o conteúdo atual da lista de mensagens: a mais nova, a mais
+ * antiga ainda retida e a quantidade. Qualquer inserção ou limpeza muda pelo
+ * menos um dos três valores.
+ *
+ * @param lastModified created_at da mensagem mais nova, ou o momento da última
+ *                     remoção quando for posterior; null sem mensagens nem remoções
+ */
+public record MessageListVersion(long latestId, long oldestId, int count, Instant lastModified) {
+
+    /**
+     * ETag forte para a lista combinada com os parâmetros da requisição. Os
+     * parâmetros entram pelo SHA-256, com tamanho e valor de cada um, para que
+     * combinações diferentes nunca gerem a mesma tag.
+     */
+    public String etag(Object... params) {
+        StringBuilder key = new StringBuilder();
+        for (Object param : params) {
+            if (param == null) {
+                key.append('~');
+            } else {
+                String value = param.toString();
+                key.append(value.length()).append(':').append(value);
+            }
+            key.append(';');
+        }
+        return "\"" + Long.toHexString(latestId) + "-" + Long.toHexString(oldestId) + "-"
+                + Integer.toHexString(count) + "-" + sha256Hex(key.toString()) + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.usermanager.manager.dto.message;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+import com.usermanager.manager.exception.message.InvalidCursorException;
+
+/**
+ * Posição da última mensagem entregue ao cliente na ordem (created_at, id).
+ * Trafega como texto opaco em base64url; o cliente só devolve o valor.
+ */
+public record MessageSyncCursor(ZonedDateTime createdAt, Long id) {
+
+    public static MessageSyncCursor of(MessageDTO message) {
+        return new MessageSyncCursor(message.created_at(), message.id());
+    }
+
+    public String encode() {
+        Instant instant = createdAt.toInstant();
+        String raw = instant.getEpochSecond() + ":" + instant.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MessageSyncCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Cursor inválido");
+            }
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new MessageSyncCursor(instant.atZone(ZoneOffset.UTC), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.usermanager.manager.dto.message;
+
+import java.util.List;
+
+/**
+ * Lote de mensagens posteriores ao cursor informado. nextCursor aponta para a
+ * última mensagem do lote (ou repete o cursor recebido quando não há nada
+ * novo) e hasMore indica que o cliente deve pedir o próximo lote em seguida.
+ */
+public record MessageSyncResponse(List<MessageDTO> messages, String nextCursor, boolean hasMore) {
+}
@@ -0,0 +1,5 @@
+package com.usermanager.manager.dto.notification;
+
+public record PushRecipient(Long userId, String pushToken) {
+
+}
@@ -0,0 +1,11 @@
+package com.usermanager.manager.dto.payment;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Evento de webhook reservado por um worker.
+ *
+ * @param retryCount falhas anteriores a esta tentativa
+ */
+public record ClaimedWebhookEvent(long id, String payloadJson, int retryCount, ZonedDateTime receivedAt) {
+}
@@ -0,0 +1,9 @@
+package com.usermanager.manager.dto.payment;
+
+import java.util.List;
+
+/**
+ * @param ids eventos a reprocessar; vazio reprocessa toda a dead letter
+ */
+public record DeadLetterReplayRequest(List<Long> ids) {
+}
@@ -0,0 +1,4 @@
+package com.usermanager.manager.dto.payment;
+
+public record DeadLetterReplayResponse(int replayed) {
+}
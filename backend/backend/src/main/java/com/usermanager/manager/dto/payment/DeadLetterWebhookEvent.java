@@ -0,0 +1,15 @@
+package com.usermanager.manager.dto.payment;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Evento de webhook que esgotou as tentativas (view webhook_events_dead_letter).
+ */
+public record DeadLetterWebhookEvent(
+        long id,
+        String resourceId,
+        int retryCount,
+        String lastError,
+        ZonedDateTime receivedAt,
+        ZonedDateTime failedAt) {
+}
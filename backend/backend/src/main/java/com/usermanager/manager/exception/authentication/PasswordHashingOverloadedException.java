@@ -0,0 +1,7 @@
+package com.usermanager.manager.exception.authentication;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
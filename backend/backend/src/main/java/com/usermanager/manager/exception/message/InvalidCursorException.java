@@ -0,0 +1,7 @@
+package com.usermanager.manager.exception.message;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,145 @@
+package com.usermanager.manager.infra.activity;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.usermanager.manager.repository.DeviceRepository;
+import com.usermanager.manager.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind do último login e do último uso dos devices. As marcações ficam
+ * em memória, uma por usuário ou push token com o horário mais recente, e vão
+ * para o banco a cada login.activity.flush-interval em UPDATE ... FROM
+ * (VALUES ...) em lote, fora da transação do login. O que estiver pendente é
+ * gravado no desligamento; uma queda do processo perde no máximo um
+ * intervalo, o que é aceitável para esses campos.
+ */
+@Component
+@Slf4j
+public class LoginActivityBuffer {
+
+    private final UserRepository userRepository;
+    private final DeviceRepository deviceRepository;
+    private final Map<Long, Pending<Instant>> lastLogins = new ConcurrentHashMap<>();
+    private final Map<String, Pending<LocalDateTime>> deviceTouches = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter userRows;
+    private final Counter deviceRows;
+    private final Counter failures;
+    private final Timer flushTimer;
+
+    public LoginActivityBuffer(UserRepository userRepository, DeviceRepository deviceRepository,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.deviceRepository = deviceRepository;
+
+        this.userRows = Counter.builder("login.activity.rows").tag("kind", "user")
+                .description("Linhas de users atualizadas pelo flush").register(meterRegistry);
+        this.deviceRows = Counter.builder("login.activity.rows").tag("kind", "device")
+                .description("Linhas de devices atualizadas pelo flush").register(meterRegistry);
+        this.failures = Counter.builder("login.activity.flush.failures")
+                .description("Flushes que falharam e ficaram para o próximo ciclo").register(meterRegistry);
+        this.flushTimer = Timer.builder("login.activity.flush")
+                .description("Tempo de gravação de um lote de atividade").register(meterRegistry);
+        Gauge.builder("login.activity.pending", lastLogins, Map::size).tag("kind", "user")
+                .description("Últimos logins aguardando flush").register(meterRegistry);
+        Gauge.builder("login.activity.pending", deviceTouches, Map::size).tag("kind", "device")
+                .description("Usos de device aguardando flush").register(meterRegistry);
+        Gauge.builder("login.activity.lag", this, LoginActivityBuffer::lagSeconds)
+                .baseUnit("seconds")
+                .description("Idade da marcação pendente mais antiga").register(meterRegistry);
+    }
+
+    /**
+     * Horário original da marcação e o instante em que entrou no buffer.
+     * Marcações do mesmo usuário mantêm o horário mais recente e o enfileiramento
+     * mais antigo, que é o que mede o atraso.
+     */
+    record Pending<T extends Comparable<? super T>>(T at, long enqueuedNanos) {
+        Pending<T> merge(Pending<T> newer) {
+            return new Pending<>(newer.at().compareTo(at) > 0 ? newer.at() : at, enqueuedNanos);
+        }
+    }
+
+    public void recordLogin(long userId, Instant at) {
+        lastLogins.merge(userId, new Pending<>(at, System.nanoTime()), Pending::merge);
+    }
+
+    public void touchDevice(String pushToken, LocalDateTime at) {
+        deviceTouches.merge(pushToken, new Pending<>(at, System.nanoTime()), Pending::merge);
+    }
+
+    @Scheduled(fixedDelayString = "${login.activity.flush-interval:5s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            drain(lastLogins, userRepository::updateLastLogins, userRows, "users");
+            drain(deviceTouches, deviceRepository::touchDevices, deviceRows, "devices");
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        int lost = lastLogins.size() + deviceTouches.size();
+        if (lost > 0) {
+            log.warn("{} marcações de atividade não foram gravadas no desligamento", lost);
+        }
+    }
+
+    private <K, T extends Comparable<? super T>> void drain(Map<K, Pending<T>> pending,
+            ToIntFunction<Map<K, T>> writer, Counter rows, String table) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<K, Pending<T>> batch = new HashMap<>(pending);
+        Map<K, T> values = new HashMap<>(batch.size() * 2);
+        batch.forEach((key, entry) -> values.put(key, entry.at()));
+
+        long start = System.nanoTime();
+        try {
+            rows.increment(writer.applyAsInt(values));
+        } catch (DataAccessException e) {
+            failures.increment();
+            log.warn("Falha ao gravar {} marcações em {}, nova tentativa no próximo ciclo: {}",
+                    batch.size(), table, e.getMessage());
+            return;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        // Só sai o que não mudou durante o flush; marcações novas ficam para o próximo
+        batch.forEach(pending::remove);
+    }
+
+    private double lagSeconds() {
+        long now = System.nanoTime();
+        long lag = 0;
+        for (Pending<Instant> entry : lastLogins.values()) {
+            lag = Math.max(lag, now - entry.enqueuedNanos());
+        }
+        for (Pending<LocalDateTime> entry : deviceTouches.values()) {
+            lag = Math.max(lag, now - entry.enqueuedNanos());
+        }
+        return lag / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.usermanager.manager.infra.async;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração dos executores nomeados de @Async (async.executors.push,
+ * async.executors.mail, async.executors.webhook, async.executors.password).
+ * Executores sem entrada usam os valores padrão de Pool.
+ */
+@ConfigurationProperties(prefix = "async")
+public record AsyncProperties(@DefaultValue Map<String, Pool> executors) {
+
+    private static final Pool DEFAULT_POOL = new Pool(2, 8, 1000, Duration.ofSeconds(60),
+            RejectionPolicy.CALLER_RUNS, false);
+
+    public Pool pool(String name) {
+        return executors.getOrDefault(name, DEFAULT_POOL);
+    }
+
+    /**
+     * @param corePoolSize   threads mantidas; 0 usa o número de processadores
+     * @param maxPoolSize    limite de threads; 0 usa o número de processadores
+     * @param virtualThreads usa uma thread virtual por tarefa, limitando a
+     *                       concorrência a maxPoolSize; nesse modo não há fila
+     *                       e quem submete espera quando o limite é atingido
+     */
+    public record Pool(
+            @DefaultValue("2") int corePoolSize,
+            @DefaultValue("8") int maxPoolSize,
+            @DefaultValue("1000") int queueCapacity,
+            @DefaultValue("60s") Duration keepAlive,
+            @DefaultValue("CALLER_RUNS") RejectionPolicy rejectionPolicy,
+            @DefaultValue("false") boolean virtualThreads) {
+    }
+
+    public enum RejectionPolicy {
+        /** Lança RejectedExecutionException para quem submeteu. */
+        ABORT,
+        /** Executa na thread de quem submeteu, freando a produção. */
+        CALLER_RUNS,
+        /** Descarta a tarefa nova. */
+        DISCARD,
+        /** Descarta a tarefa mais antiga da fila e enfileira a nova. */
+        DISCARD_OLDEST
+    }
+}
@@ -0,0 +1,149 @@
+package com.usermanager.manager.infra.async;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Decora as tarefas de um executor nomeado: propaga o MDC de quem submeteu e
+ * mede fila, tarefas em execução, espera na fila, duração e rejeições. Vale
+ * tanto para o pool de threads de plataforma quanto para o modo de threads
+ * virtuais, que não expõe fila própria.
+ */
+public class InstrumentedTaskDecorator implements TaskDecorator {
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Timer executionTimer;
+    private final Counter rejected;
+
+    public InstrumentedTaskDecorator(String name, MeterRegistry meterRegistry) {
+        Gauge.builder("async.executor.queued", queued, AtomicInteger::get)
+                .tag("name", name)
+                .description("Tarefas aguardando execução")
+                .register(meterRegistry);
+        Gauge.builder("async.executor.active", active, AtomicInteger::get)
+                .tag("name", name)
+                .description("Tarefas em execução")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("async.executor.wait")
+                .tag("name", name)
+                .description("Tempo entre a submissão e o início da tarefa")
+                .register(meterRegistry);
+        this.executionTimer = Timer.builder("async.executor.execution")
+                .tag("name", name)
+                .description("Duração das tarefas")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("async.executor.rejected")
+                .tag("name", name)
+                .description("Tarefas rejeitadas ou descartadas por saturação")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @NonNull
+    public Runnable decorate(@NonNull Runnable runnable) {
+        queued.incrementAndGet();
+        return new InstrumentedTask(runnable, MDC.getCopyOfContextMap(), System.nanoTime());
+    }
+
+    public RejectedExecutionHandler rejectionHandler(AsyncProperties.RejectionPolicy policy) {
+        return switch (policy) {
+            case ABORT -> (runnable, executor) -> {
+                reject(runnable);
+                throw new RejectedExecutionException("Executor saturado: " + executor);
+            };
+            case CALLER_RUNS -> (runnable, executor) -> {
+                if (executor.isShutdown()) {
+                    reject(runnable);
+                    return;
+                }
+                runnable.run();
+            };
+            case DISCARD -> (runnable, executor) -> reject(runnable);
+            case DISCARD_OLDEST -> (runnable, executor) -> {
+                if (executor.isShutdown()) {
+                    reject(runnable);
+                    return;
+                }
+                Runnable oldest = executor.getQueue().poll();
+                if (oldest != null) {
+                    reject(oldest);
+                }
+                // A tarefa já vem decorada: execute() do pool do Spring
+                // decoraria de novo e contaria a fila em dobro.
+                if (!executor.getQueue().offer(runnable)) {
+                    reject(runnable);
+                }
+            };
+        };
+    }
+
+    private void reject(Runnable runnable) {
+        if (runnable instanceof InstrumentedTask task) {
+            task.discard();
+        }
+    }
+
+    private final class InstrumentedTask implements Runnable {
+        private final Runnable delegate;
+        private final Map<String, String> context;
+        private final long submittedAt;
+        private final AtomicBoolean dequeued = new AtomicBoolean();
+
+        InstrumentedTask(Runnable delegate, Map<String, String> context, long submittedAt) {
+            this.delegate = delegate;
+            this.context = context;
+            this.submittedAt = submittedAt;
+        }
+
+        @Override
+        public void run() {
+            if (!dequeued.compareAndSet(false, true)) {
+                return;
+            }
+            long start = System.nanoTime();
+            queued.decrementAndGet();
+            waitTimer.record(start - submittedAt, TimeUnit.NANOSECONDS);
+            active.incrementAndGet();
+
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (context != null) {
+                MDC.setContextMap(context);
+            } else {
+                MDC.clear();
+            }
+            try {
+                delegate.run();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+                active.decrementAndGet();
+                executionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void discard() {
+            if (dequeued.compareAndSet(false, true)) {
+                queued.decrementAndGet();
+                rejected.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.usermanager.manager.infra.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal de mensagens entre as instâncias da aplicação. Cada mensagem publicada
+ * chega aos inscritos do mesmo canal em todos os outros nós; o próprio nó de
+ * origem não a recebe de volta.
+ */
+public interface ClusterBus {
+
+    /** Identificador deste nó, enviado como origem das mensagens. */
+    String nodeId();
+
+    void publish(String channel, String payload);
+
+    void subscribe(String channel, Consumer<ClusterMessage> listener);
+
+    /**
+     * Chamado depois que a conexão com os outros nós cai e volta: o que foi
+     * publicado nesse intervalo se perdeu, e quem guarda estado replicado
+     * precisa recarregar. Implementações sem conexão nunca chamam.
+     */
+    default void onReconnect(Runnable listener) {
+    }
+}
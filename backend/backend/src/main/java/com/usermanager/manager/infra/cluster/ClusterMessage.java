@@ -0,0 +1,8 @@
+package com.usermanager.manager.infra.cluster;
+
+/**
+ * @param origin  nodeId de quem publicou
+ * @param payload conteúdo em texto, interpretado por quem assina o canal
+ */
+public record ClusterMessage(String origin, String payload) {
+}
@@ -0,0 +1,61 @@
+package com.usermanager.manager.infra.cluster;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementação dentro da JVM. Com um único nó não há para quem entregar;
+ * várias instâncias ligadas ao mesmo Hub simulam um cluster nos testes.
+ */
+@Slf4j
+public class LocalClusterBus implements ClusterBus {
+    private final String nodeId;
+    private final Hub hub;
+    private final Map<String, List<Consumer<ClusterMessage>>> subscribers = new ConcurrentHashMap<>();
+
+    public LocalClusterBus(String nodeId, Hub hub) {
+        this.nodeId = nodeId;
+        this.hub = hub;
+        hub.nodes.add(this);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(String channel, String payload) {
+        ClusterMessage message = new ClusterMessage(nodeId, payload);
+        for (LocalClusterBus node : hub.nodes) {
+            if (node != this) {
+                node.deliver(channel, message);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<ClusterMessage> listener) {
+        subscribers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void deliver(String channel, ClusterMessage message) {
+        for (Consumer<ClusterMessage> listener : subscribers.getOrDefault(channel, List.of())) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.error("Erro ao processar mensagem do canal {}: {}", channel, e.getMessage());
+            }
+        }
+    }
+
+    /** Conjunto de nós que enxergam as mensagens uns dos outros. */
+    public static final class Hub {
+        private final List<LocalClusterBus> nodes = new CopyOnWriteArrayList<>();
+    }
+}
@@ -0,0 +1,316 @@
+package com.usermanager.manager.infra.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ClusterBus sobre LISTEN/NOTIFY do Postgres. As publicações saem por
+ * conexões do pool, numa única thread com fila limitada, para não segurar
+ * quem publica. A escuta usa uma conexão do mesmo DataSource, reservada para
+ * o LISTEN por uma thread própria que reconecta e refaz os LISTEN quando cai.
+ *
+ * Payloads que não cabem no NOTIFY são gravados em cluster_message e o NOTIFY
+ * leva só o id; quem recebe busca o conteúdo pela conexão de escuta.
+ */
+@Slf4j
+public class PostgresClusterBus implements ClusterBus, InitializingBean, DisposableBean {
+    /** O Postgres recusa payloads de NOTIFY a partir de 8000 bytes. */
+    public static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final String CHANNEL_PREFIX = "chamagol_";
+    private static final char INLINE = '|';
+    private static final char REFERENCE = '#';
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final DataSource dataSource;
+    private final String nodeId;
+    private final Map<String, List<Consumer<ClusterMessage>>> subscribers = new ConcurrentHashMap<>();
+    private final Set<String> listening = ConcurrentHashMap.newKeySet();
+    private final Queue<String> pendingListens = new ConcurrentLinkedQueue<>();
+    private final List<Runnable> reconnectListeners = new CopyOnWriteArrayList<>();
+    private final ThreadPoolExecutor publisher;
+    private volatile boolean running;
+    private Thread listenerThread;
+    /** Só acessado pela thread de publicação. */
+    private long lastPurge = System.nanoTime();
+
+    public PostgresClusterBus(DataSource dataSource, String nodeId, int publishQueueCapacity) {
+        if (nodeId.indexOf(INLINE) >= 0 || nodeId.indexOf(REFERENCE) >= 0) {
+            throw new IllegalArgumentException("cluster.node-id não pode conter '" + INLINE + "' nem '"
+                    + REFERENCE + "': " + nodeId);
+        }
+        this.dataSource = dataSource;
+        this.nodeId = nodeId;
+        this.publisher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(publishQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cluster-bus-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> log.warn("Fila de publicação do cluster cheia, mensagem descartada"));
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(String channel, String payload) {
+        String message = inline(nodeId, payload);
+        if (fitsNotify(message)) {
+            publisher.execute(() -> send(channel, message));
+        } else {
+            publisher.execute(() -> sendByReference(channel, payload));
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<ClusterMessage> listener) {
+        subscribers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+        if (listening.add(channel)) {
+            pendingListens.add(channel);
+        }
+    }
+
+    @Override
+    public void onReconnect(Runnable listener) {
+        reconnectListeners.add(listener);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cluster-bus-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        publisher.shutdown();
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread.join(2000);
+        }
+    }
+
+    static boolean fitsNotify(String message) {
+        // Cada char vira no máximo 3 bytes em UTF-8; só conta quando pode passar
+        return message.length() * 3 <= MAX_PAYLOAD_BYTES
+                || message.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES;
+    }
+
+    static String inline(String origin, String payload) {
+        return origin + INLINE + payload;
+    }
+
+    static String reference(String origin, long id) {
+        return origin + REFERENCE + id;
+    }
+
+    /**
+     * Origem e conteúdo de um NOTIFY: o payload, ou o id em cluster_message
+     * quando ele não coube. Null se o formato não for reconhecido.
+     */
+    static Envelope decode(String raw) {
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == INLINE) {
+                return new Envelope(raw.substring(0, i), raw.substring(i + 1), 0);
+            }
+            if (c == REFERENCE) {
+                try {
+                    return new Envelope(raw.substring(0, i), null, Long.parseLong(raw.substring(i + 1)));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    record Envelope(String origin, String payload, long reference) {
+
+        boolean isReference() {
+            return payload == null;
+        }
+    }
+
+    private void send(String channel, String message) {
+        try (Connection connection = dataSource.getConnection()) {
+            notify(connection, channel, message);
+        } catch (SQLException e) {
+            log.error("Erro ao publicar no canal {}: {}", channel, e.getMessage());
+        }
+    }
+
+    private void sendByReference(String channel, String payload) {
+        try (Connection connection = dataSource.getConnection()) {
+            long id;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO cluster_message (payload) VALUES (?) RETURNING id")) {
+                insert.setString(1, payload);
+                try (ResultSet rs = insert.executeQuery()) {
+                    rs.next();
+                    id = rs.getLong(1);
+                }
+            }
+            notify(connection, channel, reference(nodeId, id));
+            purgeExpired(connection);
+        } catch (SQLException e) {
+            log.error("Erro ao publicar no canal {} por referência: {}", channel, e.getMessage());
+        }
+    }
+
+    private static void notify(Connection connection, String channel, String message) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL_PREFIX + channel);
+            statement.setString(2, message);
+            statement.execute();
+        }
+    }
+
+    /** Apaga no máximo uma vez por minuto o que os outros nós já tiveram tempo de buscar. */
+    private void purgeExpired(Connection connection) throws SQLException {
+        long now = System.nanoTime();
+        if (now - lastPurge < PURGE_INTERVAL_NANOS) {
+            return;
+        }
+        lastPurge = now;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM cluster_message WHERE created_at < now() - interval '5 minutes'");
+        }
+    }
+
+    private void listenLoop() {
+        long backoffMillis = 500;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try {
+                    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                    pendingListens.clear();
+                    for (String channel : listening) {
+                        listen(connection, channel);
+                    }
+                    log.info("Cluster bus conectado como nó {}", nodeId);
+                    backoffMillis = 500;
+                    if (connectedBefore) {
+                        // Os LISTEN já estão ativos: nada publicado daqui em diante se perde
+                        notifyReconnected();
+                    }
+                    connectedBefore = true;
+
+                    while (running) {
+                        String channel;
+                        while ((channel = pendingListens.poll()) != null) {
+                            listen(connection, channel);
+                        }
+                        PGNotification[] notifications = pgConnection.getNotifications(500);
+                        if (notifications != null) {
+                            for (PGNotification notification : notifications) {
+                                dispatch(connection, notification.getName(), notification.getParameter());
+                            }
+                        }
+                    }
+                } finally {
+                    unlistenAll(connection);
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Conexão do cluster bus perdida, reconectando em {} ms: {}", backoffMillis, e.getMessage());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, 30_000);
+            }
+        }
+    }
+
+    private void notifyReconnected() {
+        for (Runnable listener : reconnectListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.error("Erro ao tratar a reconexão do cluster bus: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void listen(Connection connection, String channel) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN \"" + CHANNEL_PREFIX + channel + "\"");
+        }
+    }
+
+    /** A conexão volta para o pool: não pode continuar inscrita nos canais. */
+    private static void unlistenAll(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException e) {
+            log.debug("UNLISTEN falhou, a conexão deve ser descartada pelo pool: {}", e.getMessage());
+        }
+    }
+
+    void dispatch(Connection connection, String pgChannel, String raw) throws SQLException {
+        Envelope envelope = decode(raw);
+        if (envelope == null || !pgChannel.startsWith(CHANNEL_PREFIX) || envelope.origin().equals(nodeId)) {
+            return;
+        }
+        String channel = pgChannel.substring(CHANNEL_PREFIX.length());
+        String payload = envelope.isReference() ? fetch(connection, envelope.reference()) : envelope.payload();
+        if (payload == null) {
+            log.warn("Mensagem {} do canal {} não encontrada em cluster_message", envelope.reference(), channel);
+            return;
+        }
+        ClusterMessage message = new ClusterMessage(envelope.origin(), payload);
+        for (Consumer<ClusterMessage> listener : subscribers.getOrDefault(channel, List.of())) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.error("Erro ao processar mensagem do canal {}: {}", channel, e.getMessage());
+            }
+        }
+    }
+
+    private static String fetch(Connection connection, long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT payload FROM cluster_message WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.usermanager.manager.infra.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.usermanager.manager.infra.async.AsyncProperties;
+import com.usermanager.manager.infra.async.InstrumentedTaskDecorator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Executores nomeados para trabalho assíncrono: push (fan-out da Expo), mail,
+ * webhook e password (hash de senha). Cada um tem fila limitada, política de saturação própria e
+ * métricas async.executor.* com a tag name; os pools de plataforma também
+ * aparecem nas métricas executor.* do Spring Boot. Com
+ * spring.threads.virtual.enabled todos passam para threads virtuais, como o
+ * Tomcat e os jobs @Scheduled, exceto o password: hash de senha é CPU pura e
+ * continua num pool de plataforma do tamanho dos núcleos.
+ */
+@Configuration
+@EnableAsync
+@EnableConfigurationProperties(AsyncProperties.class)
+public class AsyncConfig {
+    public static final String PUSH_EXECUTOR = "pushExecutor";
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+    public static final String WEBHOOK_EXECUTOR = "webhookExecutor";
+    public static final String PASSWORD_EXECUTOR = "passwordExecutor";
+
+    private final boolean virtualThreads;
+
+    public AsyncConfig(Environment environment) {
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    @Bean(name = PUSH_EXECUTOR)
+    public AsyncTaskExecutor pushExecutor(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return buildExecutor("push", properties.pool("push"), meterRegistry);
+    }
+
+    @Bean(name = MAIL_EXECUTOR)
+    public AsyncTaskExecutor mailExecutor(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return buildExecutor("mail", properties.pool("mail"), meterRegistry);
+    }
+
+    @Bean(name = WEBHOOK_EXECUTOR)
+    public AsyncTaskExecutor webhookExecutor(AsyncProperties properties, MeterRegistry meterRegistry) {
+        return buildExecutor("webhook", properties.pool("webhook"), meterRegistry);
+    }
+
+    @Bean(name = PASSWORD_EXECUTOR)
+    public AsyncTaskExecutor passwordExecutor(AsyncProperties properties, MeterRegistry meterRegistry) {
+        String name = "password";
+        return buildPlatformExecutor(name, properties.pool(name), new InstrumentedTaskDecorator(name, meterRegistry));
+    }
+
+    private AsyncTaskExecutor buildExecutor(String name, AsyncProperties.Pool pool, MeterRegistry meterRegistry) {
+        InstrumentedTaskDecorator decorator = new InstrumentedTaskDecorator(name, meterRegistry);
+
+        if (virtualThreads || pool.virtualThreads()) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(name + "-vt-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(poolSize(pool.maxPoolSize()));
+            executor.setTaskDecorator(decorator);
+            return executor;
+        }
+        return buildPlatformExecutor(name, pool, decorator);
+    }
+
+    private AsyncTaskExecutor buildPlatformExecutor(String name, AsyncProperties.Pool pool,
+            InstrumentedTaskDecorator decorator) {
+        int corePoolSize = poolSize(pool.corePoolSize());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(Math.max(corePoolSize, poolSize(pool.maxPoolSize())));
+        executor.setQueueCapacity(pool.queueCapacity());
+        executor.setKeepAliveSeconds((int) pool.keepAlive().toSeconds());
+        executor.setTaskDecorator(decorator);
+        executor.setRejectedExecutionHandler(decorator.rejectionHandler(pool.rejectionPolicy()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    private static int poolSize(int configured) {
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+}
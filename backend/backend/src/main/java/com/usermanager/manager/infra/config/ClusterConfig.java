@@ -0,0 +1,42 @@
+package com.usermanager.manager.infra.config;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.usermanager.manager.infra.cluster.ClusterBus;
+import com.usermanager.manager.infra.cluster.LocalClusterBus;
+import com.usermanager.manager.infra.cluster.PostgresClusterBus;
+
+/**
+ * Escolhe o ClusterBus pela propriedade cluster.bus.type: local (padrão, um
+ * único nó) ou postgres (LISTEN/NOTIFY no próprio banco da aplicação). No
+ * modo postgres, o bus mantém uma conexão do pool reservada para o LISTEN.
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cluster.bus.type", havingValue = "postgres")
+    public ClusterBus postgresClusterBus(DataSource dataSource,
+            @Value("${cluster.node-id:}") String nodeId,
+            @Value("${cluster.bus.publish-queue-capacity:10000}") int publishQueueCapacity) {
+        return new PostgresClusterBus(dataSource, resolveNodeId(nodeId), publishQueueCapacity);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ClusterBus.class)
+    public ClusterBus localClusterBus(@Value("${cluster.node-id:}") String nodeId) {
+        return new LocalClusterBus(resolveNodeId(nodeId), new LocalClusterBus.Hub());
+    }
+
+    private static String resolveNodeId(String nodeId) {
+        return nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.usermanager.manager.infra.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.usermanager.manager.infra.security.password.PasswordHashingProperties;
+
+/**
+ * PasswordEncoder com prefixo {id}: novos hashes usam o algoritmo configurado e
+ * hashes antigos continuam sendo conferidos pelo seu próprio algoritmo.
+ */
+@Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+public class PasswordHashingConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.bcryptStrength());
+        Map<String, PasswordEncoder> encoders = Map.of(
+                PasswordHashingProperties.Algorithm.BCRYPT.id(), bcrypt,
+                PasswordHashingProperties.Algorithm.ARGON2.id(), Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(properties.algorithm().id(), encoders);
+        // Hashes gravados antes do prefixo {id} são bcrypt puro ($2a$...)
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+}
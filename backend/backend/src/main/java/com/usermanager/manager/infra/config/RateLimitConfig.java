@@ -0,0 +1,21 @@
+package com.usermanager.manager.infra.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.usermanager.manager.infra.security.ratelimit.CaffeineBucketStore;
+import com.usermanager.manager.infra.security.ratelimit.RateLimitBucketStore;
+import com.usermanager.manager.infra.security.ratelimit.RateLimitProperties;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimitBucketStore.class)
+    public RateLimitBucketStore rateLimitBucketStore(RateLimitProperties properties) {
+        return new CaffeineBucketStore(properties.maxBuckets(), properties.idleTimeout());
+    }
+}
@@ -0,0 +1,36 @@
+package com.usermanager.manager.infra.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduler dos jobs @Scheduled. O broker STOMP registra o próprio
+ * messageBrokerTaskScheduler, o que desliga o scheduler padrão do Spring Boot
+ * e faria os jobs rodarem nas threads de heartbeat do broker; o bean
+ * taskScheduler abaixo tem precedência por nome. Com
+ * spring.threads.virtual.enabled cada execução roda numa thread virtual.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    private static final String TASK_SCHEDULER = "taskScheduler";
+
+    @Bean(name = TASK_SCHEDULER)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = TASK_SCHEDULER)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskScheduler taskSchedulerVirtualThreads(SimpleAsyncTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
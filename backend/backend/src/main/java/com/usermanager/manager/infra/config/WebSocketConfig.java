@@ -1,5 +1,6 @@
 package com.usermanager.manager.infra.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.messaging.simp.config.ChannelRegistration;
@@ -7,17 +8,25 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 import com.usermanager.manager.websocket.WebSocketAuthInterceptor;
+import com.usermanager.manager.websocket.broker.SlowConsumerHandlerDecorator;
+import com.usermanager.manager.websocket.broker.WebSocketBrokerProperties;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@EnableConfigurationProperties(WebSocketBrokerProperties.class)
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+    private final WebSocketBrokerProperties brokerProperties;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
@@ -33,6 +42,30 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
     }
 
+    @Override
+    public void configureWebSocketTransport(@NonNull WebSocketTransportRegistration registration) {
+        // Cada sessão recebe um ConcurrentWebSocketSessionDecorator com esses
+        // limites: um cliente lento é desconectado em vez de segurar os demais.
+        registration.setSendTimeLimit((int) brokerProperties.sendTimeLimit().toMillis())
+                .setSendBufferSizeLimit((int) brokerProperties.sendBufferSizeLimit().toBytes())
+                .setMessageSizeLimit((int) brokerProperties.messageSizeLimit().toBytes());
+
+        Counter slowConsumerDisconnects = Counter.builder("websocket.sessions.slow_consumer_disconnects")
+                .description("Sessões encerradas por excederem o limite de envio")
+                .register(meterRegistry);
+        registration.addDecoratorFactory(handler -> new SlowConsumerHandlerDecorator(handler,
+                slowConsumerDisconnects));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(@NonNull ChannelRegistration registration) {
+        WebSocketBrokerProperties.Outbound outbound = brokerProperties.outbound();
+        registration.taskExecutor()
+                .corePoolSize(outbound.corePoolSize())
+                .maxPoolSize(outbound.maxPoolSize())
+                .queueCapacity(outbound.queueCapacity());
+    }
+
 //     @Override
 //     public void configureClientInboundChannel(ChannelRegistration registration) {
 //         // se já tiver interceptores, mantenha-os
@@ -0,0 +1,9 @@
+package com.usermanager.manager.infra.event;
+
+/**
+ * @param securityVersionChanged se a versão de segurança subiu nesta
+ *                               transação; só então os tokens antigos caem
+ */
+public record UserChangedEvent(Long userId, String login, int securityVersion, boolean securityVersionChanged) {
+
+}
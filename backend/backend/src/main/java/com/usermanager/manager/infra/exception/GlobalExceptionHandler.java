@@ -9,9 +9,11 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.usermanager.manager.dto.common.ResponseMessage;
 import com.usermanager.manager.exception.authentication.PasswordFormatNotValidException;
+import com.usermanager.manager.exception.authentication.PasswordHashingOverloadedException;
 import com.usermanager.manager.exception.authentication.TokenInvalid;
 import com.usermanager.manager.exception.authentication.TokenInvalidException;
 import com.usermanager.manager.exception.authentication.TokenNotFoundException;
+import com.usermanager.manager.exception.message.InvalidCursorException;
 import com.usermanager.manager.exception.sale.ActiveSaleException;
 import com.usermanager.manager.exception.term.TermExistsException;
 import com.usermanager.manager.exception.term.TermNotFoundException;
@@ -76,6 +78,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(400).body(new ResponseMessage("Formato de senha inválido: " + ex.getMessage()));
     }
 
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ResponseMessage> handlePasswordHashingOverloaded(PasswordHashingOverloadedException ex) {
+        return ResponseEntity.status(429).header("Retry-After", "1").body(new ResponseMessage(ex.getMessage()));
+    }
+
     @ExceptionHandler(TermExistsException.class)
     public ResponseEntity<ResponseMessage> handleTermExistsException(TermExistsException ex) {
         return ResponseEntity.status(409).body(new ResponseMessage("Termo já existe: " + ex.getMessage()));
@@ -90,4 +97,9 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ResponseMessage> handleActiveSaleException(ActiveSaleException ex) {
         return ResponseEntity.status(409).body(new ResponseMessage("Não é possível criar uma oferta nova. Desative a oferta ativa antes."));
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ResponseMessage> handleInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity.status(400).body(new ResponseMessage("Cursor de sincronização inválido"));
+    }
 }
@@ -1,44 +1,53 @@
 package com.usermanager.manager.infra.listener;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.usermanager.manager.dto.notification.PushRecipient;
 import com.usermanager.manager.infra.event.MessageCreatedEvent;
 import com.usermanager.manager.infra.service.PushNotificationService;
-import com.usermanager.manager.model.user.User;
-import com.usermanager.manager.service.user.UserService;
+import com.usermanager.manager.service.device.DeviceService;
 import com.usermanager.manager.websocket.presence.PresenceService;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
 @Slf4j
-@AllArgsConstructor
-@EnableAsync
+@RequiredArgsConstructor
 public class MessageListener {
 
-    private final UserService userService;
+    private final DeviceService deviceService;
     private final PushNotificationService pushNotificationService;
     private final PresenceService presenceService;
 
-    @EventListener
-    @Async
+    @Value("${push.recipients.page-size:1000}")
+    private int pageSize;
+
+    /** Chamado pelo MessageOutboxRelay, na thread do worker que reservou o evento. */
     public void handleMessageCreatedEvent(MessageCreatedEvent event) {
         log.info("Evento recebido pelo id: {}", event.messageId());
 
-        List<User> usersToSendNotification = userService.getAllActiveUsers();
-
-        List<Long> usersIds = usersToSendNotification.stream()
-                .map(User::getId)
-                .filter(userId -> !presenceService.isOnline(userId))
-                .toList();
-
-        log.info("users to send notification: {}", usersIds);
-        pushNotificationService.sendToUsers(usersIds, "Novo sinal", "clique para abrir o novo sinal");
+        AtomicLong notified = new AtomicLong();
+        long scanned = deviceService.forEachActiveRecipientPage(pageSize, page -> {
+            long[] userIds = page.stream().mapToLong(PushRecipient::userId).toArray();
+            // As páginas vêm ordenadas por user id, então os offline também.
+            long[] offline = presenceService.filterOffline(userIds);
+            List<String> tokens = page.stream()
+                    .filter(recipient -> Arrays.binarySearch(offline, recipient.userId()) >= 0)
+                    .map(PushRecipient::pushToken)
+                    .toList();
+
+            if (!tokens.isEmpty()) {
+                pushNotificationService.sendToTokens(tokens, "Novo sinal", "clique para abrir o novo sinal");
+                notified.addAndGet(tokens.size());
+            }
+        });
+
+        log.info("devices notified: {} of {} active", notified.get(), scanned);
     }
 }
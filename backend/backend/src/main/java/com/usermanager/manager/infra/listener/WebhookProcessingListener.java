@@ -1,12 +1,28 @@
 package com.usermanager.manager.infra.listener;
 
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import com.usermanager.manager.infra.webhook.WebhookEventDispatcher;
+import com.usermanager.manager.model.webhook.WebhookEvent;
+
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Dispara o processamento assim que um webhook é gravado, em vez de esperar o
+ * poll do WebhookEventDispatcher. Com transação ativa, só depois do commit.
+ */
 @Slf4j
-
 @Component
+@RequiredArgsConstructor
 public class WebhookProcessingListener {
 
+    private final WebhookEventDispatcher dispatcher;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWebhookEventSaved(WebhookEvent event) {
+        log.debug("Webhook event {} gravado, acordando o dispatcher", event.getId());
+        dispatcher.wakeUp();
+    }
 }
@@ -10,6 +10,7 @@ import org.springframework.mail.javamail.MimeMessagePreparator;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.usermanager.manager.infra.config.AsyncConfig;
 import com.usermanager.manager.model.email.MailProvider;
 
 @Service
@@ -24,7 +25,8 @@ public class SmtpMailProvider implements MailProvider{
         this.javaMailSender = javaMailSender;
     }
 
-    @Async
+    /** Roda no executor mail; o envio é síncrono dentro dessa thread. */
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     @Override
     public CompletableFuture<Void> sendEmail(String recipient, String subject, String content) {
         MimeMessagePreparator messagePreparator = mimeMessage -> {
@@ -35,12 +37,11 @@ public class SmtpMailProvider implements MailProvider{
             messageHelper.setText(content, true);
         };
 
-        return CompletableFuture.runAsync(() -> {
-            try {
-                javaMailSender.send(messagePreparator);
-            } catch (Exception e) {
-                throw new MailSendException(e.getMessage());
-            }
-        });
+        try {
+            javaMailSender.send(messagePreparator);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new MailSendException(e.getMessage()));
+        }
+        return CompletableFuture.completedFuture(null);
     }
 }
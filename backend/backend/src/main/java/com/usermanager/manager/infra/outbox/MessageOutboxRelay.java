@@ -0,0 +1,199 @@
+package com.usermanager.manager.infra.outbox;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.usermanager.manager.dto.message.ClaimedOutboxEntry;
+import com.usermanager.manager.infra.event.MessageCreatedEvent;
+import com.usermanager.manager.infra.listener.MessageListener;
+import com.usermanager.manager.repository.MessageOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entrega os eventos do message_outbox ao MessageListener. Cada worker reserva
+ * um lote por lease com FOR UPDATE SKIP LOCKED, então vários workers (e vários
+ * nós) dividem a fila sem pegar a mesma linha. A entrega é pelo menos uma vez:
+ * se o processo cair no meio de um envio, o lease vence e outro worker
+ * retoma o evento.
+ *
+ * O lease é renovado logo antes de cada envio, então a espera pelos envios
+ * anteriores do lote não o consome; basta que ele cubra o fan-out de um
+ * evento. Quem perdeu o lease pula o evento e não mexe mais na linha.
+ */
+@Component
+@Slf4j
+public class MessageOutboxRelay {
+
+    private final MessageOutboxRepository outboxRepository;
+    private final MessageListener messageListener;
+    private final int workers;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Counter dispatched;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter leaseLost;
+    private final Timer dispatchTimer;
+    private final Timer lagTimer;
+
+    public MessageOutboxRelay(MessageOutboxRepository outboxRepository, MessageListener messageListener,
+            MeterRegistry meterRegistry,
+            @Value("${message.outbox.relay.workers:2}") int workers,
+            @Value("${message.outbox.relay.batch-size:20}") int batchSize,
+            @Value("${message.outbox.relay.poll-interval:1s}") Duration pollInterval,
+            @Value("${message.outbox.relay.lease:5m}") Duration lease,
+            @Value("${message.outbox.relay.max-attempts:5}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.messageListener = messageListener;
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.maxAttempts = Math.max(1, maxAttempts);
+
+        this.dispatched = Counter.builder("outbox.relay.events").tag("result", "dispatched")
+                .description("Eventos do outbox entregues").register(meterRegistry);
+        this.retried = Counter.builder("outbox.relay.events").tag("result", "retried")
+                .description("Eventos do outbox devolvidos para nova tentativa").register(meterRegistry);
+        this.failed = Counter.builder("outbox.relay.events").tag("result", "failed")
+                .description("Eventos do outbox descartados após esgotar as tentativas").register(meterRegistry);
+        this.leaseLost = Counter.builder("outbox.relay.events").tag("result", "lease_lost")
+                .description("Eventos do outbox cujo lease foi retomado por outro worker").register(meterRegistry);
+        this.dispatchTimer = Timer.builder("outbox.relay.dispatch")
+                .description("Tempo de entrega de um evento ao listener").register(meterRegistry);
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .description("Tempo entre a gravação do evento e o início da entrega").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::workLoop, "outbox-relay-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Outbox relay iniciado com {} workers", workers);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        wakeUp.release(workers);
+        for (Thread thread : threads) {
+            try {
+                thread.join(pollInterval.toMillis() * 2 + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** Acorda os workers sem esperar o próximo poll; chamado após o commit de um evento. */
+    public void wakeUp() {
+        if (wakeUp.availablePermits() < workers) {
+            wakeUp.release();
+        }
+    }
+
+    private void workLoop() {
+        while (running) {
+            int processed;
+            try {
+                processed = relayBatch();
+            } catch (RuntimeException e) {
+                log.error("Erro ao reservar eventos do outbox: {}", e.getMessage());
+                processed = 0;
+            }
+            if (processed == 0) {
+                try {
+                    wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Reserva e entrega um lote; retorna quantos eventos foram reservados. */
+    int relayBatch() {
+        List<ClaimedOutboxEntry> entries = outboxRepository.claim(batchSize, lease);
+        for (ClaimedOutboxEntry entry : entries) {
+            Optional<ZonedDateTime> renewed = outboxRepository.renew(entry.id(), entry.lockedUntil(), lease);
+            if (renewed.isEmpty()) {
+                leaseLost.increment();
+                log.warn("Lease do evento {} do outbox vencido antes do envio, outro worker o retomou", entry.id());
+                continue;
+            }
+            ZonedDateTime lockedUntil = renewed.get();
+            if (entry.createdAt() != null) {
+                lagTimer.record(Duration.between(entry.createdAt(), ZonedDateTime.now()));
+            }
+            try {
+                dispatchTimer.record(() -> messageListener.handleMessageCreatedEvent(
+                        new MessageCreatedEvent(entry.messageId(), entry.title(), entry.body())));
+                if (outboxRepository.markDone(entry.id(), lockedUntil)) {
+                    dispatched.increment();
+                } else {
+                    leaseLost.increment();
+                    log.warn("Lease do evento {} do outbox vencido durante o envio, pode haver entrega duplicada",
+                            entry.id());
+                }
+            } catch (RuntimeException e) {
+                boolean exhausted = entry.attempts() >= maxAttempts;
+                if (!outboxRepository.markFailed(entry.id(), lockedUntil, e.getMessage(),
+                        backoff(entry.attempts()), exhausted)) {
+                    leaseLost.increment();
+                    log.warn("Lease do evento {} do outbox vencido durante o envio: {}", entry.id(), e.getMessage());
+                    continue;
+                }
+                if (exhausted) {
+                    failed.increment();
+                    log.error("Evento {} do outbox descartado após {} tentativas: {}", entry.id(),
+                            entry.attempts(), e.getMessage());
+                } else {
+                    retried.increment();
+                    log.warn("Falha ao entregar evento {} do outbox (tentativa {}): {}", entry.id(),
+                            entry.attempts(), e.getMessage());
+                }
+            }
+        }
+        return entries.size();
+    }
+
+    @Scheduled(cron = "${message.outbox.cleanup-cron:0 30 * * * *}")
+    public void deleteProcessed() {
+        int deleted = outboxRepository.deleteProcessedBefore(ZonedDateTime.now().minusDays(1));
+        log.info("outboxEventsDeleted: {}", deleted);
+    }
+
+    private static Duration backoff(int attempts) {
+        long seconds = Math.min(300, 5L << Math.min(attempts - 1, 6));
+        return Duration.ofSeconds(seconds);
+    }
+}
@@ -0,0 +1,41 @@
+package com.usermanager.manager.infra.outbox;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.usermanager.manager.infra.event.MessageCreatedEvent;
+import com.usermanager.manager.model.message.MessageOutbox;
+import com.usermanager.manager.repository.MessageOutboxRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class MessageOutboxService {
+
+    private final MessageOutboxRepository outboxRepository;
+    private final MessageOutboxRelay relay;
+
+    /**
+     * Grava o evento na transação de quem chama, junto com a mensagem, e acorda
+     * o relay depois do commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(MessageCreatedEvent event) {
+        outboxRepository.save(MessageOutbox.builder()
+                .messageId(event.messageId())
+                .title(event.title())
+                .body(event.message())
+                .build());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.wakeUp();
+            }
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.usermanager.manager.infra.payment;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Política das consultas ao Mercado Pago feitas pelo MercadoPagoGateway.
+ *
+ * @param baseUrl       raiz da API; trocada nos testes por um servidor local
+ * @param readTimeout   timeout de leitura de cada chamada
+ * @param circuit       quando parar de chamar a API após falhas seguidas
+ */
+@ConfigurationProperties(prefix = "mercadopago.client")
+public record MercadoPagoClientProperties(
+        @DefaultValue("https://api.mercadopago.com") String baseUrl,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("5s") Duration readTimeout,
+        @DefaultValue Circuit circuit) {
+
+    /**
+     * @param failureThreshold falhas seguidas (rede, timeout, 5xx, 429) que abrem o circuito
+     * @param openDuration     tempo com o circuito aberto antes de uma chamada de teste
+     */
+    public record Circuit(
+            @DefaultValue("5") int failureThreshold,
+            @DefaultValue("30s") Duration openDuration) {
+    }
+}
@@ -0,0 +1,221 @@
+package com.usermanager.manager.infra.payment;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.mercadopago.client.merchantorder.MerchantOrderClient;
+import com.mercadopago.client.payment.PaymentClient;
+import com.mercadopago.core.MPRequestOptions;
+import com.mercadopago.exceptions.MPApiException;
+import com.mercadopago.exceptions.MPException;
+import com.mercadopago.net.MPDefaultHttpClient;
+import com.mercadopago.net.MPHttpClient;
+import com.mercadopago.resources.merchantorder.MerchantOrder;
+import com.mercadopago.resources.payment.Payment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consultas de pagamento e pedido ao Mercado Pago com:
+ * <ul>
+ * <li>single-flight: consultas simultâneas ao mesmo id esperam a chamada que
+ * já está em andamento em vez de abrir outra. O resultado não fica guardado
+ * depois que a chamada termina: uma notificação nova sempre lê o status
+ * atual do pagamento;</li>
+ * <li>timeouts de conexão e leitura em cada chamada;</li>
+ * <li>circuit breaker por endpoint, que recusa chamadas com MPException
+ * enquanto a API está falhando.</li>
+ * </ul>
+ * A latência de cada endpoint vai para mercadopago.client.requests, com
+ * histograma e as tags endpoint e outcome.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(MercadoPagoClientProperties.class)
+public class MercadoPagoGateway {
+
+    private final PaymentClient paymentClient;
+    private final MerchantOrderClient merchantOrderClient;
+    private final MPRequestOptions requestOptions;
+    private final Duration waitTimeout;
+    private final Map<Long, CompletableFuture<Payment>> payments = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<MerchantOrder>> merchantOrders = new ConcurrentHashMap<>();
+    private final Endpoint paymentEndpoint;
+    private final Endpoint merchantOrderEndpoint;
+
+    @Autowired
+    public MercadoPagoGateway(MercadoPagoClientProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, new MPDefaultHttpClient());
+    }
+
+    MercadoPagoGateway(MercadoPagoClientProperties properties, MeterRegistry meterRegistry, MPHttpClient httpClient) {
+        MPHttpClient rebasing = new RebasingHttpClient(properties.baseUrl(), httpClient);
+        this.paymentClient = new PaymentClient(rebasing);
+        this.merchantOrderClient = new MerchantOrderClient(rebasing);
+
+        int connectTimeout = (int) properties.connectTimeout().toMillis();
+        int readTimeout = (int) properties.readTimeout().toMillis();
+        this.requestOptions = MPRequestOptions.builder()
+                .connectionTimeout(connectTimeout)
+                .connectionRequestTimeout(connectTimeout)
+                .socketTimeout(readTimeout)
+                .build();
+        this.waitTimeout = properties.connectTimeout().plus(properties.readTimeout()).multipliedBy(2);
+
+        this.paymentEndpoint = new Endpoint("payments.get", properties.circuit(), meterRegistry);
+        this.merchantOrderEndpoint = new Endpoint("merchant_orders.get", properties.circuit(), meterRegistry);
+    }
+
+    public Payment getPayment(long paymentId) throws MPException, MPApiException {
+        return lookup(payments, paymentEndpoint, paymentId, () -> paymentClient.get(paymentId, requestOptions));
+    }
+
+    public MerchantOrder getMerchantOrder(long merchantOrderId) throws MPException, MPApiException {
+        return lookup(merchantOrders, merchantOrderEndpoint, merchantOrderId,
+                () -> merchantOrderClient.get(merchantOrderId, requestOptions));
+    }
+
+    private <T> T lookup(Map<Long, CompletableFuture<T>> inFlight, Endpoint endpoint, long id, RemoteCall<T> call)
+            throws MPException, MPApiException {
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(id, created);
+        if (existing != null) {
+            endpoint.coalesced.increment();
+            return await(existing, endpoint, id);
+        }
+
+        endpoint.calls.increment();
+        try {
+            T value = endpoint.call(call);
+            created.complete(value);
+            return value;
+        } catch (MPException | MPApiException | RuntimeException e) {
+            // Quem estava esperando recebe o mesmo erro
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Só a chamada em andamento é compartilhada; a próxima consulta vai à API
+            inFlight.remove(id, created);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future, Endpoint endpoint, long id) throws MPException, MPApiException {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MPApiException apiException) {
+                throw apiException;
+            }
+            if (cause instanceof MPException mpException) {
+                throw mpException;
+            }
+            throw new MPException("Erro na consulta " + endpoint.name + " do id " + id, cause);
+        } catch (TimeoutException e) {
+            throw new MPException("Tempo esgotado aguardando a consulta " + endpoint.name + " do id " + id, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MPException("Consulta " + endpoint.name + " do id " + id + " interrompida", e);
+        }
+    }
+
+    CircuitBreaker.State circuitState(String endpoint) {
+        return (paymentEndpoint.name.equals(endpoint) ? paymentEndpoint : merchantOrderEndpoint).breaker.state();
+    }
+
+    @FunctionalInterface
+    private interface RemoteCall<T> {
+        T call() throws MPException, MPApiException;
+    }
+
+    private enum Outcome {
+        SUCCESS, CLIENT_ERROR, SERVER_ERROR, ERROR, SHORT_CIRCUITED;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final CircuitBreaker breaker;
+        private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+        private final Counter calls;
+        private final Counter coalesced;
+
+        Endpoint(String name, MercadoPagoClientProperties.Circuit circuit, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.breaker = new CircuitBreaker(circuit.failureThreshold(), circuit.openDuration(), System::nanoTime);
+            for (Outcome outcome : Outcome.values()) {
+                timers.put(outcome, Timer.builder("mercadopago.client.requests")
+                        .tag("endpoint", name)
+                        .tag("outcome", outcome.tag())
+                        .description("Latência das chamadas à API do Mercado Pago")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            this.calls = lookupCounter(meterRegistry, "called");
+            this.coalesced = lookupCounter(meterRegistry, "coalesced");
+            Gauge.builder("mercadopago.client.circuit.state", breaker, b -> b.state().ordinal())
+                    .tag("endpoint", name)
+                    .description("Estado do circuito: 0 fechado, 1 aberto, 2 meio aberto")
+                    .register(meterRegistry);
+        }
+
+        private Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+            return Counter.builder("mercadopago.client.lookups")
+                    .tag("endpoint", name)
+                    .tag("result", result)
+                    .description("Consultas enviadas à API ou agregadas a uma chamada em andamento")
+                    .register(meterRegistry);
+        }
+
+        <T> T call(RemoteCall<T> call) throws MPException, MPApiException {
+            if (!breaker.tryAcquire()) {
+                timers.get(Outcome.SHORT_CIRCUITED).record(0, TimeUnit.NANOSECONDS);
+                throw new MPException("Circuito aberto para " + name + ", chamada recusada");
+            }
+
+            long start = System.nanoTime();
+            Outcome outcome = Outcome.ERROR;
+            try {
+                T value = call.call();
+                outcome = Outcome.SUCCESS;
+                breaker.onSuccess();
+                return value;
+            } catch (MPApiException e) {
+                int status = e.getStatusCode();
+                boolean serverSide = status >= 500 || status == 429;
+                outcome = serverSide ? Outcome.SERVER_ERROR : Outcome.CLIENT_ERROR;
+                if (serverSide) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+                throw e;
+            } catch (MPException | RuntimeException e) {
+                breaker.onFailure();
+                if (breaker.state() == CircuitBreaker.State.OPEN) {
+                    log.warn("Circuito do Mercado Pago aberto para {}: {}", name, e.getMessage());
+                }
+                throw e;
+            } finally {
+                timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.usermanager.manager.infra.payment;
+
+import com.mercadopago.MercadoPagoConfig;
+import com.mercadopago.exceptions.MPApiException;
+import com.mercadopago.exceptions.MPException;
+import com.mercadopago.net.MPHttpClient;
+import com.mercadopago.net.MPRequest;
+import com.mercadopago.net.MPResponse;
+
+/**
+ * MPHttpClient que troca a raiz fixa do SDK (api.mercadopago.com) pela
+ * configurada em mercadopago.client.base-url antes de delegar.
+ */
+class RebasingHttpClient implements MPHttpClient {
+
+    private final String baseUrl;
+    private final MPHttpClient delegate;
+
+    RebasingHttpClient(String baseUrl, MPHttpClient delegate) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public MPResponse send(MPRequest request) throws MPException, MPApiException {
+        String uri = request.getUri();
+        if (uri == null || !uri.startsWith(MercadoPagoConfig.BASE_URL) || baseUrl.equals(MercadoPagoConfig.BASE_URL)) {
+            return delegate.send(request);
+        }
+
+        MPRequest rebased = MPRequest.builder()
+                .uri(baseUrl + uri.substring(MercadoPagoConfig.BASE_URL.length()))
+                .method(request.getMethod())
+                .headers(request.getHeaders())
+                .payload(request.getPayload())
+                .queryParams(request.getQueryParams())
+                .accessToken(request.getAccessToken())
+                .connectionTimeout(request.getConnectionTimeout())
+                .connectionRequestTimeout(request.getConnectionRequestTimeout())
+                .socketTimeout(request.getSocketTimeout())
+                .build();
+        return delegate.send(rebased);
+    }
+}
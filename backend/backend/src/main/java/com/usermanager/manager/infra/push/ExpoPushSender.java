@@ -0,0 +1,126 @@
+package com.usermanager.manager.infra.push;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.usermanager.manager.infra.config.AsyncConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Envia notificações para a Expo em lotes de até 100 mensagens por requisição,
+ * com um número limitado de requisições simultâneas. Os lotes rodam no
+ * executor push, cujo tamanho define a concorrência.
+ */
+@Component
+@Slf4j
+public class ExpoPushSender {
+    /** Limite de mensagens por requisição imposto pela Expo. */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final RestClient restClient;
+    private final int batchSize;
+    private final Executor executor;
+
+    public ExpoPushSender(
+            @Value("${push.expo.url:https://exp.host/--/api/v2/push/send}") String url,
+            @Value("${push.expo.batch-size:100}") int batchSize,
+            @Qualifier(AsyncConfig.PUSH_EXECUTOR) Executor executor) {
+        this.restClient = RestClient.builder()
+                .baseUrl(url)
+                .defaultHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
+                .build();
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        this.executor = executor;
+    }
+
+    public PushFanOutResult send(List<String> tokens, String title, String body) {
+        long start = System.nanoTime();
+        Map<String, Object> data = Map.of("screen", "Timeline");
+
+        List<CompletableFuture<List<ExpoPushTicket>>> futures = new ArrayList<>();
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < tokens.size(); from += batchSize) {
+            List<String> chunk = tokens.subList(from, Math.min(from + batchSize, tokens.size()));
+            chunks.add(chunk);
+            futures.add(CompletableFuture.supplyAsync(() -> sendChunk(chunk, title, body, data), executor));
+        }
+
+        int delivered = 0;
+        List<PushFanOutResult.Failure> failures = new ArrayList<>();
+        List<String> unregistered = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            List<String> chunk = chunks.get(i);
+            List<ExpoPushTicket> tickets = futures.get(i).join();
+            for (int j = 0; j < chunk.size(); j++) {
+                ExpoPushTicket ticket = j < tickets.size()
+                        ? tickets.get(j)
+                        : ExpoPushTicket.failed("Ticket ausente na resposta da Expo");
+                if (ticket.isOk()) {
+                    delivered++;
+                    continue;
+                }
+                failures.add(new PushFanOutResult.Failure(chunk.get(j), ticket.message(), ticket.error()));
+                if (ExpoPushTicket.DEVICE_NOT_REGISTERED.equals(ticket.error())) {
+                    unregistered.add(chunk.get(j));
+                }
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new PushFanOutResult(tokens.size(), delivered, failures, unregistered, elapsed);
+    }
+
+    private List<ExpoPushTicket> sendChunk(List<String> chunk, String title, String body, Map<String, Object> data) {
+        List<Map<String, Object>> messages = new ArrayList<>(chunk.size());
+        for (String token : chunk) {
+            messages.add(Map.of(
+                    "to", token,
+                    "title", title,
+                    "body", body,
+                    "sound", "default",
+                    "data", data));
+        }
+
+        try {
+            ExpoPushResponse response = restClient.post()
+                    .body(messages)
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<ExpoPushResponse>() {
+                    });
+
+            if (response == null || response.data() == null) {
+                return failAll(chunk, "Resposta vazia da Expo");
+            }
+            return response.data();
+        } catch (Exception e) {
+            log.error("Erro ao enviar lote de {} pushes para a Expo: {}", chunk.size(), e.getMessage());
+            return failAll(chunk, e.getMessage());
+        }
+    }
+
+    private List<ExpoPushTicket> failAll(List<String> chunk, String message) {
+        List<ExpoPushTicket> tickets = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            tickets.add(ExpoPushTicket.failed(message));
+        }
+        return tickets;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ExpoPushResponse(List<ExpoPushTicket> data) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.usermanager.manager.infra.push;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ExpoPushTicket(String status, String id, String message, Map<String, Object> details) {
+
+    public static final String STATUS_OK = "ok";
+    public static final String DEVICE_NOT_REGISTERED = "DeviceNotRegistered";
+
+    public static ExpoPushTicket failed(String message) {
+        return new ExpoPushTicket("error", null, message, Map.of());
+    }
+
+    public boolean isOk() {
+        return STATUS_OK.equals(status);
+    }
+
+    public String error() {
+        if (details == null || details.get("error") == null) {
+            return null;
+        }
+        return String.valueOf(details.get("error"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.usermanager.manager.infra.push;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resultado consolidado de um envio em massa para a Expo.
+ *
+ * @param requested          quantidade de tokens recebidos
+ * @param delivered          tickets com status ok
+ * @param failures           tickets com erro, associados ao token de origem
+ * @param unregisteredTokens tokens que a Expo reportou como DeviceNotRegistered
+ * @param elapsed            tempo total do fan-out
+ */
+public record PushFanOutResult(
+        int requested,
+        int delivered,
+        List<Failure> failures,
+        List<String> unregisteredTokens,
+        Duration elapsed) {
+
+    public record Failure(String token, String message, String error) {
+    }
+
+    public int failed() {
+        return failures.size();
+    }
+}
@@ -0,0 +1,85 @@
+package com.usermanager.manager.infra.retention;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executa limpezas em lotes limitados em vez de um único DELETE sem limite.
+ * Cada tarefa fornece uma função que apaga até N linhas e retorna quantas
+ * apagou; ela deve rodar na própria transação (repositório com
+ * {@code @Transactional}), e quem chama o engine não pode abrir uma transação
+ * em volta, senão os lotes voltam a ser uma transação longa.
+ *
+ * Métricas por tarefa (tag task): retention.rows.deleted, retention.batches e
+ * retention.run.duration.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(RetentionProperties.class)
+public class RetentionEngine {
+
+    private final RetentionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RetentionEngine(RetentionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RetentionRun run(String task, IntUnaryOperator deleteBatch) {
+        int batchSize = Math.max(1, properties.batchSize());
+        long pauseMillis = properties.pause().toMillis();
+        long start = System.nanoTime();
+        long deadline = start + properties.maxRunDuration().toNanos();
+
+        Counter rows = Counter.builder("retention.rows.deleted").tag("task", task).register(meterRegistry);
+        Counter batchCounter = Counter.builder("retention.batches").tag("task", task).register(meterRegistry);
+
+        long deleted = 0;
+        int batches = 0;
+        boolean complete = false;
+        try {
+            while (true) {
+                int removed = deleteBatch.applyAsInt(batchSize);
+                batches++;
+                deleted += removed;
+                rows.increment(removed);
+                batchCounter.increment();
+
+                if (removed < batchSize) {
+                    complete = true;
+                    break;
+                }
+                if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pauseMillis) >= deadline) {
+                    log.warn("Limpeza {} interrompida após {} lotes: tempo máximo de {} atingido", task, batches,
+                            properties.maxRunDuration());
+                    break;
+                }
+                if (pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Limpeza {} interrompida após {} lotes", task, batches);
+        } finally {
+            Timer.builder("retention.run.duration").tag("task", task)
+                    .tag("complete", String.valueOf(complete))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Limpeza {}: {} linhas em {} lotes, {} ms", task, deleted, batches, elapsed.toMillis());
+        return new RetentionRun(task, deleted, batches, elapsed, complete);
+    }
+}
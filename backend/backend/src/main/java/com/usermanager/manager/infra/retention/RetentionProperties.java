@@ -0,0 +1,22 @@
+package com.usermanager.manager.infra.retention;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limpeza de tabelas em lotes: cada lote é um DELETE curto na sua própria
+ * transação, com uma pausa entre lotes para o autovacuum e a replicação
+ * acompanharem.
+ *
+ * @param batchSize      linhas apagadas por DELETE
+ * @param pause          espera entre lotes
+ * @param maxRunDuration tempo máximo de uma execução; o restante fica para a próxima
+ */
+@ConfigurationProperties(prefix = "retention")
+public record RetentionProperties(
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("100ms") Duration pause,
+        @DefaultValue("10m") Duration maxRunDuration) {
+}
@@ -0,0 +1,12 @@
+package com.usermanager.manager.infra.retention;
+
+import java.time.Duration;
+
+/**
+ * Resultado de uma execução de limpeza.
+ *
+ * @param complete false quando a execução parou por tempo ou interrupção antes
+ *                 de um lote incompleto
+ */
+public record RetentionRun(String task, long deleted, int batches, Duration elapsed, boolean complete) {
+}
@@ -1,26 +1,24 @@
 package com.usermanager.manager.infra.security.filter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.context.annotation.Lazy;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.usermanager.manager.exception.authentication.TokenInvalid;
+import com.usermanager.manager.infra.security.principal.UserPrincipalCache;
+import com.usermanager.manager.infra.security.ratelimit.RateLimiter;
+import com.usermanager.manager.infra.security.token.TokenVerificationCache;
 import com.usermanager.manager.model.security.TokenProvider;
-import com.usermanager.manager.repository.UserRepository;
+import com.usermanager.manager.model.security.VerifiedToken;
+import com.usermanager.manager.model.user.UserPrincipal;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -50,12 +48,16 @@ public class SecurityFilter extends OncePerRequestFilter {
     );
 
     private TokenProvider tokenProvider;
-    private UserRepository userRepository;
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private UserPrincipalCache userPrincipalCache;
+    private TokenVerificationCache tokenVerificationCache;
+    private RateLimiter rateLimiter;
 
-    public SecurityFilter(TokenProvider tokenProvider, @Lazy UserRepository userRepository) {
+    public SecurityFilter(TokenProvider tokenProvider, @Lazy UserPrincipalCache userPrincipalCache,
+            TokenVerificationCache tokenVerificationCache, RateLimiter rateLimiter) {
         this.tokenProvider = tokenProvider;
-        this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
+        this.tokenVerificationCache = tokenVerificationCache;
+        this.rateLimiter = rateLimiter;
     }
 
     private boolean isWhitelisted(HttpServletRequest request) {
@@ -71,9 +73,13 @@ public class SecurityFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        // Pule o filtro para rotas públicas
+        // Pule o filtro para rotas públicas, exceto regras de rate limit explícitas da rota
         if (isWhitelisted(request)) {
-            filterChain.doFilter(request, response);
+            if (rateLimiter.tryConsumeRoute(request)) {
+                filterChain.doFilter(request, response);
+            } else {
+                rejectTooManyRequests(response);
+            }
             return;
         }
 
@@ -82,20 +88,20 @@ public class SecurityFilter extends OncePerRequestFilter {
         log.info("header: {}", request.getHeader("token"));
         log.info("doFilter uri: {}, query: {}", request.getRequestURI(), request.getQueryString());
         log.info("Authorization header: {}", request.getParameter("token"));
-        Bucket bucket = resolveBucket(ip);
         try {
+            String login = null;
             var token = this.recoverToken(request);
             if (token != null) {
                 var authentication = createAuthentication(token);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                login = authentication.getName();
             }
 
-            if (bucket.tryConsume(1)) {
+            if (rateLimiter.tryConsume(request, login)) {
                 filterChain.doFilter(request, response);
             }
             else {
-                response.setStatus(429);
-                response.getWriter().write("Too many requests. Tente novamente mais tarde.");;
+                rejectTooManyRequests(response);
             }
 
         } catch (TokenInvalid e) {
@@ -126,29 +132,22 @@ public class SecurityFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private UsernamePasswordAuthenticationToken createAuthentication(String token) {
-        String login = tokenProvider.validateToken(token);
-        UserDetails user = userRepository.findByLogin(login).orElseThrow(
-                () -> new BadCredentialsException("Bad credentials: verify login or password"));
+    UsernamePasswordAuthenticationToken createAuthentication(String token) {
+        VerifiedToken verified = tokenVerificationCache.get(token);
+        if (verified == null) {
+            verified = tokenVerificationCache.put(token, tokenProvider.verifyToken(token));
+        }
 
+        UserPrincipal user = userPrincipalCache.forToken(verified).orElseThrow(
+                () -> new BadCredentialsException("Bad credentials: verify login or password"));
         return new UsernamePasswordAuthenticationToken(
                 user,
                 null,
                 user.getAuthorities());
     }
 
-    private Bucket createNewBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(60)
-                .refillGreedy(60, Duration.ofMinutes(1)) 
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket resolveBucket(String ip) {
-        return buckets.computeIfAbsent(ip, k -> createNewBucket());
+    private void rejectTooManyRequests(HttpServletResponse response) throws IOException {
+        response.setStatus(429);
+        response.getWriter().write("Too many requests. Tente novamente mais tarde.");
     }
 }
@@ -0,0 +1,38 @@
+package com.usermanager.manager.infra.security.password;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Algoritmo e custo dos hashes de senha. Hashes gravados com outro algoritmo
+ * ou com custo menor são refeitos no próximo login bem-sucedido.
+ *
+ * @param algorithm      algoritmo usado para novos hashes
+ * @param bcryptStrength log2 das rodadas do bcrypt (4 a 31); cada +1 dobra o
+ *                       custo, ver PasswordEncoderBenchmark para escolher
+ * @param timeout        espera máxima de quem pediu um hash ao executor password
+ */
+@ConfigurationProperties(prefix = "api.security.password")
+public record PasswordHashingProperties(
+        @DefaultValue("BCRYPT") Algorithm algorithm,
+        @DefaultValue("10") int bcryptStrength,
+        @DefaultValue("5s") Duration timeout) {
+
+    public enum Algorithm {
+        BCRYPT("bcrypt"),
+        ARGON2("argon2");
+
+        private final String id;
+
+        Algorithm(String id) {
+            this.id = id;
+        }
+
+        /** Prefixo {id} gravado antes do hash pelo DelegatingPasswordEncoder. */
+        public String id() {
+            return id;
+        }
+    }
+}
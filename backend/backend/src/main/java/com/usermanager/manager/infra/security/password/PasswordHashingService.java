@@ -0,0 +1,113 @@
+package com.usermanager.manager.infra.security.password;
+
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.usermanager.manager.exception.authentication.PasswordHashingOverloadedException;
+import com.usermanager.manager.infra.config.AsyncConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ponto único para gerar e conferir hashes de senha. O trabalho roda no
+ * executor password (um thread por núcleo, fila curta, política ABORT): quando
+ * a fila enche, o pedido é recusado na hora com
+ * PasswordHashingOverloadedException (429) em vez de prender mais threads do
+ * Tomcat esperando bcrypt. Assim uma rajada de logins ocupa no máximo
+ * núcleos + fila threads de requisição.
+ *
+ * Quem desiste por timeout cancela a tarefa, e uma tarefa que só sai da fila
+ * depois do prazo não calcula o hash: ninguém mais espera pelo resultado.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final AsyncTaskExecutor executor;
+    private final long timeoutMillis;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+            @Qualifier(AsyncConfig.PASSWORD_EXECUTOR) AsyncTaskExecutor executor,
+            PasswordHashingProperties properties) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeoutMillis = properties.timeout().toMillis();
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Novo hash para uma senha já conferida, quando o hash gravado usa outro
+     * algoritmo ou um custo menor que o configurado. Vazio se não precisar ou
+     * se o executor estiver saturado: o rehash fica para o próximo login.
+     */
+    public Optional<String> rehashIfNeeded(CharSequence rawPassword, String encodedPassword) {
+        if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(encode(rawPassword));
+        } catch (PasswordHashingOverloadedException e) {
+            log.debug("Rehash adiado: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private <T> FutureTask<T> submit(Supplier<T> task) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        FutureTask<T> future = new FutureTask<>(() -> {
+            if (System.nanoTime() - deadline >= 0) {
+                throw new CancellationException("Prazo do hash de senha vencido na fila");
+            }
+            return task.get();
+        });
+        try {
+            executor.execute(future);
+            return future;
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingOverloadedException("Muitas tentativas de login simultâneas. Tente novamente.");
+        }
+    }
+
+    private <T> T await(FutureTask<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            // Tarefa ainda na fila continua lá, mas o worker a descarta sem calcular o hash
+            future.cancel(true);
+            throw new PasswordHashingOverloadedException("Tempo de espera do hash de senha esgotado.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingOverloadedException("Hash de senha interrompido.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                throw new PasswordHashingOverloadedException("Tempo de espera do hash de senha esgotado.");
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
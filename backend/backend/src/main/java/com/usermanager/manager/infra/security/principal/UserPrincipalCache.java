@@ -0,0 +1,100 @@
+package com.usermanager.manager.infra.security.principal;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.usermanager.manager.exception.authentication.TokenInvalid;
+import com.usermanager.manager.infra.event.UserChangedEvent;
+import com.usermanager.manager.infra.security.token.SecurityVersionRegistry;
+import com.usermanager.manager.model.security.AccessClaims;
+import com.usermanager.manager.model.security.VerifiedToken;
+import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserPrincipal;
+import com.usermanager.manager.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache de {@link UserPrincipal} por login. Evita a busca da entidade User a
+ * cada requisição autenticada e a cada handshake WebSocket. As entradas expiram
+ * pelo TTL e são removidas quando um {@link UserChangedEvent} é confirmado.
+ * Tokens de acesso com claims nem passam pelo cache: o principal sai do token.
+ */
+@Component
+@Slf4j
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final Cache<String, UserPrincipal> cache;
+
+    @Autowired
+    public UserPrincipalCache(@Lazy UserRepository userRepository, SecurityVersionRegistry securityVersionRegistry,
+            @Value("${api.security.principal.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${api.security.principal.cache.max-size:50000}") long maxSize) {
+        this(userRepository, securityVersionRegistry, ttlSeconds, maxSize, Ticker.systemTicker());
+    }
+
+    UserPrincipalCache(UserRepository userRepository, SecurityVersionRegistry securityVersionRegistry,
+            long ttlSeconds, long maxSize, Ticker ticker) {
+        this.userRepository = userRepository;
+        this.securityVersionRegistry = securityVersionRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .ticker(ticker)
+                .build();
+    }
+
+    public Optional<UserPrincipal> get(String login) {
+        UserPrincipal cached = cache.getIfPresent(login);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserPrincipal> loaded = userRepository.findUserByLogin(login).map(UserPrincipal::from);
+        loaded.ifPresent(principal -> cache.put(login, principal));
+        return loaded;
+    }
+
+    /**
+     * Principal de um token já verificado. Com claims, é montado a partir deles
+     * sem consulta; a única recusa é a versão de segurança revogada, que exige
+     * novo token pelo refresh. Sem claims, busca pelo login.
+     */
+    public Optional<UserPrincipal> forToken(VerifiedToken verified) {
+        AccessClaims claims = verified.claims();
+        if (claims == null) {
+            return get(verified.subject());
+        }
+        if (!securityVersionRegistry.isCurrent(claims)) {
+            throw new TokenInvalid("Token revogado, faça login novamente.");
+        }
+        return Optional.of(claims.toPrincipal(verified.subject()));
+    }
+
+    public void refresh(User user) {
+        cache.put(user.getLogin(), UserPrincipal.from(user));
+    }
+
+    public void evict(String login) {
+        cache.invalidate(login);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.login() != null) {
+            evict(event.login());
+            log.debug("Principal removido do cache: {}", event.login());
+        }
+    }
+}
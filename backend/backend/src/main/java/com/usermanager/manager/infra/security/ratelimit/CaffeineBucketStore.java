@@ -0,0 +1,40 @@
+package com.usermanager.manager.infra.security.ratelimit;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.bucket4j.Bucket;
+
+/**
+ * Buckets em um cache Caffeine com teto de tamanho e expiração por
+ * inatividade. A leitura de um bucket existente não bloqueia; só a criação de
+ * uma chave nova passa pelo lock do segmento correspondente.
+ */
+public class CaffeineBucketStore implements RateLimitBucketStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public CaffeineBucketStore(long maxBuckets, Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Bucket resolve(String key, Supplier<Bucket> factory) {
+        Bucket bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        return buckets.get(key, k -> factory.get());
+    }
+
+    @Override
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,16 @@
+package com.usermanager.manager.infra.security.ratelimit;
+
+import java.util.function.Supplier;
+
+import io.github.bucket4j.Bucket;
+
+/**
+ * Armazenamento dos buckets de rate limit. Implementações devem ser seguras
+ * para uso concorrente e limitar a quantidade de buckets mantidos.
+ */
+public interface RateLimitBucketStore {
+
+    Bucket resolve(String key, Supplier<Bucket> factory);
+
+    long size();
+}
@@ -0,0 +1,36 @@
+package com.usermanager.manager.infra.security.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limites de requisição do SecurityFilter. O limite padrão vale para toda
+ * rota autenticada; cada entrada de routes sobrepõe o padrão para um padrão
+ * de caminho (AntPath) e pode ser aplicada também a rotas públicas.
+ */
+@ConfigurationProperties(prefix = "api.security.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("60") long capacity,
+        @DefaultValue("1m") Duration period,
+        @DefaultValue("USER") KeyType key,
+        @DefaultValue("100000") long maxBuckets,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue List<Route> routes) {
+
+    public enum KeyType {
+        /** Um bucket por IP de origem. */
+        IP,
+        /** Um bucket por usuário autenticado, ou por IP quando anônimo. */
+        USER
+    }
+
+    public record Route(
+            String pattern,
+            @DefaultValue("60") long capacity,
+            @DefaultValue("1m") Duration period,
+            @DefaultValue("USER") KeyType key) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.usermanager.manager.infra.security.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+@Component
+public class RateLimiter {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String DEFAULT_RULE = "default";
+
+    private record Rule(String name, String pattern, Bandwidth bandwidth, RateLimitProperties.KeyType key) {
+    }
+
+    private final RateLimitBucketStore bucketStore;
+    private final MeterRegistry meterRegistry;
+    private final Rule defaultRule;
+    private final List<Rule> routeRules = new ArrayList<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitBucketStore bucketStore, RateLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        this.bucketStore = bucketStore;
+        this.meterRegistry = meterRegistry;
+        this.defaultRule = new Rule(DEFAULT_RULE, null,
+                bandwidth(properties.capacity(), properties.period()), properties.key());
+        for (RateLimitProperties.Route route : properties.routes()) {
+            routeRules.add(new Rule(route.pattern(), route.pattern(),
+                    bandwidth(route.capacity(), route.period()), route.key()));
+        }
+
+        Gauge.builder("security.ratelimit.buckets", bucketStore, RateLimitBucketStore::size)
+                .description("Buckets de rate limit vivos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consome uma ficha para a requisição, usando a regra da rota ou a regra
+     * padrão.
+     *
+     * @param login login do usuário autenticado, ou null
+     */
+    public boolean tryConsume(HttpServletRequest request, String login) {
+        return tryConsume(request, login, resolveRule(request.getRequestURI(), defaultRule));
+    }
+
+    /**
+     * Consome uma ficha apenas se houver uma regra explícita para a rota.
+     * Usado nas rotas públicas, que não entram na regra padrão.
+     */
+    public boolean tryConsumeRoute(HttpServletRequest request) {
+        Rule rule = resolveRule(request.getRequestURI(), null);
+        return rule == null || tryConsume(request, null, rule);
+    }
+
+    private boolean tryConsume(HttpServletRequest request, String login, Rule rule) {
+        String subject = (rule.key() == RateLimitProperties.KeyType.USER && login != null)
+                ? "u:" + login
+                : "ip:" + request.getRemoteAddr();
+
+        Bucket bucket = bucketStore.resolve(rule.name() + "|" + subject,
+                () -> Bucket.builder().addLimit(rule.bandwidth()).build());
+        if (bucket.tryConsume(1)) {
+            return true;
+        }
+
+        rejections.computeIfAbsent(rule.name(), name -> Counter.builder("security.ratelimit.rejections")
+                .description("Requisições rejeitadas pelo rate limit")
+                .tag("rule", name)
+                .register(meterRegistry))
+                .increment();
+        return false;
+    }
+
+    private Rule resolveRule(String path, Rule fallback) {
+        for (Rule rule : routeRules) {
+            if (PATH_MATCHER.match(rule.pattern(), path)) {
+                return rule;
+            }
+        }
+        return fallback;
+    }
+
+    private static Bandwidth bandwidth(long capacity, Duration period) {
+        return Bandwidth.builder()
+                .capacity(capacity)
+                .refillGreedy(capacity, period)
+                .build();
+    }
+}
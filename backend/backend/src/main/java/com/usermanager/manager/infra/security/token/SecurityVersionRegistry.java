@@ -0,0 +1,146 @@
+package com.usermanager.manager.infra.security.token;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.usermanager.manager.infra.cluster.ClusterBus;
+import com.usermanager.manager.infra.cluster.ClusterMessage;
+import com.usermanager.manager.infra.event.UserChangedEvent;
+import com.usermanager.manager.model.security.AccessClaims;
+import com.usermanager.manager.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Versão de segurança mínima aceita por usuário, só para quem teve a versão
+ * alterada recentemente. Usuário fora do registro aceita qualquer sv, então a
+ * verificação de um token de acesso não consulta o banco.
+ *
+ * Mudanças confirmadas neste nó vão para os outros pelo ClusterBus
+ * ("id:versão", em base 36). Na subida e a cada reconexão do bus o registro é
+ * carregado com as versões alteradas dentro da retenção, que precisa cobrir a
+ * validade do token de acesso: depois disso todo token com a versão antiga já
+ * expirou.
+ *
+ * Se o limite de tamanho despejar uma entrada, a revogação dela não pode ser
+ * esquecida: o registro passa a recusar, de usuários fora dele, os tokens
+ * emitidos antes da alteração despejada. Esses clientes renovam pelo refresh.
+ */
+@Component
+@Slf4j
+public class SecurityVersionRegistry {
+    static final String CHANNEL = "security-version";
+
+    private final ClusterBus clusterBus;
+    private final UserRepository userRepository;
+    private final Duration retention;
+    private final Cache<Long, Revocation> minimumVersions;
+    /** Tokens emitidos antes disso (epoch ms) só valem para usuários no registro. */
+    private final AtomicLong evictionFloor = new AtomicLong();
+
+    public SecurityVersionRegistry(ClusterBus clusterBus, @Lazy UserRepository userRepository,
+            @Value("${api.security.token.security-version.retention:4h}") Duration retention,
+            @Value("${api.security.token.security-version.max-size:100000}") long maxSize) {
+        this.clusterBus = clusterBus;
+        this.userRepository = userRepository;
+        this.retention = retention;
+        this.minimumVersions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(retention)
+                .executor(Runnable::run)
+                .evictionListener((Long userId, Revocation revocation, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && revocation != null) {
+                        raiseFloor(revocation.changedAt());
+                    }
+                })
+                .build();
+        clusterBus.subscribe(CHANNEL, this::onMessage);
+        clusterBus.onReconnect(this::warm);
+    }
+
+    /** Versão mínima aceita e quando a alteração foi registrada (epoch ms). */
+    private record Revocation(int version, long changedAt) {
+    }
+
+    public boolean isCurrent(AccessClaims claims) {
+        Revocation revocation = minimumVersions.getIfPresent(claims.userId());
+        if (revocation != null) {
+            return claims.securityVersion() >= revocation.version();
+        }
+        long floor = evictionFloor.get();
+        // iat tem precisão de segundos: na dúvida o token é recusado
+        return floor == 0 || (claims.issuedAt() != null && claims.issuedAt().toEpochMilli() >= floor);
+    }
+
+    /**
+     * @return true se a versão conhecida para o usuário subiu
+     */
+    boolean advance(long userId, int version) {
+        return advance(userId, version, System.currentTimeMillis());
+    }
+
+    private boolean advance(long userId, int version, long changedAt) {
+        if (version <= 0) {
+            return false;
+        }
+        boolean[] advanced = { false };
+        minimumVersions.asMap().compute(userId, (id, current) -> {
+            if (current == null || version > current.version()) {
+                advanced[0] = true;
+                return new Revocation(version, changedAt);
+            }
+            return current;
+        });
+        return advanced[0];
+    }
+
+    private void raiseFloor(long changedAt) {
+        long previous = evictionFloor.getAndAccumulate(changedAt, Math::max);
+        if (changedAt > previous) {
+            log.warn("Registro de versões de segurança cheio: tokens emitidos antes de {} passam a ser recusados",
+                    Instant.ofEpochMilli(changedAt));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        var changed = userRepository.findBySecurityVersionChangedAtAfter(ZonedDateTime.now().minus(retention));
+        changed.forEach(v -> advance(v.getId(), v.getSecurityVersion(),
+                v.getSecurityVersionChangedAt().toInstant().toEpochMilli()));
+        log.info("SecurityVersionRegistry carregado com {} usuários", changed.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() == null || !event.securityVersionChanged()) {
+            return;
+        }
+        if (advance(event.userId(), event.securityVersion())) {
+            clusterBus.publish(CHANNEL,
+                    Long.toString(event.userId(), 36) + ":" + Integer.toString(event.securityVersion(), 36));
+        }
+    }
+
+    void onMessage(ClusterMessage message) {
+        String payload = message.payload();
+        int separator = payload.indexOf(':');
+        try {
+            advance(Long.parseLong(payload, 0, separator, 36),
+                    Integer.parseInt(payload, separator + 1, payload.length(), 36));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            log.warn("Mensagem de versão de segurança inválida vinda do nó {}", message.origin());
+        }
+    }
+}
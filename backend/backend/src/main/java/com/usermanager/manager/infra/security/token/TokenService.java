@@ -3,32 +3,63 @@ package com.usermanager.manager.infra.security.token;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.usermanager.manager.enums.Status;
+import com.usermanager.manager.enums.Subscription;
 import com.usermanager.manager.exception.authentication.JWTException;
 import com.usermanager.manager.exception.authentication.TokenInvalid;
+import com.usermanager.manager.model.security.AccessClaims;
 import com.usermanager.manager.model.security.TokenProvider;
+import com.usermanager.manager.model.security.VerifiedToken;
 import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserRole;
 
 @Service
 public class TokenService implements TokenProvider{
-    @Value("${api.security.token.secret}")
-    private String secret;
     private static final String TOKEN_ISSUER = "UserManager";
+    static final String CLAIMS_VERSION = "cv";
+    static final String USER_ID = "uid";
+    static final String ROLE = "role";
+    static final String SUBSCRIPTION = "tier";
+    static final String STATUS = "st";
+    static final String SECURITY_VERSION = "sv";
+
+    // Algorithm e JWTVerifier são imutáveis e thread-safe: construídos uma vez por secret
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+
+    public TokenService(@Value("${api.security.token.secret}") String secret) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+            .withIssuer(TOKEN_ISSUER)
+            .build();
+    }
 
     public String generateToken(User user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
                 .withIssuer(TOKEN_ISSUER)
                 .withSubject(user.getLogin())
+                .withIssuedAt(Instant.now())
                 .withExpiresAt(genExpirationDate())
+                // Claims suficientes para autorizar sem consultar o usuário no banco
+                .withClaim(CLAIMS_VERSION, AccessClaims.VERSION)
+                .withClaim(USER_ID, user.getId())
+                .withClaim(ROLE, user.getRole().name())
+                .withClaim(SUBSCRIPTION, user.getSubscription().name())
+                .withClaim(STATUS, user.getStatus().name())
+                .withClaim(SECURITY_VERSION, user.getSecurityVersion())
                 .sign(algorithm);
         } catch (JWTCreationException e) {
             throw new JWTException("Error while generating token, " + e);
@@ -37,11 +68,12 @@ public class TokenService implements TokenProvider{
 
     public String generateToken(User user, long expirationMinutes) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
                 .withIssuer(TOKEN_ISSUER)
                 .withSubject(user.getLogin())
                 .withExpiresAt(genExpirationDate(expirationMinutes))
+                // Dois refresh tokens do mesmo usuário no mesmo segundo não podem ter o mesmo hash
+                .withJWTId(UUID.randomUUID().toString())
                 .sign(algorithm);
         } catch (JWTCreationException e) {
             throw new JWTException("Error while generating token, " + e);
@@ -49,26 +81,42 @@ public class TokenService implements TokenProvider{
     }
 
     public String validateToken(String token) {
+        return verifyToken(token).subject();
+    }
+
+    public VerifiedToken verifyToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                .withIssuer(TOKEN_ISSUER)
-                .build()
-                .verify(token)
-                .getSubject();
+            DecodedJWT decoded = verifier.verify(token);
+            return new VerifiedToken(decoded.getSubject(), decoded.getExpiresAtAsInstant(), readClaims(decoded));
         } catch (JWTVerificationException e) {
             throw new TokenInvalid("Token invalid or expired.");
         }
     }
 
+    private static AccessClaims readClaims(DecodedJWT decoded) {
+        Claim version = decoded.getClaim(CLAIMS_VERSION);
+        if (version.isMissing() || version.asInt() == null || version.asInt() != AccessClaims.VERSION) {
+            return null;
+        }
+        Long userId = decoded.getClaim(USER_ID).asLong();
+        Integer securityVersion = decoded.getClaim(SECURITY_VERSION).asInt();
+        String role = decoded.getClaim(ROLE).asString();
+        String subscription = decoded.getClaim(SUBSCRIPTION).asString();
+        String status = decoded.getClaim(STATUS).asString();
+        if (userId == null || securityVersion == null || role == null || subscription == null || status == null) {
+            throw new TokenInvalid("Token invalid or expired.");
+        }
+        try {
+            return new AccessClaims(userId, UserRole.valueOf(role), Subscription.valueOf(subscription),
+                    Status.valueOf(status), securityVersion, decoded.getIssuedAtAsInstant());
+        } catch (IllegalArgumentException e) {
+            throw new TokenInvalid("Token invalid or expired.");
+        }
+    }
+
     public boolean isTokenValid(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            token = JWT.require(algorithm)
-                .withIssuer(TOKEN_ISSUER)
-                .build()
-                .verify(token)
-                .getSubject();
+            verifier.verify(token);
             return true;
         } catch (JWTVerificationException e) {
             return false;
@@ -76,16 +124,7 @@ public class TokenService implements TokenProvider{
     }
 
     public String getUsernameFromToken(String token) {
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                .withIssuer(TOKEN_ISSUER)
-                .build()
-                .verify(token)
-                .getSubject();
-        } catch (JWTVerificationException e) {
-            throw new TokenInvalid("Token invalid or expired.");
-        }
+        return validateToken(token);
     }
 
     private Instant genExpirationDate() {
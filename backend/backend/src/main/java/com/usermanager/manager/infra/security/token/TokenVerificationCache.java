@@ -0,0 +1,145 @@
+package com.usermanager.manager.infra.security.token;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.usermanager.manager.infra.event.UserChangedEvent;
+import com.usermanager.manager.model.security.VerifiedToken;
+
+/**
+ * Cache de tokens de acesso já verificados, indexado pelo SHA-256 do token.
+ * Cada entrada expira junto com o claim exp do JWT. O principal do usuário
+ * fica no UserPrincipalCache, que é invalidado quando o usuário muda.
+ *
+ * Um índice subject → digests permite descartar os tokens de um usuário sem
+ * varrer o cache; o removal listener mantém o índice junto com as remoções
+ * por expiração, tamanho ou invalidação.
+ */
+@Component
+public class TokenVerificationCache {
+
+    private final Cache<String, VerifiedToken> cache;
+    private final Map<String, Set<String>> digestsBySubject = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    @Autowired
+    public TokenVerificationCache(@Value("${api.security.token.cache.max-size:50000}") long maxSize) {
+        this(maxSize, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    TokenVerificationCache(long maxSize, Ticker ticker, Clock clock) {
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .removalListener((String digest, VerifiedToken verified, RemovalCause cause) -> {
+                    // REPLACED mantém o mesmo digest no mesmo subject
+                    if (cause != RemovalCause.REPLACED && verified != null) {
+                        unindex(verified.subject(), digest);
+                    }
+                })
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+                            long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public VerifiedToken get(String token) {
+        VerifiedToken verified = cache.getIfPresent(digest(token));
+        if (verified == null || !verified.expiresAt().isAfter(clock.instant())) {
+            return null;
+        }
+        return verified;
+    }
+
+    public VerifiedToken put(String token, VerifiedToken verified) {
+        if (verified.expiresAt() != null && verified.expiresAt().isAfter(clock.instant())) {
+            String digest = digest(token);
+            digestsBySubject.compute(verified.subject(), (subject, digests) -> {
+                Set<String> indexed = digests != null ? digests : ConcurrentHashMap.newKeySet();
+                indexed.add(digest);
+                return indexed;
+            });
+            cache.put(digest, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Descarta os tokens verificados do subject. Custa o número de tokens
+     * dele, não o tamanho do cache.
+     */
+    public void invalidateSubject(String subject) {
+        Set<String> digests = digestsBySubject.remove(subject);
+        if (digests != null) {
+            cache.invalidateAll(digests);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.login() != null) {
+            invalidateSubject(event.login());
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    int indexedSubjects() {
+        return digestsBySubject.size();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private void unindex(String subject, String digest) {
+        digestsBySubject.computeIfPresent(subject, (key, digests) -> {
+            digests.remove(digest);
+            return digests.isEmpty() ? null : digests;
+        });
+    }
+
+    private long remainingNanos(VerifiedToken verified) {
+        if (verified.expiresAt() == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(clock.instant(), verified.expiresAt()).toNanos());
+    }
+
+    private static String digest(String token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(TokenHashes.sha256(token));
+    }
+}
@@ -1,11 +1,11 @@
 package com.usermanager.manager.infra.service;
 
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
 
+import com.usermanager.manager.infra.push.ExpoPushSender;
+import com.usermanager.manager.infra.push.PushFanOutResult;
 import com.usermanager.manager.model.device.Device;
 import com.usermanager.manager.service.device.DeviceService;
 
@@ -17,60 +17,46 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PushNotificationService {
     private final DeviceService deviceService;
+    private final ExpoPushSender expoPushSender;
 
-    private final RestClient restClient =
-        RestClient.builder()
-            .baseUrl("https://exp.host/--/api/v2/push/send")
-            .defaultHeader("Content-Type", "application/json")
-            .build();
-
-    public void sendToUsers(List<Long> usersIds, String title, String body) {
-        log.info("Users received to send notification: {}, notification body: {}", usersIds, body);
+    public PushFanOutResult sendToUsers(List<Long> usersIds, String title, String body) {
+        log.info("Users received to send notification: {}, notification body: {}", usersIds.size(), body);
         List<Device> devices = deviceService.findAllByUserIdIn(usersIds);
 
         log.info("Devices found to send notification: {}", devices.size());
-        
-        for (Device device : devices) {
-            String devicePushToken = device.getPushToken();
-            if (devicePushToken == null || devicePushToken.isEmpty()) {
-                log.warn("Push token nulo ou vazio para device ID: {}", device.getId());
-                continue;
-            }
-            
-            log.info("Sending push to token: {}", devicePushToken);
-            send(devicePushToken, title, body);
-        }
+        return send(pushTokens(devices), title, body);
     }
 
-    public void sendToAll(String title, String body) {
+    public PushFanOutResult sendToAll(String title, String body) {
         List<Device> devices = deviceService.findAllByActiveTrue();
         log.info("Sending to all active devices: {}", devices.size());
-        
-        devices.forEach(device -> 
-            send(device.getPushToken(), title, body)
-        );
+
+        return send(pushTokens(devices), title, body);
     }
 
-    private void send(String token, String title, String body) {
-        Map<String, Object> payload = Map.of(
-            "to", token,
-            "title", title,
-            "body", body,
-            "sound", "default",
-            "data", Map.of(
-                "screen", "Timeline"
-            )
-        );
+    public PushFanOutResult sendToTokens(List<String> tokens, String title, String body) {
+        return send(tokens, title, body);
+    }
+
+    private List<String> pushTokens(List<Device> devices) {
+        return devices.stream()
+                .filter(device -> {
+                    String token = device.getPushToken();
+                    if (token == null || token.isEmpty()) {
+                        log.warn("Push token nulo ou vazio para device ID: {}", device.getId());
+                        return false;
+                    }
+                    return true;
+                })
+                .map(Device::getPushToken)
+                .toList();
+    }
 
-        try {
-            var response = restClient.post()
-                .body(payload)
-                .retrieve()
-                .body(String.class);
-            
-            log.info("Expo notification sent successfully: {}", response);
-        } catch (Exception e) {
-            log.error("Erro ao enviar push para token {}: {}", token, e.getMessage(), e);
-        }
+    private PushFanOutResult send(List<String> tokens, String title, String body) {
+        PushFanOutResult result = expoPushSender.send(tokens, title, body);
+        log.info("Expo fan-out concluído: {} tokens, {} entregues, {} falhas, {} não registrados em {} ms",
+                result.requested(), result.delivered(), result.failed(),
+                result.unregisteredTokens().size(), result.elapsed().toMillis());
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -1,31 +1,34 @@
 package com.usermanager.manager.infra.service;
 
-import java.nio.charset.StandardCharsets;
-import java.time.ZonedDateTime;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.mercadopago.client.merchantorder.MerchantOrderClient;
-import com.mercadopago.client.payment.PaymentClient;
 import com.mercadopago.exceptions.MPApiException;
 import com.mercadopago.exceptions.MPException;
 import com.mercadopago.resources.merchantorder.MerchantOrder;
 import com.mercadopago.resources.payment.Payment;
+import com.usermanager.manager.dto.payment.ClaimedWebhookEvent;
 import com.usermanager.manager.exception.webhook.WebhookProcessingException;
+import com.usermanager.manager.infra.config.AsyncConfig;
 import com.usermanager.manager.infra.mail.MailService;
+import com.usermanager.manager.infra.payment.MercadoPagoGateway;
+import com.usermanager.manager.infra.webhook.WebhookRetryPolicy;
+import com.usermanager.manager.infra.webhook.WebhookSignatureVerifier;
 import com.usermanager.manager.model.user.User;
 import com.usermanager.manager.model.webhook.WebhookEvent;
-import com.usermanager.manager.model.webhook.enums.EventStatus;
 import com.usermanager.manager.repository.WebhookEventsRepository;
 import com.usermanager.manager.service.user.UserService;
 import com.usermanager.manager.service.vip_activation.VipActivationService;
@@ -33,71 +36,105 @@ import com.usermanager.manager.service.vip_activation.VipActivationService;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@EnableScheduling
 @Slf4j
 public class WebhookService {
-    // TODO adicionar um método para processamento dos pagamentos que tiveram um erro
-    // dessa forma o erro já é tentado tratar no backend. e somente em ultima instancia
-    // é enviado ao usuário tentar dnv
-    private static final int MAX_RETRY_COUNT = 5;
     private static final String STATUS_APPROVED = "approved";
 
     private final WebhookEventsRepository webhookRepository;
     private final UserService userService;
-    private final PaymentClient paymentClient;
-    private final MerchantOrderClient merchantOrderClient;
+    private final MercadoPagoGateway mercadoPagoGateway;
     private final ObjectMapper objectMapper;
     private final VipActivationService vipActivationService;
     private final MailService mailService;
+    private final WebhookRetryPolicy retryPolicy;
+    private final WebhookSignatureVerifier signatureVerifier;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
 
     @Value("${mercadopago.webhook.secret:}")
     private String webhookSecret;
 
     public WebhookService(WebhookEventsRepository webhookRepository, UserService userService,
-            VipActivationService vipActivationService, MailService mailService) {
+            VipActivationService vipActivationService, MailService mailService, WebhookRetryPolicy retryPolicy,
+            WebhookSignatureVerifier signatureVerifier, MercadoPagoGateway mercadoPagoGateway, TransactionTemplate transactionTemplate, @Qualifier(AsyncConfig.WEBHOOK_EXECUTOR) Executor executor) {
         this.webhookRepository = webhookRepository;
         this.userService = userService;
-        this.paymentClient = new PaymentClient();
-        this.merchantOrderClient = new MerchantOrderClient();
+        this.mercadoPagoGateway = mercadoPagoGateway;
         this.objectMapper = new ObjectMapper();
         this.vipActivationService = vipActivationService;
         this.mailService = mailService;
+        this.retryPolicy = retryPolicy;
+        this.signatureVerifier = signatureVerifier;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
     }
 
-    @Scheduled(fixedRate = 30000)
-    @Transactional
-    public void processWebhookEvents() {
-        List<WebhookEvent> pendingEvents = webhookRepository.findByStatusAndRetryCountLessThan(
-                EventStatus.PENDING, MAX_RETRY_COUNT);
-
-        log.info("Found {} pending webhook events to process", pendingEvents.size());
-
-        if (pendingEvents.size() == 0) {
-            return;
+    /**
+     * Reserva até limit eventos pendentes e entrega cada um ao executor
+     * webhook, com uma transação por evento, sem esperar o processamento.
+     * onDone roda ao fim de cada evento (inclusive se o executor recusar), para
+     * o dispatcher liberar a vaga e reservar o próximo. Retorna quantos eventos
+     * foram reservados.
+     */
+    public int dispatch(int limit, Duration lease, Runnable onDone) {
+        List<ClaimedWebhookEvent> events = webhookRepository.claim(limit, lease);
+        if (events.isEmpty()) {
+            return 0;
         }
 
-        for (WebhookEvent event : pendingEvents) {
+        log.info("Claimed {} pending webhook events", events.size());
+        for (ClaimedWebhookEvent event : events) {
             try {
-                processEvent(event);
-                event.setStatus(EventStatus.PROCESSED);
-                event.setProcessedAt(ZonedDateTime.now());
-            } catch (WebhookProcessingException e) {
-                log.error("Error processing webhook event id {}: {}", event.getId(), e.getMessage());
-                handleProcessingError(event);
-                continue;
-            } catch (Exception e) {
-                log.error("Unexpected error processing webhook event id {}: {}",
-                        event.getId(), e.getMessage(), e);
-                handleProcessingError(event);
-                continue;
+                executor.execute(() -> {
+                    try {
+                        processClaimedEvent(event);
+                    } finally {
+                        onDone.run();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // O evento continua reservado e volta para a fila quando o lease vencer
+                log.warn("Executor webhook recusou o evento id {}: {}", event.id(), e.getMessage());
+                onDone.run();
             }
-            webhookRepository.save(event);
         }
+        return events.size();
     }
 
-    private void processEvent(WebhookEvent event) throws WebhookProcessingException {
+    private void processClaimedEvent(ClaimedWebhookEvent event) {
+        try {
+            ResolvedPayment resolved = processEvent(event);
+
+            // Status do evento e ativação VIP na mesma transação: se outro worker
+            // já concluiu o evento (lease vencido), nada é aplicado de novo.
+            Boolean applied = transactionTemplate.execute(status -> {
+                if (webhookRepository.markProcessed(event.id()) == 0) {
+                    return false;
+                }
+                updateUserSubscription(resolved.user(), resolved.paymentStatus());
+                return true;
+            });
+
+            if (!Boolean.TRUE.equals(applied)) {
+                log.info("Webhook event id {} was already processed by another worker", event.id());
+                return;
+            }
+            if (STATUS_APPROVED.equalsIgnoreCase(resolved.paymentStatus()))
+                mailService.sendMail(resolved.user().getLogin(), "Assinatura aprovada", "você se tornou usuário VIP!");
+        } catch (WebhookProcessingException e) {
+            log.error("Error processing webhook event id {}: {}", event.id(), e.getMessage());
+            handleProcessingError(event, e);
+        } catch (Exception e) {
+            log.error("Unexpected error processing webhook event id {}: {}",
+                    event.id(), e.getMessage(), e);
+            handleProcessingError(event, e);
+        }
+    }
+
+    /** Consulta o Mercado Pago e resolve o usuário, fora de qualquer transação. */
+    private ResolvedPayment processEvent(ClaimedWebhookEvent event) throws WebhookProcessingException {
         Map<String, Object> payload = parsePayload(event);
-        Map<String, Object> data = extractData(payload, event);
+        Map<String, Object> data = extractData(payload);
         Long paymentId = extractPaymentId(data);
 
         Payment payment = getPaymentDetails(paymentId);
@@ -107,14 +144,12 @@ public class WebhookService {
         Long userId = extractUserId(merchantOrder);
         User user = findUser(userId);
 
-        updateUserSubscription(user, payment.getStatus());
-        if (STATUS_APPROVED.equalsIgnoreCase(payment.getStatus()))
-            mailService.sendMail(user.getLogin(), "Assinatura aprovada", "você se tornou usuário VIP!");
+        return new ResolvedPayment(user, payment.getStatus());
     }
 
-    private Map<String, Object> parsePayload(WebhookEvent event) throws WebhookProcessingException {
+    private Map<String, Object> parsePayload(ClaimedWebhookEvent event) throws WebhookProcessingException {
         try {
-            return objectMapper.readValue(event.getPayloadJson(),
+            return objectMapper.readValue(event.payloadJson(),
                     new TypeReference<Map<String, Object>>() {
                     });
         } catch (JsonProcessingException e) {
@@ -122,8 +157,7 @@ public class WebhookService {
         }
     }
 
-    private Map<String, Object> extractData(Map<String, Object> payload, WebhookEvent event)
-            throws WebhookProcessingException {
+    private Map<String, Object> extractData(Map<String, Object> payload) throws WebhookProcessingException {
         if (payload == null || !payload.containsKey("data") || payload.get("data") == null) {
             throw new WebhookProcessingException("Webhook event with null or missing data");
         }
@@ -149,7 +183,7 @@ public class WebhookService {
     private Payment getPaymentDetails(Long paymentId) throws WebhookProcessingException {
         log.info("Fetching payment ID: {}", paymentId);
         try {
-            Payment payment = paymentClient.get(paymentId);
+            Payment payment = mercadoPagoGateway.getPayment(paymentId);
             if (payment == null) {
                 throw new WebhookProcessingException("Payment not found for ID: " + paymentId);
             }
@@ -172,7 +206,7 @@ public class WebhookService {
 
     private MerchantOrder getMerchantOrder(Long merchantOrderId) throws WebhookProcessingException {
         try {
-            MerchantOrder merchantOrder = merchantOrderClient.get(merchantOrderId);
+            MerchantOrder merchantOrder = mercadoPagoGateway.getMerchantOrder(merchantOrderId);
 
             if (merchantOrder == null || merchantOrder.getExternalReference() == null) {
                 throw new WebhookProcessingException(
@@ -209,7 +243,6 @@ public class WebhookService {
         }
     }
 
-    @Transactional
     private void updateUserSubscription(User user, String paymentStatus) {
         if (STATUS_APPROVED.equalsIgnoreCase(paymentStatus)) {
             vipActivationService.createVipActivation(user);
@@ -220,17 +253,35 @@ public class WebhookService {
         }
     }
 
-    private void handleProcessingError(WebhookEvent event) {
-        event.setRetryCount(event.getRetryCount() + 1);
-        if (event.getRetryCount() >= MAX_RETRY_COUNT) {
-            event.setStatus(EventStatus.ERROR);
+    private void handleProcessingError(ClaimedWebhookEvent event, Exception e) {
+        int failures = event.retryCount() + 1;
+        boolean exhausted = retryPolicy.isExhausted(failures);
+        Duration retryAfter = retryPolicy.backoff(failures);
+        webhookRepository.markFailed(event.id(), e.getMessage(), retryAfter, exhausted);
+        if (exhausted) {
+            log.error("Webhook event id {} moved to dead letter after {} attempts", event.id(), failures);
+        } else {
+            log.info("Webhook event id {} will be retried in {} s", event.id(), retryAfter.toSeconds());
         }
-        webhookRepository.save(event);
     }
 
+    private record ResolvedPayment(User user, String paymentStatus) {
+    }
+
+    /**
+     * Grava o evento como PENDING, descartando-o se já houver um pendente para o
+     * mesmo resourceId. Retorna vazio para notificações duplicadas.
+     */
     @Transactional
-    public WebhookEvent saveWebhookEvent(WebhookEvent webhookEvent) {
-        return webhookRepository.save(webhookEvent);
+    public Optional<WebhookEvent> saveWebhookEvent(WebhookEvent webhookEvent) {
+        if (webhookEvent.getResourceId() == null) {
+            return Optional.of(webhookRepository.save(webhookEvent));
+        }
+        return webhookRepository.insertPendingIfAbsent(webhookEvent.getResourceId(), webhookEvent.getPayloadJson())
+                .map(id -> {
+                    webhookEvent.setId(id);
+                    return webhookEvent;
+                });
     }
 
     /**
@@ -255,95 +306,13 @@ public class WebhookService {
             return false;
         }
 
-        try {
-            // 1. Extrair o timestamp (ts) e a assinatura (v1) do header x-signature
-            Map<String, String> signatureComponents = parseSignatureHeader(xSignature);
-            String ts = signatureComponents.get("ts");
-            String hash = signatureComponents.get("v1");
-
-            if (ts == null || hash == null) {
-                log.error("Componentes da assinatura (ts ou v1) não encontrados no header");
-                return false;
-            }
-
-            // 2. Construir o template conforme a documentação
-            String message = buildSignatureTemplate(dataId, xRequestId, ts);
-            log.debug("Template gerado para validação: {}", message);
-
-            // 3. Calcular o HMAC SHA-256 usando a chave secreta
-            String calculatedHash = calculateHmacSha256(message, secretKey);
-
-            // 4. Verificar se a assinatura calculada corresponde à recebida
-            boolean isValid = calculatedHash.equals(hash);
-
-            if (isValid) {
-                log.info("Assinatura válida para RequestId: {}", xRequestId);
-            } else {
-                log.warn("Assinatura inválida - Calculada: {}, Recebida: {}", calculatedHash, hash);
-            }
-
-            return isValid;
-
-        } catch (Exception e) {
-            log.error("Erro ao validar assinatura", e);
-            return false;
-        }
-    }
-
-    private Map<String, String> parseSignatureHeader(String xSignature) {
-        Map<String, String> components = new java.util.HashMap<>();
-
-        if (xSignature == null || xSignature.isEmpty()) {
-            return components;
-        }
-
-        String[] parts = xSignature.split(",");
-        for (String part : parts) {
-            String[] keyValue = part.split("=", 2);
-            if (keyValue.length == 2) {
-                String key = keyValue[0].trim();
-                String value = keyValue[1].trim();
-                components.put(key, value);
-            }
-        }
-
-        return components;
-    }
-
-    private String buildSignatureTemplate(String dataId, String xRequestId, String ts) {
-        StringBuilder manifest = new StringBuilder();
-
-        // Adicionar id somente se dataId não for nulo ou vazio
-        if (dataId != null && !dataId.isEmpty()) {
-            manifest.append("id:").append(dataId).append(";");
-        }
-
-        // Adicionar request-id somente se xRequestId não for nulo ou vazio
-        if (xRequestId != null && !xRequestId.isEmpty()) {
-            manifest.append("request-id:").append(xRequestId).append(";");
-        }
-
-        // Adicionar ts somente se ts não for nulo ou vazio
-        if (ts != null && !ts.isEmpty()) {
-            manifest.append("ts:").append(ts).append(";");
-        }
-
-        return manifest.toString();
-    }
-
-    private String calculateHmacSha256(String message, String secretKey) throws Exception {
-        javax.crypto.Mac mac = javax.crypto.Mac.getInstance("HmacSHA256");
-        javax.crypto.spec.SecretKeySpec secretKeySpec = new javax.crypto.spec.SecretKeySpec(
-                secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        mac.init(secretKeySpec);
-        byte[] hashBytes = mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
-
-        StringBuilder calculatedHash = new StringBuilder();
-        for (byte b : hashBytes) {
-            calculatedHash.append(String.format("%02x", b));
+        boolean isValid = signatureVerifier.verify(xSignature, xRequestId, dataId, secretKey);
+        if (isValid) {
+            log.info("Assinatura válida para RequestId: {}", xRequestId);
+        } else {
+            log.warn("Assinatura inválida para RequestId: {}", xRequestId);
         }
-
-        return calculatedHash.toString();
+        return isValid;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.usermanager.manager.infra.webhook;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.usermanager.manager.dto.payment.DeadLetterWebhookEvent;
+import com.usermanager.manager.repository.WebhookEventsRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consulta e replay dos eventos de webhook que esgotaram as tentativas.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class WebhookDeadLetterService {
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final WebhookEventsRepository webhookRepository;
+    private final WebhookEventDispatcher dispatcher;
+
+    public List<DeadLetterWebhookEvent> list(long afterId, int size) {
+        return webhookRepository.findDeadLetters(Math.max(0, afterId), Math.clamp(size, 1, MAX_PAGE_SIZE));
+    }
+
+    /** Devolve os eventos para a fila e acorda o dispatcher; ids vazio devolve todos. */
+    public int replay(List<Long> ids) {
+        int replayed = webhookRepository.replayDeadLetters(ids);
+        log.info("{} eventos de webhook devolvidos da dead letter para a fila", replayed);
+        if (replayed > 0) {
+            dispatcher.wakeUp();
+        }
+        return replayed;
+    }
+}
@@ -0,0 +1,114 @@
+package com.usermanager.manager.infra.webhook;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.usermanager.manager.infra.service.WebhookService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Laço que drena a fila de webhook_events: reserva eventos com SKIP LOCKED pelo
+ * WebhookService, que os processa no executor webhook. Cada evento ocupa uma
+ * vaga (webhook.processing.concurrency) até terminar, e o laço reserva de novo
+ * assim que qualquer vaga se libera: um evento lento não segura os outros.
+ * Acorda assim que um evento é gravado neste nó; o poll periódico cobre
+ * eventos gravados por outras réplicas e retentativas com backoff.
+ */
+@Component
+@Slf4j
+public class WebhookEventDispatcher {
+
+    private final WebhookService webhookService;
+    private final int concurrency;
+    private final Semaphore slots;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final Semaphore wakeUp = new Semaphore(0);
+    private volatile boolean running;
+    private Thread thread;
+
+    public WebhookEventDispatcher(WebhookService webhookService,
+            @Value("${webhook.processing.concurrency:${async.executors.webhook.core-pool-size:4}}") int concurrency,
+            @Value("${webhook.processing.poll-interval:30s}") Duration pollInterval,
+            @Value("${webhook.processing.lease:2m}") Duration lease) {
+        this.webhookService = webhookService;
+        this.concurrency = Math.max(1, concurrency);
+        this.slots = new Semaphore(this.concurrency);
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        thread = new Thread(this::dispatchLoop, "webhook-dispatcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Webhook dispatcher iniciado ({} eventos simultâneos, poll a cada {} s)",
+                concurrency, pollInterval.toSeconds());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        wakeUp.release();
+        // Solta o laço se ele estiver esperando uma vaga
+        slots.release();
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(lease.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Acorda o dispatcher sem esperar o próximo poll; chamado após gravar um evento. */
+    public void wakeUp() {
+        if (wakeUp.availablePermits() == 0) {
+            wakeUp.release();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!running) {
+                slots.release();
+                return;
+            }
+            // Uma vaga garantida mais as que estiverem livres agora
+            int free = 1 + slots.drainPermits();
+            int claimed;
+            try {
+                claimed = webhookService.dispatch(free, lease, slots::release);
+            } catch (RuntimeException e) {
+                log.error("Erro ao reservar eventos de webhook: {}", e.getMessage());
+                claimed = 0;
+            }
+            slots.release(free - claimed);
+            if (claimed == 0) {
+                try {
+                    wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.usermanager.manager.infra.webhook;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backoff exponencial com jitter para eventos de webhook que falharam. O atraso
+ * base dobra a cada falha a partir de initialBackoff, limitado a maxBackoff, e
+ * o atraso efetivo fica entre metade e o total do base, para que eventos que
+ * falharam juntos (queda do Mercado Pago) não voltem todos no mesmo instante.
+ */
+@Component
+public class WebhookRetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public WebhookRetryPolicy(
+            @Value("${webhook.retry.max-attempts:8}") int maxAttempts,
+            @Value("${webhook.retry.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${webhook.retry.max-backoff:1h}") Duration maxBackoff) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = Math.max(1, initialBackoff.toMillis());
+        this.maxBackoffMillis = Math.max(initialBackoffMillis, maxBackoff.toMillis());
+    }
+
+    /** true quando a falha de número failures encerra o evento como ERROR. */
+    public boolean isExhausted(int failures) {
+        return failures >= maxAttempts;
+    }
+
+    /** Atraso até a próxima tentativa depois da falha de número failures (a partir de 1). */
+    public Duration backoff(int failures) {
+        int doublings = Math.min(Math.max(failures - 1, 0), 30);
+        long base = initialBackoffMillis > maxBackoffMillis >> doublings
+                ? maxBackoffMillis
+                : initialBackoffMillis << doublings;
+        long half = base / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(base - half + 1));
+    }
+}
@@ -0,0 +1,174 @@
+package com.usermanager.manager.infra.webhook;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Valida o header x-signature dos webhooks do Mercado Pago
+ * ({@code ts=<timestamp>,v1=<hmac-sha256 hex>}).
+ *
+ * Guarda um Mac protótipo já inicializado com o último secret usado e cada
+ * chamada trabalha num clone dele: o caso comum (um único secret configurado)
+ * não passa por Mac.getInstance nem por init, e nada fica preso à thread, o
+ * que vale também para virtual threads. O HMAC calculado é comparado com o hex
+ * recebido caractere a caractere, sem gerar a string hex e em tempo constante.
+ */
+@Component
+@Slf4j
+public class WebhookSignatureVerifier {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int HMAC_LENGTH = 32;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private volatile KeyedMac prototype;
+
+    /**
+     * @param xSignature valor do header x-signature
+     * @param xRequestId valor do header x-request-id
+     * @param dataId     id do recurso (query param data.id)
+     * @param secret     chave secreta do webhook
+     * @return true se o v1 do header for o HMAC do manifesto
+     */
+    public boolean verify(String xSignature, String xRequestId, String dataId, String secret) {
+        if (xSignature == null || secret == null || secret.isEmpty()) {
+            return false;
+        }
+
+        int tsStart = -1, tsEnd = -1, v1Start = -1, v1End = -1;
+        int length = xSignature.length();
+        int partStart = 0;
+        while (partStart < length) {
+            int partEnd = xSignature.indexOf(',', partStart);
+            if (partEnd < 0) {
+                partEnd = length;
+            }
+            int eq = xSignature.indexOf('=', partStart);
+            if (eq > 0 && eq < partEnd) {
+                int keyStart = skipWhitespace(xSignature, partStart, eq);
+                int keyEnd = trimWhitespace(xSignature, keyStart, eq);
+                int valueStart = skipWhitespace(xSignature, eq + 1, partEnd);
+                int valueEnd = trimWhitespace(xSignature, valueStart, partEnd);
+                if (isKey(xSignature, keyStart, keyEnd, "ts")) {
+                    tsStart = valueStart;
+                    tsEnd = valueEnd;
+                } else if (isKey(xSignature, keyStart, keyEnd, "v1")) {
+                    v1Start = valueStart;
+                    v1End = valueEnd;
+                }
+            }
+            partStart = partEnd + 1;
+        }
+
+        if (tsStart < 0 || v1Start < 0 || tsStart == tsEnd) {
+            log.warn("Componentes da assinatura (ts ou v1) não encontrados no header");
+            return false;
+        }
+        if (v1End - v1Start != HMAC_LENGTH * 2) {
+            return false;
+        }
+
+        StringBuilder manifest = new StringBuilder(96);
+        if (dataId != null && !dataId.isEmpty()) {
+            manifest.append("id:").append(dataId).append(';');
+        }
+        if (xRequestId != null && !xRequestId.isEmpty()) {
+            manifest.append("request-id:").append(xRequestId).append(';');
+        }
+        manifest.append("ts:").append(xSignature, tsStart, tsEnd).append(';');
+
+        byte[] expected;
+        try {
+            expected = hmac(macFor(secret), manifest);
+        } catch (GeneralSecurityException e) {
+            log.error("Não foi possível inicializar o {}", ALGORITHM, e);
+            return false;
+        }
+
+        int diff = 0;
+        for (int i = 0; i < HMAC_LENGTH; i++) {
+            int b = expected[i];
+            diff |= HEX[(b >> 4) & 0x0f] ^ toLowerHex(xSignature.charAt(v1Start + 2 * i));
+            diff |= HEX[b & 0x0f] ^ toLowerHex(xSignature.charAt(v1Start + 2 * i + 1));
+        }
+        return diff == 0;
+    }
+
+    /**
+     * Clone do protótipo para o secret. Se o secret mudou, o protótipo é
+     * trocado; threads concorrentes podem inicializar um cada, o último vence.
+     */
+    private Mac macFor(String secret) throws GeneralSecurityException {
+        KeyedMac keyed = prototype;
+        if (keyed == null || !secret.equals(keyed.secret())) {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            keyed = new KeyedMac(secret, mac);
+            prototype = keyed;
+        }
+        return keyed.copy();
+    }
+
+    private static byte[] hmac(Mac mac, CharSequence message) {
+        mac.update(message.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] output = new byte[HMAC_LENGTH];
+        try {
+            mac.doFinal(output, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        return output;
+    }
+
+    /**
+     * Minúscula só para 'A'-'F', sem desvio: ((c - 'A') | ('F' - c)) é negativo
+     * fora desse intervalo. Um | 0x20 geral levaria os controles 0x10-0x19
+     * para os dígitos '0'-'9'.
+     */
+    private static int toLowerHex(char c) {
+        int inRange = (((c - 'A') | ('F' - c)) >>> 31) ^ 1;
+        return c | (inRange << 5);
+    }
+
+    private static boolean isKey(String s, int start, int end, String key) {
+        return end - start == key.length() && s.regionMatches(start, key, 0, key.length());
+    }
+
+    private static int skipWhitespace(String s, int from, int to) {
+        while (from < to && Character.isWhitespace(s.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimWhitespace(String s, int from, int to) {
+        while (to > from && Character.isWhitespace(s.charAt(to - 1))) {
+            to--;
+        }
+        return to;
+    }
+
+    /**
+     * Mac já inicializado com o secret. O protótipo nunca é usado diretamente,
+     * só clonado; o provedor que não suporta clone recebe uma instância nova.
+     */
+    private record KeyedMac(String secret, Mac mac) {
+
+        Mac copy() throws GeneralSecurityException {
+            try {
+                return (Mac) mac.clone();
+            } catch (CloneNotSupportedException e) {
+                Mac fresh = Mac.getInstance(ALGORITHM);
+                fresh.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+                return fresh;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.usermanager.manager.model.message;
+
+import java.time.ZonedDateTime;
+
+import com.usermanager.manager.model.message.enums.OutboxStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento de nova mensagem gravado na mesma transação da mensagem. O
+ * MessageOutboxRelay entrega cada linha ao MessageListener pelo menos uma vez.
+ */
+@Table(name = "message_outbox")
+@Entity(name = "MessageOutbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class MessageOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long messageId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Builder.Default
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private ZonedDateTime createdAt = ZonedDateTime.now();
+
+    private ZonedDateTime lockedUntil;
+
+    private ZonedDateTime processedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+}
@@ -0,0 +1,7 @@
+package com.usermanager.manager.model.message.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
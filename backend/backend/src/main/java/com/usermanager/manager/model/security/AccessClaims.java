@@ -0,0 +1,31 @@
+package com.usermanager.manager.model.security;
+
+import java.time.Instant;
+
+import com.usermanager.manager.enums.Status;
+import com.usermanager.manager.enums.Subscription;
+import com.usermanager.manager.model.user.UserPrincipal;
+import com.usermanager.manager.model.user.UserRole;
+
+/**
+ * Claims do token de acesso, versão {@link #VERSION}. Bastam para montar o
+ * principal sem consultar o banco; securityVersion diz se ainda valem.
+ *
+ * @param issuedAt claim iat, ou null em tokens emitidos antes dele
+ */
+public record AccessClaims(
+        long userId,
+        UserRole role,
+        Subscription subscription,
+        Status status,
+        int securityVersion,
+        Instant issuedAt) {
+
+    /** Valor do claim cv. Tokens com outra versão caem na busca do usuário. */
+    public static final int VERSION = 1;
+
+    public UserPrincipal toPrincipal(String login) {
+        // Só usuário habilitado recebe token, e desabilitar sobe a securityVersion
+        return new UserPrincipal(userId, login, role, status, subscription, true);
+    }
+}
@@ -35,9 +35,10 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true)
-    private String token;
-    
+    /** SHA-256 do JWT; o token em si não é gravado. */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -55,9 +56,9 @@ public class RefreshToken {
         used = false;
     }
 
-    public RefreshToken(User user, String token) {
+    public RefreshToken(User user, byte[] tokenHash) {
         this.user = user;
-        this.token = token;
+        this.tokenHash = tokenHash;
         used = false;
     }
 }
@@ -6,6 +6,7 @@ public interface TokenProvider {
 
     String generateToken(User user);
     String validateToken(String token);
+    VerifiedToken verifyToken(String token);
     boolean isTokenValid(String token);
     String getUsernameFromToken(String token);
     String generateToken(User user, long expirationMinutes);
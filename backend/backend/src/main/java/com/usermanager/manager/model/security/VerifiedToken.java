@@ -0,0 +1,14 @@
+package com.usermanager.manager.model.security;
+
+import java.time.Instant;
+
+/**
+ * @param claims claims de acesso, ou null para tokens sem o claim cv
+ *               esperado (refresh tokens e tokens emitidos antes dos claims)
+ */
+public record VerifiedToken(String subject, Instant expiresAt, AccessClaims claims) {
+
+    public VerifiedToken(String subject, Instant expiresAt) {
+        this(subject, expiresAt, null);
+    }
+}
@@ -4,6 +4,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
 import org.hibernate.annotations.CreationTimestamp;
 import org.springframework.security.core.GrantedAuthority;
@@ -22,6 +23,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -91,6 +93,60 @@ public class User implements UserDetails {
     @Builder.Default
     private Subscription subscription = Subscription.FREE;
 
+    /**
+     * Sobe a cada mudança em role, assinatura, status, habilitado ou senha. Vai
+     * no claim sv do token de acesso; tokens com versão menor são recusados.
+     */
+    @Column(name = "security_version", nullable = false)
+    @Builder.Default
+    private int securityVersion = 0;
+
+    @Column(name = "security_version_changed_at")
+    private ZonedDateTime securityVersionChangedAt;
+
+    /** Se a versão subiu desde que a entidade foi carregada. */
+    @Transient
+    private boolean securityVersionChanged;
+
+    public void setRole(UserRole role) {
+        if (!Objects.equals(this.role, role)) {
+            this.role = role;
+            bumpSecurityVersion();
+        }
+    }
+
+    public void setEnabled(Boolean enabled) {
+        if (!Objects.equals(this.enabled, enabled)) {
+            this.enabled = enabled;
+            bumpSecurityVersion();
+        }
+    }
+
+    public void setStatus(Status status) {
+        if (!Objects.equals(this.status, status)) {
+            this.status = status;
+            bumpSecurityVersion();
+        }
+    }
+
+    public void setSubscription(Subscription subscription) {
+        if (!Objects.equals(this.subscription, subscription)) {
+            this.subscription = subscription;
+            bumpSecurityVersion();
+        }
+    }
+
+    /**
+     * Invalida os tokens de acesso já emitidos para o usuário. Os setters de
+     * role, assinatura, status e habilitado chamam sozinhos; troca de senha
+     * chama explicitamente, já que o rehash no login não deve derrubar sessões.
+     */
+    public void bumpSecurityVersion() {
+        this.securityVersion++;
+        this.securityVersionChangedAt = ZonedDateTime.now();
+        this.securityVersionChanged = true;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         List<GrantedAuthority> roleList = new ArrayList<>();
@@ -0,0 +1,57 @@
+package com.usermanager.manager.model.user;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.usermanager.manager.enums.Status;
+import com.usermanager.manager.enums.Subscription;
+
+/**
+ * Snapshot imutável do usuário autenticado. É o principal colocado no
+ * SecurityContext e na sessão WebSocket, no lugar da entidade JPA.
+ */
+public record UserPrincipal(
+        Long id,
+        String login,
+        UserRole role,
+        Status status,
+        Subscription subscription,
+        boolean enabled) implements UserDetails {
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getLogin(),
+                user.getRole(),
+                user.getStatus(),
+                user.getSubscription(),
+                Boolean.TRUE.equals(user.getEnabled()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        if (role == null) {
+            return List.of();
+        }
+        return List.of(new SimpleGrantedAuthority(role.getRole()));
+    }
+
+    @Override
+    public String getUsername() {
+        return login;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
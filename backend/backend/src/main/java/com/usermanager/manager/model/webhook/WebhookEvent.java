@@ -29,6 +29,10 @@ public class WebhookEvent {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /** Id do pagamento no Mercado Pago (data.id), chave de deduplicação dos pendentes. */
+    @Column(name = "resource_id", length = 64)
+    private String resourceId;
+
     @Column(name = "payload_json", columnDefinition = "TEXT")
     private String payloadJson;
 
@@ -42,4 +46,14 @@ public class WebhookEvent {
     @Builder.Default
     private Integer retryCount = 0;
 
+    /** Lease do worker que reservou o evento. */
+    private ZonedDateTime lockedUntil;
+
+    /** Quando o evento pode ser reservado de novo; avança com backoff a cada falha. */
+    @Builder.Default
+    private ZonedDateTime nextAttemptAt = ZonedDateTime.now();
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.usermanager.manager.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Escrita em lote do último uso dos devices, usada pelo LoginActivityBuffer.
+ */
+public interface DeviceActivityRepository {
+
+    /**
+     * Atualiza devices.last_used_at pelo push token, em uma instrução por
+     * lote, sem regredir um valor mais novo já gravado.
+     *
+     * @return quantidade de linhas alteradas
+     */
+    int touchDevices(Map<String, LocalDateTime> lastUsed);
+}
@@ -0,0 +1,45 @@
+package com.usermanager.manager.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class DeviceActivityRepositoryImpl implements DeviceActivityRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int touchDevices(Map<String, LocalDateTime> lastUsed) {
+        int updated = 0;
+        List<Object> args = new ArrayList<>(UserActivityRepositoryImpl.MAX_ROWS_PER_STATEMENT * 2);
+        for (Map.Entry<String, LocalDateTime> entry : lastUsed.entrySet()) {
+            args.add(entry.getKey());
+            args.add(Timestamp.valueOf(entry.getValue()));
+            if (args.size() == UserActivityRepositoryImpl.MAX_ROWS_PER_STATEMENT * 2) {
+                updated += update(args);
+                args.clear();
+            }
+        }
+        if (!args.isEmpty()) {
+            updated += update(args);
+        }
+        return updated;
+    }
+
+    private int update(List<Object> args) {
+        String sql = """
+                UPDATE devices d SET last_used_at = v.last_used_at
+                FROM (VALUES %s) AS v(push_token, last_used_at)
+                WHERE d.push_token = v.push_token
+                  AND (d.last_used_at IS NULL OR d.last_used_at < v.last_used_at)
+                """.formatted(UserActivityRepositoryImpl.values(args.size() / 2, "(?::varchar, ?::timestamp)"));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+}
@@ -5,10 +5,13 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.usermanager.manager.dto.notification.PushRecipient;
+import com.usermanager.manager.enums.Status;
 import com.usermanager.manager.model.device.Device;
 
-public interface DeviceRepository extends JpaRepository<Device, UUID>{
+public interface DeviceRepository extends JpaRepository<Device, UUID>, DeviceActivityRepository {
 
     Optional<Device> findByPushToken(String pushToken);
 
@@ -17,4 +20,31 @@ public interface DeviceRepository extends JpaRepository<Device, UUID>{
     List<Device> findAllByActiveTrue();
 
     List<Device> findAllByUserIdIn(List<Long> user);
+
+    /**
+     * Página de destinatários depois do cursor (afterUserId, afterToken). A
+     * comparação por row value vira um range no índice parcial
+     * idx_devices_active_user_token (user_id, push_token).
+     */
+    @Query(value = """
+            SELECT d.user_id AS userId, d.push_token AS pushToken
+            FROM devices d JOIN users u ON u.id = d.user_id
+            WHERE d.active = true AND u.status = :status AND d.push_token <> ''
+              AND (d.user_id, d.push_token) > (:afterUserId, :afterToken)
+            ORDER BY d.user_id ASC, d.push_token ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<PushRecipientRow> findRecipientRowsAfter(String status, long afterUserId, String afterToken, int limit);
+
+    default List<PushRecipient> findRecipientsAfter(Status status, long afterUserId, String afterToken, int limit) {
+        return findRecipientRowsAfter(status.name(), afterUserId, afterToken, limit).stream()
+                .map(row -> new PushRecipient(row.getUserId(), row.getPushToken()))
+                .toList();
+    }
+
+    interface PushRecipientRow {
+        Long getUserId();
+
+        String getPushToken();
+    }
 }
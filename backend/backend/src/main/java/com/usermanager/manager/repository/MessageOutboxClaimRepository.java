@@ -0,0 +1,36 @@
+package com.usermanager.manager.repository;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.usermanager.manager.dto.message.ClaimedOutboxEntry;
+
+/**
+ * Operações do relay que dependem de SQL específico do Postgres
+ * (UPDATE ... RETURNING com FOR UPDATE SKIP LOCKED).
+ */
+public interface MessageOutboxClaimRepository {
+
+    /**
+     * Reserva até limit eventos pendentes por lease. Linhas travadas por outro
+     * worker são puladas, e uma reserva cujo lease venceu pode ser retomada.
+     */
+    List<ClaimedOutboxEntry> claim(int limit, Duration lease);
+
+    /**
+     * Estende o lease de um evento ainda reservado com lockedUntil. Vazio se
+     * outro worker já o retomou ou ele não está mais pendente.
+     */
+    Optional<ZonedDateTime> renew(long id, ZonedDateTime lockedUntil, Duration lease);
+
+    /** Encerra o evento como entregue; false se o lease lockedUntil foi perdido. */
+    boolean markDone(long id, ZonedDateTime lockedUntil);
+
+    /**
+     * Libera o evento para nova tentativa depois de retryAfter, ou o encerra
+     * como FAILED; false se o lease lockedUntil foi perdido.
+     */
+    boolean markFailed(long id, ZonedDateTime lockedUntil, String error, Duration retryAfter, boolean exhausted);
+}
@@ -0,0 +1,90 @@
+package com.usermanager.manager.repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.usermanager.manager.dto.message.ClaimedOutboxEntry;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class MessageOutboxClaimRepositoryImpl implements MessageOutboxClaimRepository {
+
+    private static final String CLAIM = """
+            UPDATE message_outbox o
+            SET locked_until = now() + make_interval(secs => ?), attempts = o.attempts + 1
+            WHERE o.id IN (
+                SELECT id FROM message_outbox
+                WHERE status = 'PENDING' AND (locked_until IS NULL OR locked_until < now())
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING o.id, o.message_id, o.title, o.body, o.attempts, o.created_at, o.locked_until
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ClaimedOutboxEntry> claim(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM,
+                (rs, rowNum) -> new ClaimedOutboxEntry(
+                        rs.getLong("id"),
+                        rs.getLong("message_id"),
+                        rs.getString("title"),
+                        rs.getString("body"),
+                        rs.getInt("attempts"),
+                        utc(rs.getObject("created_at", OffsetDateTime.class)),
+                        utc(rs.getObject("locked_until", OffsetDateTime.class))),
+                lease.toMillis() / 1000.0, limit);
+    }
+
+    @Override
+    public Optional<ZonedDateTime> renew(long id, ZonedDateTime lockedUntil, Duration lease) {
+        return jdbcTemplate.query("""
+                UPDATE message_outbox
+                SET locked_until = now() + make_interval(secs => ?)
+                WHERE id = ? AND status = 'PENDING' AND locked_until = ?
+                RETURNING locked_until
+                """,
+                (rs, rowNum) -> utc(rs.getObject("locked_until", OffsetDateTime.class)),
+                lease.toMillis() / 1000.0, id, lockedUntil.toOffsetDateTime())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean markDone(long id, ZonedDateTime lockedUntil) {
+        return jdbcTemplate.update("""
+                UPDATE message_outbox
+                SET status = 'DONE', processed_at = now(), locked_until = NULL, last_error = NULL
+                WHERE id = ? AND locked_until = ?
+                """, id, lockedUntil.toOffsetDateTime()) > 0;
+    }
+
+    @Override
+    public boolean markFailed(long id, ZonedDateTime lockedUntil, String error, Duration retryAfter,
+            boolean exhausted) {
+        if (exhausted) {
+            return jdbcTemplate.update("""
+                    UPDATE message_outbox
+                    SET status = 'FAILED', processed_at = now(), locked_until = NULL, last_error = ?
+                    WHERE id = ? AND locked_until = ?
+                    """, error, id, lockedUntil.toOffsetDateTime()) > 0;
+        }
+        return jdbcTemplate.update("""
+                UPDATE message_outbox
+                SET locked_until = now() + make_interval(secs => ?), last_error = ?
+                WHERE id = ? AND locked_until = ?
+                """, retryAfter.toMillis() / 1000.0, error, id, lockedUntil.toOffsetDateTime()) > 0;
+    }
+
+    private static ZonedDateTime utc(OffsetDateTime timestamp) {
+        return timestamp.atZoneSameInstant(ZoneOffset.UTC);
+    }
+}
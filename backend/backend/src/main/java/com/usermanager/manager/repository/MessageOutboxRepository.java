@@ -0,0 +1,18 @@
+package com.usermanager.manager.repository;
+
+import java.time.ZonedDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.usermanager.manager.model.message.MessageOutbox;
+
+public interface MessageOutboxRepository extends JpaRepository<MessageOutbox, Long>, MessageOutboxClaimRepository {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MessageOutbox o WHERE o.status <> 'PENDING' AND o.processedAt < :before")
+    int deleteProcessedBefore(ZonedDateTime before);
+}
@@ -3,6 +3,7 @@ package com.usermanager.manager.repository;
 import java.time.ZonedDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -18,6 +19,26 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT m FROM Message m WHERE m.id > :id ORDER BY m.createdAt ASC")
     List<Message> findByIdGreaterThanOrderByCreatedAtAsc(Long id);
 
+    @Query("SELECT m FROM Message m WHERE m.createdAt >= :since ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findCreatedSince(ZonedDateTime since);
+
+    List<Message> findByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    @Query("SELECT m FROM Message m ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findFirstForSync(Limit limit);
+
+    /**
+     * Mensagens depois do cursor (createdAt, id). A comparação por row value
+     * vira um range no índice idx_message_created_at_id.
+     */
+    @Query(value = """
+            SELECT * FROM message m
+            WHERE (m.created_at, m.id) > (:createdAt, :id)
+            ORDER BY m.created_at ASC, m.id ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Message> findAfterCursor(ZonedDateTime createdAt, long id, int limit);
+
     @Modifying
     @Query("DELETE FROM Message m WHERE m.createdAt < :expirationDate")
     int deleteByCreatedAtBefore(ZonedDateTime expirationDate);
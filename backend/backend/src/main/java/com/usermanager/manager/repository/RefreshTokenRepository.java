@@ -1,7 +1,6 @@
 package com.usermanager.manager.repository;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,21 +10,27 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.usermanager.manager.model.security.RefreshToken;
-import com.usermanager.manager.model.user.User;
 
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
-    Optional<RefreshToken> findByToken(String token);
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID>, RefreshTokenRotationRepository {
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
 
-    boolean existsByToken(String token);
-
-    List<RefreshToken> findAllByUserId(Long userId);
-
-    void deleteByUser(User user);
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.used = true WHERE rt.tokenHash = :tokenHash")
+    int markUsed(byte[] tokenHash);
 
-    void deleteByToken(String token);
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.used = true WHERE rt.user.id = :userId AND rt.used = false")
+    int revokeAllByUserId(Long userId);
 
+    /** Um lote da limpeza diária; SKIP LOCKED evita esperar por linhas em uso. */
     @Modifying
     @Transactional
-    @Query("DELETE FROM RefreshToken rt WHERE rt.used = true OR rt.createdAt < :threshold")
-    int deleteAllUsedAndExpired(LocalDateTime threshold);
+    @Query(value = """
+            DELETE FROM refresh_token WHERE id IN (
+                SELECT id FROM refresh_token
+                WHERE used = true OR created_at < :threshold
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int deleteUsedOrCreatedBefore(LocalDateTime threshold, int limit);
 }
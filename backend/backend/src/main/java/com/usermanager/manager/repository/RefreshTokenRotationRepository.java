@@ -0,0 +1,20 @@
+package com.usermanager.manager.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Escritas de refresh token em uma única instrução SQL, indexadas pelo
+ * SHA-256 do token.
+ */
+public interface RefreshTokenRotationRepository {
+
+    /** Grava o token; se o hash já existir, a linha é reaproveitada e volta a valer. */
+    void upsert(long userId, byte[] tokenHash, LocalDateTime createdAt, LocalDateTime expiresAt);
+
+    /**
+     * Marca oldHash como usado e grava newHash na mesma instrução. Retorna
+     * false, sem gravar nada, se oldHash não for um token ativo e não expirado
+     * do usuário.
+     */
+    boolean rotate(long userId, byte[] oldHash, byte[] newHash, LocalDateTime now, LocalDateTime expiresAt);
+}
@@ -0,0 +1,42 @@
+package com.usermanager.manager.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class RefreshTokenRotationRepositoryImpl implements RefreshTokenRotationRepository {
+
+    private static final String UPSERT = """
+            INSERT INTO refresh_token (user_id, token_hash, created_at, expires_at, used)
+            VALUES (?, ?, ?, ?, false)
+            ON CONFLICT (token_hash) DO UPDATE
+            SET user_id = EXCLUDED.user_id, created_at = EXCLUDED.created_at,
+                expires_at = EXCLUDED.expires_at, used = false
+            """;
+
+    private static final String ROTATE = """
+            WITH consumed AS (
+                UPDATE refresh_token SET used = true
+                WHERE token_hash = ? AND user_id = ? AND used = false AND expires_at > ?
+                RETURNING user_id)
+            INSERT INTO refresh_token (user_id, token_hash, created_at, expires_at, used)
+            SELECT user_id, ?, ?, ?, false FROM consumed
+            ON CONFLICT (token_hash) DO UPDATE
+            SET created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at, used = false
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsert(long userId, byte[] tokenHash, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        jdbcTemplate.update(UPSERT, userId, tokenHash, createdAt, expiresAt);
+    }
+
+    @Override
+    public boolean rotate(long userId, byte[] oldHash, byte[] newHash, LocalDateTime now, LocalDateTime expiresAt) {
+        return jdbcTemplate.update(ROTATE, oldHash, userId, now, newHash, now, expiresAt) > 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.usermanager.manager.repository;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Escrita em lote do último login, usada pelo LoginActivityBuffer.
+ */
+public interface UserActivityRepository {
+
+    /**
+     * Atualiza users.last_login de todos os ids em uma instrução por lote.
+     * Um valor mais antigo que o já gravado (outro nó, flush atrasado) é
+     * ignorado.
+     *
+     * @return quantidade de linhas alteradas
+     */
+    int updateLastLogins(Map<Long, Instant> lastLogins);
+}
@@ -0,0 +1,56 @@
+package com.usermanager.manager.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class UserActivityRepositoryImpl implements UserActivityRepository {
+    static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int updateLastLogins(Map<Long, Instant> lastLogins) {
+        int updated = 0;
+        List<Object> args = new ArrayList<>(MAX_ROWS_PER_STATEMENT * 2);
+        for (Map.Entry<Long, Instant> entry : lastLogins.entrySet()) {
+            args.add(entry.getKey());
+            args.add(Timestamp.from(entry.getValue()));
+            if (args.size() == MAX_ROWS_PER_STATEMENT * 2) {
+                updated += update(args);
+                args.clear();
+            }
+        }
+        if (!args.isEmpty()) {
+            updated += update(args);
+        }
+        return updated;
+    }
+
+    private int update(List<Object> args) {
+        String sql = """
+                UPDATE users u SET last_login = v.last_login
+                FROM (VALUES %s) AS v(id, last_login)
+                WHERE u.id = v.id AND (u.last_login IS NULL OR u.last_login < v.last_login)
+                """.formatted(values(args.size() / 2, "(?::bigint, ?::timestamptz)"));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    static String values(int rows, String row) {
+        StringBuilder values = new StringBuilder(rows * (row.length() + 2));
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                values.append(", ");
+            }
+            values.append(row);
+        }
+        return values.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.usermanager.manager.repository;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,7 +11,7 @@ import com.usermanager.manager.enums.Status;
 import com.usermanager.manager.enums.Subscription;
 import com.usermanager.manager.model.user.User;
 
-public interface UserRepository extends JpaRepository<User, Long>{
+public interface UserRepository extends JpaRepository<User, Long>, UserActivityRepository {
 
     Optional<UserDetails> findByLogin(String login);
 
@@ -21,4 +22,14 @@ public interface UserRepository extends JpaRepository<User, Long>{
     List<User> findAllBySubscription(Subscription subscription);
 
     List<User> findAllByStatus(Status status);
+
+    List<SecurityVersionView> findBySecurityVersionChangedAtAfter(ZonedDateTime since);
+
+    interface SecurityVersionView {
+        Long getId();
+
+        int getSecurityVersion();
+
+        ZonedDateTime getSecurityVersionChangedAt();
+    }
 }
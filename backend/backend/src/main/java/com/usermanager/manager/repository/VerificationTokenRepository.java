@@ -19,8 +19,15 @@ public interface VerificationTokenRepository extends JpaRepository<VerificationT
     Optional<VerificationToken> findByUserMostRecent(User user);
 
 
+    /** Um lote da limpeza diária; SKIP LOCKED evita esperar por linhas em uso. */
     @Modifying
     @Transactional
-    @Query("DELETE FROM VerificationToken vt WHERE vt.activated = true OR vt.creationDate < :threshold")
-    void deleteAllActivatedAndExpired(Instant threshold);
+    @Query(value = """
+            DELETE FROM verification_token WHERE uuid IN (
+                SELECT uuid FROM verification_token
+                WHERE activated = true OR creation_date < :threshold
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int deleteActivatedOrCreatedBefore(Instant threshold, int limit);
 }
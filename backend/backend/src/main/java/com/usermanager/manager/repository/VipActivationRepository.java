@@ -3,12 +3,23 @@ package com.usermanager.manager.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.usermanager.manager.model.VipActivation.VipActivation;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 public interface VipActivationRepository extends JpaRepository<VipActivation, Long> {
 
     VipActivation findFirstByProcessedFalseOrderByCreationDateAsc();
 
+    /**
+     * Trava as ativações pendentes com FOR UPDATE SKIP LOCKED: webhooks
+     * processados em paralelo não aplicam a mesma ativação duas vezes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
     List<VipActivation> findAllByProcessedFalseOrderByCreationDateAsc();
 }
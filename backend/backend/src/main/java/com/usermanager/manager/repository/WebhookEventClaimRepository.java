@@ -0,0 +1,51 @@
+package com.usermanager.manager.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.usermanager.manager.dto.payment.ClaimedWebhookEvent;
+import com.usermanager.manager.dto.payment.DeadLetterWebhookEvent;
+
+/**
+ * Reserva e encerramento de eventos de webhook com SQL específico do Postgres
+ * (UPDATE ... RETURNING com FOR UPDATE SKIP LOCKED), para que várias threads e
+ * réplicas dividam a fila sem processar o mesmo evento.
+ */
+public interface WebhookEventClaimRepository {
+
+    /**
+     * Grava um evento PENDING para resourceId, a menos que já exista um
+     * pendente para o mesmo recurso (INSERT ... ON CONFLICT DO NOTHING).
+     * Retorna o id gravado, ou vazio quando a notificação era duplicada.
+     */
+    Optional<Long> insertPendingIfAbsent(String resourceId, String payloadJson);
+
+    /**
+     * Reserva por lease até limit eventos pendentes cujo next_attempt_at já
+     * passou. Linhas travadas por outro worker são puladas, e uma reserva cujo
+     * lease venceu pode ser retomada.
+     */
+    List<ClaimedWebhookEvent> claim(int limit, Duration lease);
+
+    /**
+     * Marca o evento como PROCESSED se ele ainda estiver pendente. Deve rodar na
+     * mesma transação dos efeitos do evento: retorna 0 quando outro worker já o
+     * concluiu, e nesse caso os efeitos não devem ser aplicados.
+     */
+    int markProcessed(long id);
+
+    /** Agenda nova tentativa para daqui a retryAfter, ou encerra o evento como ERROR. */
+    void markFailed(long id, String error, Duration retryAfter, boolean exhausted);
+
+    /** Página da dead letter em ordem de id, a partir de afterId (exclusivo). */
+    List<DeadLetterWebhookEvent> findDeadLetters(long afterId, int limit);
+
+    /**
+     * Devolve eventos em ERROR para a fila com as tentativas zeradas; ids vazio
+     * devolve todos. Só o evento mais recente de cada resource_id volta, e
+     * nenhum volta se o recurso já tiver um evento pendente.
+     */
+    int replayDeadLetters(Collection<Long> ids);
+}
@@ -0,0 +1,138 @@
+package com.usermanager.manager.repository;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.usermanager.manager.dto.payment.ClaimedWebhookEvent;
+import com.usermanager.manager.dto.payment.DeadLetterWebhookEvent;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class WebhookEventClaimRepositoryImpl implements WebhookEventClaimRepository {
+
+    private static final String CLAIM = """
+            UPDATE webhook_events e
+            SET locked_until = now() + make_interval(secs => ?)
+            WHERE e.id IN (
+                SELECT id FROM webhook_events
+                WHERE event_status = 'PENDING' AND next_attempt_at <= now()
+                  AND (locked_until IS NULL OR locked_until < now())
+                ORDER BY next_attempt_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING e.id, e.payload_json, e.retry_count, e.received_at
+            """;
+
+    private static final String INSERT_PENDING = """
+            INSERT INTO webhook_events
+                (resource_id, payload_json, event_status, received_at, processed_at, retry_count, next_attempt_at)
+            VALUES (?, ?, 'PENDING', now(), NULL, 0, now())
+            ON CONFLICT (resource_id) WHERE event_status = 'PENDING' DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String REPLAY = """
+            UPDATE webhook_events e
+            SET event_status = 'PENDING', retry_count = 0, next_attempt_at = now(),
+                locked_until = NULL, processed_at = NULL, last_error = NULL
+            WHERE e.id IN (
+                SELECT DISTINCT ON (COALESCE(d.resource_id, d.id::text)) d.id
+                FROM webhook_events d
+                WHERE d.event_status = 'ERROR' AND (? OR d.id = ANY (?))
+                  AND NOT EXISTS (
+                      SELECT 1 FROM webhook_events p
+                      WHERE p.resource_id = d.resource_id AND p.event_status = 'PENDING')
+                ORDER BY COALESCE(d.resource_id, d.id::text), d.id DESC)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Long> insertPendingIfAbsent(String resourceId, String payloadJson) {
+        List<Long> ids = jdbcTemplate.queryForList(INSERT_PENDING, Long.class, resourceId, payloadJson);
+        return ids.stream().findFirst();
+    }
+
+    @Override
+    public List<ClaimedWebhookEvent> claim(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM,
+                (rs, rowNum) -> new ClaimedWebhookEvent(
+                        rs.getLong("id"),
+                        rs.getString("payload_json"),
+                        rs.getInt("retry_count"),
+                        rs.getObject("received_at", OffsetDateTime.class).atZoneSameInstant(ZoneOffset.UTC)),
+                lease.toMillis() / 1000.0, limit);
+    }
+
+    @Override
+    public int markProcessed(long id) {
+        return jdbcTemplate.update("""
+                UPDATE webhook_events
+                SET event_status = 'PROCESSED', processed_at = now(), locked_until = NULL, last_error = NULL
+                WHERE id = ? AND event_status = 'PENDING'
+                """, id);
+    }
+
+    @Override
+    public void markFailed(long id, String error, Duration retryAfter, boolean exhausted) {
+        if (exhausted) {
+            jdbcTemplate.update("""
+                    UPDATE webhook_events
+                    SET event_status = 'ERROR', retry_count = retry_count + 1, locked_until = NULL,
+                        processed_at = now(), last_error = ?
+                    WHERE id = ? AND event_status = 'PENDING'
+                    """, error, id);
+            return;
+        }
+        jdbcTemplate.update("""
+                UPDATE webhook_events
+                SET retry_count = retry_count + 1, locked_until = NULL,
+                    next_attempt_at = now() + make_interval(secs => ?), last_error = ?
+                WHERE id = ? AND event_status = 'PENDING'
+                """, retryAfter.toMillis() / 1000.0, error, id);
+    }
+
+    @Override
+    public List<DeadLetterWebhookEvent> findDeadLetters(long afterId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT id, resource_id, retry_count, last_error, received_at, failed_at
+                FROM webhook_events_dead_letter
+                WHERE id > ?
+                ORDER BY id
+                LIMIT ?
+                """,
+                (rs, rowNum) -> new DeadLetterWebhookEvent(
+                        rs.getLong("id"),
+                        rs.getString("resource_id"),
+                        rs.getInt("retry_count"),
+                        rs.getString("last_error"),
+                        toZoned(rs.getObject("received_at", OffsetDateTime.class)),
+                        toZoned(rs.getObject("failed_at", OffsetDateTime.class))),
+                afterId, limit);
+    }
+
+    @Override
+    public int replayDeadLetters(Collection<Long> ids) {
+        boolean all = ids == null || ids.isEmpty();
+        Long[] selected = all ? new Long[0] : ids.toArray(Long[]::new);
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(REPLAY);
+            statement.setBoolean(1, all);
+            statement.setArray(2, connection.createArrayOf("bigint", selected));
+            return statement;
+        });
+    }
+
+    private static ZonedDateTime toZoned(OffsetDateTime value) {
+        return value != null ? value.atZoneSameInstant(ZoneOffset.UTC) : null;
+    }
+}
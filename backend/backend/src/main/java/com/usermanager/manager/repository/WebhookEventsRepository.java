@@ -7,7 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import com.usermanager.manager.model.webhook.WebhookEvent;
 import com.usermanager.manager.model.webhook.enums.EventStatus;
 
-public interface WebhookEventsRepository extends JpaRepository<WebhookEvent, Long>{
+public interface WebhookEventsRepository extends JpaRepository<WebhookEvent, Long>, WebhookEventClaimRepository {
 
     List<WebhookEvent> findByStatusAndRetryCountLessThan(EventStatus status, Integer retryCount);
 }
@@ -1,18 +1,14 @@
 package com.usermanager.manager.service.auth;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.context.annotation.Lazy;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -28,9 +24,10 @@ import com.usermanager.manager.enums.Status;
 import com.usermanager.manager.exception.authentication.PasswordFormatNotValidException;
 import com.usermanager.manager.exception.user.UserExistsException;
 import com.usermanager.manager.exception.user.UserNotEnabledException;
+import com.usermanager.manager.infra.activity.LoginActivityBuffer;
 import com.usermanager.manager.infra.mail.MailService;
+import com.usermanager.manager.infra.security.password.PasswordHashingService;
 import com.usermanager.manager.infra.service.NotificationService;
-import com.usermanager.manager.model.security.RefreshToken;
 import com.usermanager.manager.model.security.TokenProvider;
 import com.usermanager.manager.model.user.User;
 import com.usermanager.manager.model.verification.VerificationToken;
@@ -51,28 +48,28 @@ public class AuthService implements UserDetailsService {
 
     private final UserService userService;
     private final TokenProvider tokenProvider;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final VerificationTokenService verificationService;
     private final MailService mailService;
     private final RefreshTokenService refreshTokenService;
     private final SubscriptionService subscriptionService;
     private final NotificationService notificationService;
-    private AuthenticationManager authenticationManager;
+    private final LoginActivityBuffer loginActivityBuffer;
 
-    public AuthService(UserService userService, @Lazy AuthenticationManager authenticationManager,
-            TokenProvider tokenProvider, PasswordEncoder passwordEncoder,
+    public AuthService(UserService userService,
+            TokenProvider tokenProvider, PasswordHashingService passwordHashingService,
             VerificationTokenService verificationService, MailService mailService,
             RefreshTokenService refreshTokenService, SubscriptionService subscriptionService,
-            NotificationService notificationService) {
+            NotificationService notificationService, LoginActivityBuffer loginActivityBuffer) {
         this.userService = userService;
-        this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.verificationService = verificationService;
         this.mailService = mailService;
         this.refreshTokenService = refreshTokenService;
         this.subscriptionService = subscriptionService;
         this.notificationService = notificationService;
+        this.loginActivityBuffer = loginActivityBuffer;
     }
 
     @Override
@@ -101,11 +98,11 @@ public class AuthService implements UserDetailsService {
         if (userOptional.isPresent()) {
             user = userOptional.get();
             user.setName(dto.name());
-            user.setPassword(passwordEncoder.encode(dto.password()));
+            user.setPassword(passwordHashingService.encode(dto.password()));
             user.setUpdatedAt(ZonedDateTime.now());
             user = userService.save(user); // use save para update
         } else {
-            String encryptedPassword = passwordEncoder.encode(dto.password());
+            String encryptedPassword = passwordHashingService.encode(dto.password());
             log.info("tentando registro para {}", dto.login());
             user = userService.save(new User(dto.name(), dto.login(), encryptedPassword));
         }
@@ -119,7 +116,11 @@ public class AuthService implements UserDetailsService {
         return new UserCreatedDTO(user);
     }
 
-    @Transactional
+    /**
+     * Sem transação própria: a busca do usuário e a espera pelo hash não podem
+     * segurar uma conexão do pool enquanto o executor password está ocupado.
+     * As escritas (rehash e refresh token) abrem cada uma a sua transação curta.
+     */
     public TokensDTO login(@Valid AuthenticationDTO data) {
         log.info("login attempt by {}", data.login());
 
@@ -130,18 +131,21 @@ public class AuthService implements UserDetailsService {
             throw new UserNotEnabledException("Please activate the email " + user.getLogin());
         }
 
-        var usernamePassword = new UsernamePasswordAuthenticationToken(data.login(), data.password());
-
-        if (!passwordEncoder.matches(data.password(), user.getPassword())) {
+        // Uma única verificação de hash, no executor password; o AuthenticationManager
+        // repetiria o mesmo bcrypt
+        if (!passwordHashingService.matches(data.password(), user.getPassword())) {
             throw new BadCredentialsException("Bad credentials: verify login or password.");
         }
 
-        user.setLastLogin(ZonedDateTime.now());
-        userService.save(user);
+        passwordHashingService.rehashIfNeeded(data.password(), user.getPassword()).ifPresent(hash -> {
+            user.setPassword(hash);
+            userService.save(user);
+        });
+        // last_login vai pelo buffer em lote; o login só grava o refresh token
+        loginActivityBuffer.recordLogin(user.getId(), Instant.now());
 
-        Authentication auth = authenticationManager.authenticate(usernamePassword);
         log.info("user {} sucessfully authenticated", data.login());
-        String acessToken = tokenProvider.generateToken((User) auth.getPrincipal());
+        String acessToken = tokenProvider.generateToken(user);
         String refreshToken = refreshTokenService.createRefreshToken(user);
         log.info("user {} sucessfully generated refresh token", data.login());
         return new TokensDTO(acessToken, refreshToken);
@@ -149,14 +153,14 @@ public class AuthService implements UserDetailsService {
 
     @Transactional
     public TokensDTO refreshToken(@NotBlank String token) {
-        log.info("refresh token attempt by {}", token);
-        RefreshToken refreshToken = refreshTokenService.findByToken(token);
+        // Assinatura e exp do JWT são conferidos antes de qualquer consulta
+        User user = userService.findUserByLogin(tokenProvider.validateToken(token));
+        log.info("refresh token attempt by {}", user.getLogin());
 
-        String accessToken = tokenProvider.generateToken(refreshToken.getUser());
-        String newRefreshToken = refreshTokenService.createRefreshToken(refreshToken.getUser());
+        String newRefreshToken = refreshTokenService.rotate(token, user);
+        String accessToken = tokenProvider.generateToken(user);
 
-        refreshTokenService.invalidateToken(token);
-        log.info("user {} sucessfully generated refresh token", refreshToken.getUser().getLogin());
+        log.info("user {} sucessfully generated refresh token", user.getLogin());
         return new TokensDTO(accessToken, newRefreshToken);
     }
 
@@ -200,9 +204,11 @@ public class AuthService implements UserDetailsService {
         log.info("user {} has requested a password change.", user.getLogin());
 
         // Updates password and saves it
-        user.setPassword(passwordEncoder.encode(data.newPassword()));
+        user.setPassword(passwordHashingService.encode(data.newPassword()));
+        user.bumpSecurityVersion();
         user.setUpdatedAt(ZonedDateTime.now());
         userService.save(user);
+        refreshTokenService.revokeAll(user.getId());
         log.info("user {} has changed password", user.getLogin());
 
         // Updates verificationToken to set it as activated/enabled
@@ -240,9 +246,11 @@ public class AuthService implements UserDetailsService {
         userService.save(user);
 
         var verificationToken = verificationService.findVerificationByUser(user);
-        user.setPassword(passwordEncoder.encode(data.password()));
+        user.setPassword(passwordHashingService.encode(data.password()));
+        user.bumpSecurityVersion();
         user.setUpdatedAt(ZonedDateTime.now());
         userService.save(user);
+        refreshTokenService.revokeAll(user.getId());
         verificationToken.setActivationDate(ZonedDateTime.now().toInstant());
         verificationToken.setActivated(true);
         verificationService.saveVerificationToken(verificationToken);
@@ -1,5 +1,6 @@
 package com.usermanager.manager.service.auth;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +10,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.usermanager.manager.exception.authentication.TokenInvalidException;
 import com.usermanager.manager.exception.authentication.TokenNotFoundException;
+import com.usermanager.manager.infra.retention.RetentionEngine;
+import com.usermanager.manager.infra.security.token.TokenHashes;
 import com.usermanager.manager.model.security.RefreshToken;
 import com.usermanager.manager.model.security.TokenProvider;
 import com.usermanager.manager.model.user.User;
@@ -19,72 +22,90 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Slf4j
 public class RefreshTokenService {
+    private static final Duration REFRESH_TOKEN_TTL = Duration.ofDays(7);
+
     @Value("${api.security.token.refresh.expiration}")
     private long expirationTime;
     private final RefreshTokenRepository refreshTokenRepository;
     private final TokenProvider tokenProvider;
+    private final RetentionEngine retentionEngine;
 
-    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, TokenProvider tokenProvider) {
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, TokenProvider tokenProvider,
+            RetentionEngine retentionEngine) {
         this.refreshTokenRepository = refreshTokenRepository;
         this.tokenProvider = tokenProvider;
+        this.retentionEngine = retentionEngine;
     }
 
     @Scheduled(cron = "@midnight")
     public void deleteAllActivatedAndExpired() {
         var sevenDays = LocalDateTime.now().minusDays(7);
-        int deletedCount = refreshTokenRepository.deleteAllUsedAndExpired(sevenDays);
-
-        log.info("deleted counter: {}", deletedCount);
-        log.info("RefreshTokenService cron job delete all used and Expired.");
-
+        retentionEngine.run("refresh_token",
+                limit -> refreshTokenRepository.deleteUsedOrCreatedBefore(sevenDays, limit));
     }
 
     @Transactional
     public String createRefreshToken(User user) {
-        // refreshTokenRepository.deleteByUser(user);
-
-        String token = tokenProvider.generateToken(user, expirationTime);
-        if (token == null) {
-            throw new TokenNotFoundException("Failed to generate refresh token");
-        }
+        String token = generateToken(user);
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.upsert(user.getId(), TokenHashes.sha256(token), now, now.plus(REFRESH_TOKEN_TTL));
+        return token;
+    }
 
-        RefreshToken refreshToken = new RefreshToken(user, token);
-        if (existsByToken(token)) {
-            refreshTokenRepository.deleteByToken(token);
+    /**
+     * Troca o refresh token do usuário: o antigo é marcado como usado e o novo
+     * gravado na mesma instrução, sem carregar a linha antiga.
+     */
+    @Transactional
+    public String rotate(String oldToken, User user) {
+        String token = generateToken(user);
+        byte[] oldHash = TokenHashes.sha256(oldToken);
+        LocalDateTime now = LocalDateTime.now();
+        if (!refreshTokenRepository.rotate(user.getId(), oldHash, TokenHashes.sha256(token), now,
+                now.plus(REFRESH_TOKEN_TTL))) {
+            throw rejection(oldHash, user, now);
         }
-
-        return refreshTokenRepository.save(refreshToken).getToken();
+        return token;
     }
 
     @Transactional
     public boolean invalidateToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token).orElseThrow(
-                () -> new TokenNotFoundException("Refresh Token not found"));
-
-        refreshToken.setUsed(true);
-        refreshTokenRepository.save(refreshToken);
+        if (refreshTokenRepository.markUsed(TokenHashes.sha256(token)) == 0) {
+            throw new TokenNotFoundException("Refresh Token not found");
+        }
         return true;
     }
 
+    /** Encerra todas as sessões do usuário; os access tokens já emitidos valem até expirar. */
     @Transactional
-    public boolean existsByToken(String token) {
-        return refreshTokenRepository.existsByToken(token);
+    public int revokeAll(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllByUserId(userId);
+        log.info("{} refresh tokens revoked for user id {}", revoked, userId);
+        return revoked;
     }
 
-    @Transactional
-    public RefreshToken findByToken(String token) {
-        var refreshToken = refreshTokenRepository.findByToken(token).orElseThrow(
-                () -> new TokenNotFoundException("Refresh Token not found"));
+    private String generateToken(User user) {
+        String token = tokenProvider.generateToken(user, expirationTime);
+        if (token == null) {
+            throw new TokenNotFoundException("Failed to generate refresh token");
+        }
+        return token;
+    }
 
+    // Só no caminho de erro: descobre por que a rotação não encontrou o token
+    private RuntimeException rejection(byte[] oldHash, User user, LocalDateTime now) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(oldHash).orElse(null);
+        if (refreshToken == null) {
+            return new TokenNotFoundException("Refresh Token not found");
+        }
         if (Boolean.TRUE.equals(refreshToken.getUsed())) {
-            log.warn("Attempt to use an already used refresh token for user: {}", refreshToken.getUser().getLogin());
-            throw new TokenInvalidException("Refresh Token already used. Please login again");
+            log.warn("Attempt to use an already used refresh token for user: {}", user.getLogin());
+            return new TokenInvalidException("Refresh Token already used. Please login again");
         }
-
-        if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new TokenInvalidException("Refresh Token expired");
-        }   
-
-        return refreshToken;
+        if (!refreshToken.getExpiresAt().isAfter(now)) {
+            return new TokenInvalidException("Refresh Token expired");
+        }
+        log.warn("Refresh token presented for a different user: {}", user.getLogin());
+        return new TokenInvalidException("Refresh Token invalid. Please login again");
     }
 }
@@ -12,11 +12,12 @@ import org.springframework.validation.annotation.Validated;
 import com.usermanager.manager.enums.Status;
 import com.usermanager.manager.exception.authentication.TokenInvalidException;
 import com.usermanager.manager.exception.authentication.TokenNotFoundException;
+import com.usermanager.manager.infra.retention.RetentionEngine;
 import com.usermanager.manager.model.user.User;
 import com.usermanager.manager.model.verification.VerificationToken;
 import com.usermanager.manager.model.verification.enums.TokenType;
-import com.usermanager.manager.repository.UserRepository;
 import com.usermanager.manager.repository.VerificationTokenRepository;
+import com.usermanager.manager.service.user.UserService;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -30,19 +31,21 @@ import lombok.extern.slf4j.Slf4j;
 public class VerificationTokenService {
 
     private final VerificationTokenRepository verificationRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final RetentionEngine retentionEngine;
 
-    public VerificationTokenService(VerificationTokenRepository tokenRepository, UserRepository userRepository) {
+    public VerificationTokenService(VerificationTokenRepository tokenRepository, UserService userService,
+            RetentionEngine retentionEngine) {
         this.verificationRepository = tokenRepository;
-        this.userRepository = userRepository;
+        this.userService = userService;
+        this.retentionEngine = retentionEngine;
     }
 
     @Scheduled(cron = "@midnight")
-    @Transactional
     public void cleanUsedTokens() {
         Instant date = Instant.now().minusSeconds(86400);
-        verificationRepository.deleteAllActivatedAndExpired(date);
-        log.info("VerificationToken database cleaning.");
+        retentionEngine.run("verification_token",
+                limit -> verificationRepository.deleteActivatedOrCreatedBefore(date, limit));
     }
 
     @Transactional
@@ -70,7 +73,7 @@ public class VerificationTokenService {
         User user = verificationToken.getUser();
         user.setEnabled(true);
         user.setStatus(Status.ACTIVE);
-        userRepository.save(user);
+        userService.save(user);
 
         verificationToken.setActivationDate(ZonedDateTime.now().toInstant());
         verificationToken.setActivated(true);
@@ -3,12 +3,16 @@ package com.usermanager.manager.service.device;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 
 import com.google.firebase.database.annotations.NotNull;
 import com.usermanager.manager.dto.device.RegisterDeviceRequest;
+import com.usermanager.manager.dto.notification.PushRecipient;
 import com.usermanager.manager.enums.Platform;
+import com.usermanager.manager.enums.Status;
+import com.usermanager.manager.infra.activity.LoginActivityBuffer;
 import com.usermanager.manager.model.device.Device;
 import com.usermanager.manager.model.user.User;
 import com.usermanager.manager.repository.DeviceRepository;
@@ -28,15 +32,24 @@ import org.springframework.validation.annotation.Validated;
 public class DeviceService {
     private final DeviceRepository deviceRepository;
     private final UserService userService;
+    private final LoginActivityBuffer loginActivityBuffer;
 
     @Transactional
     public void registerDevice(@NotNull @Positive Long userId, @Valid RegisterDeviceRequest request) {
         log.info("Registrando device para userId={} | token={} | plataforma={}", userId, request.token(), request.platform());
 
-        User user = userService.findById(userId);
-
         Optional<Device> existingDevice = deviceRepository.findByPushToken(request.token());
 
+        // Device já ativo do mesmo usuário: só o último uso muda, e ele vai pelo buffer em lote
+        if (existingDevice.isPresent() && existingDevice.get().isActive()
+                && existingDevice.get().getUser() != null
+                && userId.equals(existingDevice.get().getUser().getId())) {
+            loginActivityBuffer.touchDevice(request.token(), LocalDateTime.now());
+            return;
+        }
+
+        User user = userService.findById(userId);
+
         if (existingDevice.isPresent()) {
             Device device = existingDevice.get();
             log.info("Device já existe para token={}, atualizando usuário e data de uso", request.token());
@@ -65,4 +78,35 @@ public class DeviceService {
         log.debug("Buscando devices para os usuários: {}", usersIds);
         return deviceRepository.findAllByUserIdIn(usersIds);
     }
+
+    /**
+     * Percorre os devices ativos de usuários ativos em páginas por keyset
+     * (user_id, push_token), entregando cada página ao consumidor antes de
+     * buscar a próxima. Nenhuma página fica retida depois de consumida.
+     *
+     * @return quantidade total de destinatários percorridos
+     */
+    public long forEachActiveRecipientPage(@Positive int pageSize, Consumer<List<PushRecipient>> consumer) {
+        long total = 0;
+        long afterUserId = 0L;
+        String afterToken = "";
+
+        while (true) {
+            List<PushRecipient> page = deviceRepository.findRecipientsAfter(
+                    Status.ACTIVE, afterUserId, afterToken, pageSize);
+            if (page.isEmpty()) {
+                return total;
+            }
+
+            consumer.accept(page);
+            total += page.size();
+
+            if (page.size() < pageSize) {
+                return total;
+            }
+            PushRecipient last = page.get(page.size() - 1);
+            afterUserId = last.userId();
+            afterToken = last.pushToken();
+        }
+    }
 }
@@ -1,12 +1,15 @@
 package com.usermanager.manager.service.message;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.usermanager.manager.dto.message.CreateMessage;
 import com.usermanager.manager.dto.message.MessageDTO;
+import com.usermanager.manager.dto.message.MessageListVersion;
+import com.usermanager.manager.dto.message.MessageSyncResponse;
 
 public interface MessageService {
     public MessageDTO createMessage(CreateMessage request);
@@ -14,4 +17,8 @@ public interface MessageService {
     public List<MessageDTO> findAfterIdOrdered(Long afterId);
 
     public Page<MessageDTO> findAllPaged(Pageable pageable);
+
+    public MessageSyncResponse sync(String cursor, int size);
+
+    public Optional<MessageListVersion> currentVersion();
 }
@@ -0,0 +1,326 @@
+package com.usermanager.manager.service.message;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.usermanager.manager.dto.message.MessageDTO;
+import com.usermanager.manager.dto.message.MessageListVersion;
+import com.usermanager.manager.dto.message.MessageSyncCursor;
+import com.usermanager.manager.repository.MessageRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cópia em memória das mensagens vivas (no máximo 13 horas), ordenadas por
+ * (created_at, id). Leituras pegam o snapshot atual sem lock; escritas montam
+ * um novo array e trocam a referência. Enquanto o snapshot não estiver
+ * completo as consultas caem para o banco.
+ *
+ * Mensagens de outras instâncias chegam pelo reconcile, que relê uma janela
+ * de created_at com margem (message.store.reconcile-overlap): ids gerados por
+ * BIGSERIAL podem ser confirmados fora de ordem, então o maior id visto não
+ * serve de cursor. A cada message.store.reload-interval a janela inteira é
+ * recarregada, o que corrige qualquer diferença e devolve o snapshot a
+ * completo depois de um estouro de capacidade.
+ */
+@Component
+@Slf4j
+public class RecentMessageStore {
+    public static final Comparator<MessageDTO> ORDER = Comparator
+            .comparing((MessageDTO m) -> m.created_at().toInstant())
+            .thenComparing(MessageDTO::id);
+
+    private static final Snapshot EMPTY = new Snapshot(new MessageDTO[0], false, 0L, null);
+
+    private final MessageRepository messageRepository;
+    private final int capacity;
+    private final Duration reconcileOverlap;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = EMPTY;
+    /** Mensagens anexadas enquanto um reload lê o banco; null fora do reload. */
+    private List<MessageDTO> appendedDuringReload;
+
+    public RecentMessageStore(MessageRepository messageRepository,
+            @Value("${message.store.capacity:10000}") int capacity,
+            @Value("${message.store.reconcile-overlap:1m}") Duration reconcileOverlap) {
+        this.messageRepository = messageRepository;
+        this.capacity = Math.max(1, capacity);
+        this.reconcileOverlap = reconcileOverlap;
+    }
+
+    /**
+     * Snapshot imutável. complete indica que o array contém todas as
+     * mensagens do banco a partir da mais antiga retida. rewrittenAt marca a
+     * última mudança que o created_at da mensagem mais nova não reflete:
+     * remoções e inserções fora do fim.
+     */
+    record Snapshot(MessageDTO[] messages, boolean complete, long maxId, Instant rewrittenAt) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        reload();
+        log.info("RecentMessageStore aquecido com {} mensagens", snapshot.messages().length);
+    }
+
+    /**
+     * Substitui o snapshot pela janela atual do banco. Só a recarga define o
+     * snapshot como completo de novo depois de um estouro.
+     */
+    @Scheduled(initialDelayString = "${message.store.reload-interval:5m}",
+            fixedDelayString = "${message.store.reload-interval:5m}")
+    public void reload() {
+        writeLock.lock();
+        try {
+            appendedDuringReload = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        List<MessageDTO> loaded;
+        try {
+            loaded = messageRepository.findByOrderByCreatedAtDescIdDesc(Limit.of(capacity + 1))
+                    .stream()
+                    .map(MessageDTO::new)
+                    .toList();
+        } catch (RuntimeException e) {
+            writeLock.lock();
+            try {
+                appendedDuringReload = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw e;
+        }
+
+        writeLock.lock();
+        try {
+            List<MessageDTO> merged = new ArrayList<>(loaded.subList(0, Math.min(loaded.size(), capacity)));
+            merged.sort(ORDER);
+            // Mensagens anexadas durante a leitura continuam valendo.
+            for (MessageDTO appended : appendedDuringReload) {
+                int position = Collections.binarySearch(merged, appended, ORDER);
+                if (position < 0) {
+                    merged.add(-position - 1, appended);
+                }
+            }
+            appendedDuringReload = null;
+
+            boolean complete = loaded.size() <= capacity && merged.size() <= capacity;
+            int from = Math.max(0, merged.size() - capacity);
+            MessageDTO[] reloaded = merged.subList(from, merged.size()).toArray(MessageDTO[]::new);
+            // Sem como saber o que mudou, qualquer diferença depois do
+            // aquecimento conta como reescrita.
+            publish(reloaded, complete, snapshot != EMPTY && !sameContent(snapshot.messages(), reloaded));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Anexa a mensagem quando a transação corrente confirmar, para nunca expor
+     * uma linha que acabou em rollback.
+     */
+    public void appendAfterCommit(MessageDTO message) {
+        afterCommit(() -> append(message));
+    }
+
+    /**
+     * Remove as mensagens antigas quando a transação da limpeza confirmar: se
+     * o DELETE voltar atrás, o snapshot completo não pode ter perdido linhas
+     * que continuam no banco.
+     */
+    public void evictAfterCommit(ZonedDateTime cutoff) {
+        afterCommit(() -> evictBefore(cutoff));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public void append(MessageDTO message) {
+        writeLock.lock();
+        try {
+            if (appendedDuringReload != null) {
+                appendedDuringReload.add(message);
+            }
+            MessageDTO[] current = snapshot.messages();
+            int position = Arrays.binarySearch(current, message, ORDER);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            boolean full = current.length >= capacity;
+            if (full && insertAt == 0) {
+                // Mais antiga que tudo o que cabe: fica só no banco.
+                publish(current, false, false);
+                return;
+            }
+            int drop = full ? 1 : 0;
+
+            MessageDTO[] next = new MessageDTO[current.length + 1 - drop];
+            System.arraycopy(current, drop, next, 0, insertAt - drop);
+            next[insertAt - drop] = message;
+            System.arraycopy(current, insertAt, next, insertAt - drop + 1, current.length - insertAt);
+            publish(next, snapshot.complete() && !full, full || insertAt < current.length);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Remove as mensagens criadas antes do corte, espelhando a limpeza do banco. */
+    public void evictBefore(ZonedDateTime cutoff) {
+        writeLock.lock();
+        try {
+            MessageDTO[] current = snapshot.messages();
+            int from = 0;
+            while (from < current.length && current[from].created_at().isBefore(cutoff)) {
+                from++;
+            }
+            if (from > 0) {
+                publish(Arrays.copyOfRange(current, from, current.length), snapshot.complete(), true);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Traz mensagens gravadas por outras instâncias da aplicação, que não
+     * passam pelo append local. Relê desde a mensagem mais nova retida menos a
+     * margem, o que cobre linhas confirmadas depois de outras mais novas;
+     * as já presentes são ignoradas pelo append.
+     */
+    @Scheduled(fixedDelayString = "${message.store.reconcile-interval:5s}")
+    public void reconcile() {
+        Snapshot current = snapshot;
+        if (current == EMPTY) {
+            return;
+        }
+        MessageDTO[] messages = current.messages();
+        ZonedDateTime newest = messages.length > 0
+                ? messages[messages.length - 1].created_at()
+                : ZonedDateTime.now();
+        messageRepository.findCreatedSince(newest.minus(reconcileOverlap)).stream()
+                .map(MessageDTO::new)
+                .forEach(this::append);
+    }
+
+    /**
+     * Versão do conteúdo retido, usada como validador de requisições
+     * condicionais. Vazio enquanto o snapshot estiver incompleto.
+     */
+    public Optional<MessageListVersion> version() {
+        Snapshot current = snapshot;
+        if (!current.complete()) {
+            return Optional.empty();
+        }
+        MessageDTO[] messages = current.messages();
+        if (messages.length == 0) {
+            return Optional.of(new MessageListVersion(0L, 0L, 0, current.rewrittenAt()));
+        }
+        Instant newest = messages[messages.length - 1].created_at().toInstant();
+        Instant rewrittenAt = current.rewrittenAt();
+        return Optional.of(new MessageListVersion(current.maxId(), messages[0].id(), messages.length,
+                rewrittenAt != null && rewrittenAt.isAfter(newest) ? rewrittenAt : newest));
+    }
+
+    /** Todas as mensagens retidas, ou vazio se o snapshot estiver incompleto. */
+    public Optional<List<MessageDTO>> all() {
+        Snapshot current = snapshot;
+        if (!current.complete()) {
+            return Optional.empty();
+        }
+        return Optional.of(view(current.messages(), 0, current.messages().length));
+    }
+
+    /** Mensagens com id maior que afterId em ordem de criação, ou vazio se for preciso ir ao banco. */
+    public Optional<List<MessageDTO>> afterId(long afterId) {
+        Snapshot current = snapshot;
+        if (!current.complete()) {
+            return Optional.empty();
+        }
+        List<MessageDTO> result = new ArrayList<>();
+        for (MessageDTO message : current.messages()) {
+            if (message.id() > afterId) {
+                result.add(message);
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Até limit mensagens depois do cursor (ou desde o início quando nulo), ou
+     * vazio se for preciso ir ao banco.
+     */
+    public Optional<List<MessageDTO>> afterCursor(MessageSyncCursor cursor, int limit) {
+        Snapshot current = snapshot;
+        MessageDTO[] messages = current.messages();
+        int from = 0;
+        if (cursor != null) {
+            MessageDTO probe = new MessageDTO(cursor.id(), null, cursor.createdAt(), null);
+            int position = Arrays.binarySearch(messages, probe, ORDER);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        // Sem o snapshot completo só dá para responder se o cursor estiver
+        // dentro da janela retida.
+        if (!current.complete() && (cursor == null || from == 0)) {
+            return Optional.empty();
+        }
+        return Optional.of(view(messages, from, Math.min(messages.length, from + limit)));
+    }
+
+    public int size() {
+        return snapshot.messages().length;
+    }
+
+    private void publish(MessageDTO[] messages, boolean complete, boolean rewritten) {
+        long maxId = 0L;
+        for (MessageDTO message : messages) {
+            maxId = Math.max(maxId, message.id());
+        }
+        snapshot = new Snapshot(messages, complete, maxId, rewritten ? Instant.now() : snapshot.rewrittenAt());
+    }
+
+    private static boolean sameContent(MessageDTO[] a, MessageDTO[] b) {
+        if (a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; i++) {
+            if (!a[i].id().equals(b[i].id())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<MessageDTO> view(MessageDTO[] messages, int from, int to) {
+        return Collections.unmodifiableList(Arrays.asList(messages).subList(from, to));
+    }
+}
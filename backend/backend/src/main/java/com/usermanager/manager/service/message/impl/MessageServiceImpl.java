@@ -1,74 +1,139 @@
 package com.usermanager.manager.service.message.impl;
 
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.usermanager.manager.dto.message.CreateMessage;
 import com.usermanager.manager.dto.message.MessageDTO;
+import com.usermanager.manager.dto.message.MessageListVersion;
+import com.usermanager.manager.dto.message.MessageSyncCursor;
+import com.usermanager.manager.dto.message.MessageSyncResponse;
 import com.usermanager.manager.infra.event.MessageCreatedEvent;
+import com.usermanager.manager.infra.outbox.MessageOutboxService;
 import com.usermanager.manager.model.message.Message;
 import com.usermanager.manager.repository.MessageRepository;
 import com.usermanager.manager.service.message.MessageService;
+import com.usermanager.manager.service.message.RecentMessageStore;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@AllArgsConstructor
 @Slf4j
 public class MessageServiceImpl implements MessageService {
     private MessageRepository messageRepository;
-    private final ApplicationEventPublisher publisher;
+    private final MessageOutboxService outboxService;
+    private final RecentMessageStore recentMessageStore;
+    private final int maxSyncBatchSize;
+
+    public MessageServiceImpl(MessageRepository messageRepository, MessageOutboxService outboxService,
+            RecentMessageStore recentMessageStore,
+            @Value("${message.sync.max-batch-size:200}") int maxSyncBatchSize) {
+        this.messageRepository = messageRepository;
+        this.outboxService = outboxService;
+        this.recentMessageStore = recentMessageStore;
+        this.maxSyncBatchSize = maxSyncBatchSize;
+    }
 
     @Transactional
     public MessageDTO createMessage(CreateMessage request) {
         Message message = Message.builder()
                 .content(request.content())
                 .people(request.people())
+                // Mesma precisão do TIMESTAMPTZ, para a cópia em memória bater com o banco.
+                .createdAt(ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS))
                 .build();
 
         Message savedMessage = messageRepository.save(message);
+        MessageDTO dto = new MessageDTO(savedMessage);
+        recentMessageStore.appendAfterCommit(dto);
 
-        this.publishEvent(new MessageCreatedEvent(
+        outboxService.enqueue(new MessageCreatedEvent(
                 savedMessage.getId(),
                 "Nova mensagem",
                 message.getContent()));
-        return new MessageDTO(savedMessage);
+        return dto;
     }
 
     public List<MessageDTO> getAll() {
-        return messageRepository.findAll().stream()
-                .map(MessageDTO::new)
-                .collect(Collectors.toList());
-    }
-
-    public void publishEvent(Object event) {
-        publisher.publishEvent(event);
+        return recentMessageStore.all()
+                .orElseGet(() -> messageRepository.findAll().stream()
+                        .map(MessageDTO::new)
+                        .collect(Collectors.toList()));
     }
 
     public List<MessageDTO> findAfterIdOrdered(Long afterId) {
-        return messageRepository.findByIdGreaterThanOrderByCreatedAtAsc(afterId)
-                .stream()
-                .map(MessageDTO::new)
-                .toList();
+        return recentMessageStore.afterId(afterId)
+                .orElseGet(() -> messageRepository.findByIdGreaterThanOrderByCreatedAtAsc(afterId)
+                        .stream()
+                        .map(MessageDTO::new)
+                        .toList());
     }
 
     public Page<MessageDTO> findAllPaged(Pageable pageable) {
+        List<MessageDTO> cached = servesFromStore(pageable.getSort())
+                ? recentMessageStore.all().orElse(null)
+                : null;
+        if (cached != null) {
+            int from = (int) Math.min(pageable.getOffset(), cached.size());
+            int to = Math.min(cached.size(), from + pageable.getPageSize());
+            return new PageImpl<>(cached.subList(from, to), pageable, cached.size());
+        }
         return messageRepository.findAll(pageable).map(MessageDTO::new);
     }
 
+    private static boolean servesFromStore(Sort sort) {
+        return sort.isUnsorted() || sort.equals(Sort.by("createdAt").ascending());
+    }
+
+    /**
+     * Busca até size mensagens depois do cursor, sem COUNT: uma linha extra é
+     * lida só para saber se existe um próximo lote.
+     */
+    @Transactional(readOnly = true)
+    public MessageSyncResponse sync(String cursor, int size) {
+        int batchSize = Math.max(1, Math.min(size, maxSyncBatchSize));
+        Limit limit = Limit.of(batchSize + 1);
+
+        MessageSyncCursor position = cursor == null || cursor.isBlank() ? null : MessageSyncCursor.decode(cursor);
+        List<MessageDTO> rows = recentMessageStore.afterCursor(position, batchSize + 1)
+                .orElseGet(() -> {
+                    List<Message> entities = position == null
+                            ? messageRepository.findFirstForSync(limit)
+                            : messageRepository.findAfterCursor(position.createdAt(), position.id(), batchSize + 1);
+                    return entities.stream().map(MessageDTO::new).toList();
+                });
+
+        boolean hasMore = rows.size() > batchSize;
+        List<MessageDTO> messages = hasMore ? rows.subList(0, batchSize) : rows;
+        String nextCursor = messages.isEmpty()
+                ? cursor
+                : MessageSyncCursor.of(messages.get(messages.size() - 1)).encode();
+        return new MessageSyncResponse(messages, nextCursor, hasMore);
+    }
+
+    public Optional<MessageListVersion> currentVersion() {
+        return recentMessageStore.version();
+    }
+
     @Transactional
     @Scheduled(cron = "@hourly")
     public void deleteExpiredMessages() {
-        int deletedCount = messageRepository.deleteByCreatedAtBefore(ZonedDateTime.now().minusHours(13));
+        ZonedDateTime cutoff = ZonedDateTime.now().minusHours(13);
+        int deletedCount = messageRepository.deleteByCreatedAtBefore(cutoff);
+        recentMessageStore.evictAfterCommit(cutoff);
         log.info("messagesDeleted: {}", deletedCount);
     }
 }
@@ -11,7 +11,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -49,6 +48,8 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Validated
 public class PaymentServiceImpl implements PaymentService {
+    private static final String PAYMENT_TOPIC = "payment";
+
     @Value("${mercadopago.webhook.secret.token}")
     private String mercadoPagoSecret;
 
@@ -62,17 +63,29 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public WebhookResponse createPaymentProcessing(WebhookRequest request) {
-        Map<String, Object> payload;
+        // O Mercado Pago também notifica merchant_order para a mesma compra; só
+        // o tópico payment é processado, o resto é confirmado e descartado.
+        String topic = resolveTopic(request);
+        if (topic != null && !PAYMENT_TOPIC.equalsIgnoreCase(topic)) {
+            log.info("Notificação do tópico {} ignorada. RequestId: {}", topic, request.xRequestId());
+            return new WebhookResponse(200, "Notificação ignorada.");
+        }
+
+        String dataId;
         try {
-            payload = validateWehbook(request);
+            dataId = validateWehbook(request);
         } catch (WebhookProcessingException e) {
             return new WebhookResponse(401, e.getMessage());
         }
 
-        WebhookEvent webhookEvent = createWebhookEvent(payload);
-        log.info("Evento de webhook salvo: {}", webhookEvent);
+        Optional<WebhookEvent> webhookEvent = createWebhookEvent(dataId, request.payload());
+        if (webhookEvent.isEmpty()) {
+            log.info("Notificação duplicada do pagamento {} descartada", dataId);
+            return new WebhookResponse(200, "Notificação já recebida.");
+        }
+        log.info("Evento de webhook salvo: {}", webhookEvent.get());
 
-        publisher.publishEvent(webhookEvent);
+        publisher.publishEvent(webhookEvent.get());
         log.info("Evento de pagamento publicado");
 
         return new WebhookResponse(200, "Notificação recebida com sucesso.");
@@ -163,7 +176,7 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     // Util methods do createPaymentProcessing abaiso
-    private Map<String, Object> validateWehbook(@Valid @NotNull WebhookRequest request)
+    private String validateWehbook(@Valid @NotNull WebhookRequest request)
             throws WebhookProcessingException {
         String xSignature = request.xSignature();
         String xRequestId = request.xRequestId();
@@ -197,8 +210,24 @@ public class PaymentServiceImpl implements PaymentService {
             throw new WebhookProcessingException("Assinatura inválida");
         }
 
-        return payload;
+        return dataId;
+
+    }
 
+    private String resolveTopic(WebhookRequest request) {
+        Map<String, String> queryParams = request.queryParams();
+        if (queryParams != null) {
+            String topic = queryParams.getOrDefault("type", queryParams.get("topic"));
+            if (topic != null) {
+                return topic;
+            }
+        }
+        Map<String, Object> payload = request.payload();
+        if (payload == null) {
+            return null;
+        }
+        Object topic = payload.containsKey("type") ? payload.get("type") : payload.get("topic");
+        return topic != null ? String.valueOf(topic) : null;
     }
 
     private Optional<String> extractId(Map<String, Object> payload) {
@@ -213,8 +242,7 @@ public class PaymentServiceImpl implements PaymentService {
         return Optional.empty();
     }
 
-    @Transactional
-    private WebhookEvent createWebhookEvent(Object payload) {
+    private Optional<WebhookEvent> createWebhookEvent(String dataId, Object payload) {
         ObjectMapper mapper = new ObjectMapper();
         String payloadJson = "";
         try {
@@ -224,6 +252,7 @@ public class PaymentServiceImpl implements PaymentService {
         }
 
         WebhookEvent event = WebhookEvent.builder()
+                .resourceId(dataId)
                 .payloadJson(payloadJson)
                 .status(EventStatus.PENDING)
                 .receivedAt(ZonedDateTime.now())
@@ -3,10 +3,10 @@ package com.usermanager.manager.service.user;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -15,8 +15,9 @@ import com.usermanager.manager.dto.user.DeleteByLoginDTO;
 import com.usermanager.manager.dto.user.UserDTO;
 import com.usermanager.manager.dto.user.UserResponseDTO;
 import com.usermanager.manager.dto.user.VipUserDTO;
-import com.usermanager.manager.enums.Status;
 import com.usermanager.manager.exception.user.UserNotFoundException;
+import com.usermanager.manager.infra.event.UserChangedEvent;
+import com.usermanager.manager.infra.security.password.PasswordHashingService;
 import com.usermanager.manager.mappers.UserMapper;
 import com.usermanager.manager.model.user.User;
 import com.usermanager.manager.repository.SubscriptionRepository;
@@ -38,8 +39,9 @@ import lombok.extern.slf4j.Slf4j;
 public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final SubscriptionRepository subscriptionRepository;
+    private final ApplicationEventPublisher publisher;
 
     @Transactional
     public UserResponseDTO updateUser(@NotNull @Valid UserResponseDTO dto) {
@@ -48,9 +50,11 @@ public class UserService {
 
         savedUser.setName(dto.name());
         savedUser.setLogin(dto.login());
-        savedUser.setPassword(passwordEncoder.encode(dto.password()));
+        savedUser.setPassword(passwordHashingService.encode(dto.password()));
+        savedUser.bumpSecurityVersion();
 
         User updatedUser = userRepository.save(savedUser);
+        publishUserChanged(updatedUser);
         return userMapper.userToUserResponseDTO(updatedUser);
     }
 
@@ -60,9 +64,6 @@ public class UserService {
                 .toList();
     }
 
-    public List<User> getAllActiveUsers() {
-        return userRepository.findAllByStatus(Status.ACTIVE);
-    }
     public UserDTO findUserById(@Positive @NotNull Long id) {
         User response = userRepository.findById(id).orElseThrow(
                 () -> new UserNotFoundException("with ID: " + id));
@@ -75,6 +76,14 @@ public class UserService {
                 () -> new UserNotFoundException("with ID: " + id));
     }
 
+    /**
+     * Referência para a entidade sem buscar o usuário no banco, para uso em
+     * associações e consultas que só precisam do id.
+     */
+    public User getReference(@Positive @NotNull Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     public Optional<User> findByIdOptional(@Positive @NotNull Long id) {
         return userRepository.findById(id);
     }
@@ -88,6 +97,7 @@ public class UserService {
 
         userToDelete.setEnabled(false);
         userRepository.save(userToDelete);
+        publishUserChanged(userToDelete);
         return true;
     }
 
@@ -99,12 +109,15 @@ public class UserService {
 
         userToDelete.setEnabled(false);
         userRepository.save(userToDelete);
+        publishUserChanged(userToDelete);
         return true;
     }
 
     @Transactional
     public User save(@Valid User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        publishUserChanged(user);
+        return saved;
     }
 
     public User findUserByLogin(@NotBlank String login) {
@@ -126,6 +139,7 @@ public class UserService {
 
     public void saveAll(@NotNull Iterable<User> users) {
         userRepository.saveAll(users);
+        users.forEach(this::publishUserChanged);
     }
 
     public Page<UserDTO> getUsersPage(int page, int size) {
@@ -138,4 +152,9 @@ public class UserService {
             .map(VipUserDTO::new)
             .toList();
     }
+
+    private void publishUserChanged(User user) {
+        publisher.publishEvent(new UserChangedEvent(user.getId(), user.getLogin(), user.getSecurityVersion(),
+                user.isSecurityVersionChanged()));
+    }
 }
\ No newline at end of file
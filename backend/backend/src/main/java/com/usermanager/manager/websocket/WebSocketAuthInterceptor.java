@@ -18,9 +18,11 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 
+import com.usermanager.manager.exception.authentication.TokenInvalid;
+import com.usermanager.manager.infra.security.principal.UserPrincipalCache;
 import com.usermanager.manager.infra.security.token.TokenService;
-import com.usermanager.manager.model.user.User;
-import com.usermanager.manager.service.user.UserService;
+import com.usermanager.manager.model.security.VerifiedToken;
+import com.usermanager.manager.model.user.UserPrincipal;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,11 +31,11 @@ import lombok.extern.slf4j.Slf4j;
 public class WebSocketAuthInterceptor implements HandshakeInterceptor, ChannelInterceptor {
 
     private final TokenService tokenService;
-    private final UserService userService;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public WebSocketAuthInterceptor(TokenService tokenService, UserService userService) {
+    public WebSocketAuthInterceptor(TokenService tokenService, UserPrincipalCache userPrincipalCache) {
         this.tokenService = tokenService;
-        this.userService = userService;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @Override
@@ -49,13 +51,12 @@ public class WebSocketAuthInterceptor implements HandshakeInterceptor, ChannelIn
             return false; // BLOQUEIA handshake
         }
 
-        if (!tokenService.isTokenValid(token)) {
+        if (!authenticateUser(token, attributes)) {
             log.warn("-----Token inválido no handshake WebSocket.");
             response.setStatusCode(org.springframework.http.HttpStatus.UNAUTHORIZED);
             return false; // BLOQUEIA handshake
         }
 
-        authenticateUser(token, attributes);
         return true;
     }
 
@@ -81,13 +82,21 @@ public class WebSocketAuthInterceptor implements HandshakeInterceptor, ChannelIn
         return null;
     }
 
-    private void authenticateUser(String token, Map<String, Object> attributes) {
-        String username = tokenService.getUsernameFromToken(token);
-        log.info("Token válido para usuário: {}", username);
-
-        User user = userService.findUserByLogin(username);
+    private boolean authenticateUser(String token, Map<String, Object> attributes) {
+        UserPrincipal user;
+        try {
+            VerifiedToken verified = tokenService.verifyToken(token);
+            log.info("Token válido para usuário: {}", verified.subject());
+            user = userPrincipalCache.forToken(verified).orElse(null);
+        } catch (TokenInvalid e) {
+            return false;
+        }
+        if (user == null) {
+            return false;
+        }
         var auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
         attributes.put("user", auth);
+        return true;
     }
 
     @Override
@@ -0,0 +1,79 @@
+package com.usermanager.manager.websocket.broker;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.usermanager.manager.infra.cluster.ClusterBus;
+import com.usermanager.manager.infra.cluster.ClusterMessage;
+
+/**
+ * Publica sinais no broker local e, pelo ClusterBus, nos sockets conectados
+ * nos outros nós. O JSON é gerado uma vez e serve às duas pontas.
+ *
+ * Não há economia por inscrito aqui: o broker simples já repassa o mesmo
+ * payload para todos, e o frame STOMP de cada sessão (com subscription e
+ * message-id próprios) é codificado pelo StompEncoder do Spring. Ver
+ * SignalFanOutBenchmark.
+ */
+@Component
+public class SignalBroadcaster {
+    public static final String MESSAGES_TOPIC = "/topic/messages";
+
+    static final String CHANNEL = "signals";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectWriter writer;
+    private final ClusterBus clusterBus;
+
+    public SignalBroadcaster(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+            ClusterBus clusterBus) {
+        this.messagingTemplate = messagingTemplate;
+        this.writer = objectMapper.writer();
+        this.clusterBus = clusterBus;
+        clusterBus.subscribe(CHANNEL, this::onRemoteSignal);
+    }
+
+    public void broadcast(String destination, Object payload) {
+        Message<byte[]> message = toMessage(payload);
+        messagingTemplate.send(destination, message);
+        // Destino e JSON separados por quebra de linha, que não aparece em
+        // destinos STOMP.
+        clusterBus.publish(CHANNEL, destination + "\n" + new String(message.getPayload(), StandardCharsets.UTF_8));
+    }
+
+    Message<byte[]> toMessage(Object payload) {
+        byte[] body;
+        try {
+            body = writer.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Não foi possível serializar o sinal", e);
+        }
+        return toMessage(body);
+    }
+
+    private void onRemoteSignal(ClusterMessage clusterMessage) {
+        String payload = clusterMessage.payload();
+        int separator = payload.indexOf('\n');
+        if (separator < 0) {
+            return;
+        }
+        byte[] body = payload.substring(separator + 1).getBytes(StandardCharsets.UTF_8);
+        messagingTemplate.send(payload.substring(0, separator), toMessage(body));
+    }
+
+    private static Message<byte[]> toMessage(byte[] body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,37 @@
+package com.usermanager.manager.websocket.broker;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Contabiliza as sessões derrubadas por estourarem o limite de envio. O
+ * ConcurrentWebSocketSessionDecorator do Spring encerra essas sessões com
+ * SESSION_NOT_RELIABLE.
+ */
+@Slf4j
+public class SlowConsumerHandlerDecorator extends WebSocketHandlerDecorator {
+
+    private final Counter slowConsumerDisconnects;
+
+    public SlowConsumerHandlerDecorator(WebSocketHandler delegate, Counter slowConsumerDisconnects) {
+        super(delegate);
+        this.slowConsumerDisconnects = slowConsumerDisconnects;
+    }
+
+    @Override
+    public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus)
+            throws Exception {
+        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+            slowConsumerDisconnects.increment();
+            log.warn("Sessão websocket {} encerrada por consumo lento: {}", session.getId(),
+                    closeStatus.getReason());
+        }
+        super.afterConnectionClosed(session, closeStatus);
+    }
+}
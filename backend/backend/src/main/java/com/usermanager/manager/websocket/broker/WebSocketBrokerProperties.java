@@ -0,0 +1,30 @@
+package com.usermanager.manager.websocket.broker;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Limites de entrega do broker STOMP. Cada sessão tem um buffer de saída
+ * próprio; quando um cliente não consome dentro de sendTimeLimit ou acumula
+ * mais que sendBufferSizeLimit, a sessão é encerrada sem travar as demais.
+ */
+@ConfigurationProperties(prefix = "websocket.broker")
+public record WebSocketBrokerProperties(
+        @DefaultValue("10s") Duration sendTimeLimit,
+        @DefaultValue("512KB") DataSize sendBufferSizeLimit,
+        @DefaultValue("64KB") DataSize messageSizeLimit,
+        @DefaultValue Outbound outbound) {
+
+    /**
+     * Pool do canal de saída, usado para distribuir cada broadcast entre as
+     * sessões inscritas.
+     */
+    public record Outbound(
+            @DefaultValue("8") int corePoolSize,
+            @DefaultValue("32") int maxPoolSize,
+            @DefaultValue("10000") int queueCapacity) {
+    }
+}
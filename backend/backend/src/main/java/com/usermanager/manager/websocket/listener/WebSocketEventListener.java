@@ -7,7 +7,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
-import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserPrincipal;
 import com.usermanager.manager.websocket.presence.PresenceService;
 
 import lombok.RequiredArgsConstructor;
@@ -31,9 +31,9 @@ public class WebSocketEventListener {
         }
 
         if (auth != null) {
-            var user = (User) auth.getPrincipal();
-            Long userId = user.getId();
-            presenceService.markOnline(userId);
+            var user = (UserPrincipal) auth.getPrincipal();
+            Long userId = user.id();
+            presenceService.markOnline(userId, accessor.getSessionId());
             log.info("Usuário ONLINE: {}", userId);
         } else {
             log.warn("Usuário não autenticado no evento de conexão WebSocket.");
@@ -52,11 +52,11 @@ public class WebSocketEventListener {
         }
 
         if (auth != null) {
-            var user = (User) auth.getPrincipal();
+            var user = (UserPrincipal) auth.getPrincipal();
 
-            Long userId = user.getId();
+            Long userId = user.id();
 
-            presenceService.markOffline(userId);
+            presenceService.markOffline(userId, accessor.getSessionId());
 
             log.info("Usuário OFFLINE: {}", userId);
         }
@@ -0,0 +1,90 @@
+package com.usermanager.manager.websocket.presence;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.usermanager.manager.infra.cluster.ClusterBus;
+import com.usermanager.manager.infra.cluster.ClusterMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replica a presença local para os outros nós pelo ClusterBus. Entradas e
+ * saídas vão na hora ("+id", "-id"); a cada presence.gossip-interval sai a
+ * lista completa dos usuários deste nó ("=id,id,..."), que renova as sessões
+ * remotas nos outros nós e corrige o que tiver se perdido. Ids trafegam em
+ * base 36.
+ */
+@Component
+@Slf4j
+public class PresenceGossip implements PresenceService.LocalPresenceListener {
+    static final String CHANNEL = "presence";
+    private static final int MAX_DIGEST_CHARS = 7000;
+
+    private final ClusterBus clusterBus;
+    private final PresenceService presenceService;
+
+    public PresenceGossip(ClusterBus clusterBus, PresenceService presenceService) {
+        this.clusterBus = clusterBus;
+        this.presenceService = presenceService;
+        presenceService.setLocalPresenceListener(this);
+        clusterBus.subscribe(CHANNEL, this::onMessage);
+    }
+
+    @Override
+    public void onLocalOnline(long userId) {
+        clusterBus.publish(CHANNEL, "+" + Long.toString(userId, 36));
+    }
+
+    @Override
+    public void onLocalOffline(long userId) {
+        clusterBus.publish(CHANNEL, "-" + Long.toString(userId, 36));
+    }
+
+    @Scheduled(fixedDelayString = "${presence.gossip-interval:10s}")
+    public void publishDigest() {
+        long[] online = presenceService.localOnlineUsers();
+        StringBuilder digest = new StringBuilder("=");
+        for (long userId : online) {
+            if (digest.length() > MAX_DIGEST_CHARS) {
+                clusterBus.publish(CHANNEL, digest.toString());
+                digest.setLength(1);
+            }
+            if (digest.length() > 1) {
+                digest.append(',');
+            }
+            digest.append(Long.toString(userId, 36));
+        }
+        if (digest.length() > 1) {
+            clusterBus.publish(CHANNEL, digest.toString());
+        }
+    }
+
+    void onMessage(ClusterMessage message) {
+        String payload = message.payload();
+        if (payload.isEmpty()) {
+            return;
+        }
+        char op = payload.charAt(0);
+        int start = 1;
+        while (start < payload.length()) {
+            int end = payload.indexOf(',', start);
+            if (end < 0) {
+                end = payload.length();
+            }
+            long userId;
+            try {
+                userId = Long.parseLong(payload, start, end, 36);
+            } catch (NumberFormatException e) {
+                log.warn("Mensagem de presença inválida vinda do nó {}", message.origin());
+                return;
+            }
+            if (op == '-') {
+                presenceService.markRemoteOffline(userId, message.origin());
+            } else {
+                presenceService.markRemoteOnline(userId, message.origin());
+            }
+            start = end + 1;
+        }
+    }
+}
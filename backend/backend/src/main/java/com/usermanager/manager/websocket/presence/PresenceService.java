@@ -1,39 +1,370 @@
 package com.usermanager.manager.websocket.presence;
 
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Presença dos usuários conectados por websocket, por sessão. Um usuário está
+ * online enquanto alguma das suas sessões tiver dado sinal de vida dentro do
+ * timeout.
+ *
+ * Os usuários ficam espalhados em shards, cada um com o próprio lock, tabela
+ * de chaves long e timer wheel. O wheel reavalia cada usuário quando o
+ * timeout da sessão mais recente vence: heartbeats só atualizam o horário e
+ * não reagendam nada, e sessões abandonadas saem sem depender do disconnect.
+ *
+ * Usuários conectados em outros nós entram como uma sessão remota por nó,
+ * alimentada pelo PresenceGossip; o gauge de sessões conta só as locais.
+ */
 @Service
 @Slf4j
 public class PresenceService {
+    private static final int WHEEL_SLOTS = 64;
 
-    private final Map<Long, Instant> lastSeenMap = new ConcurrentHashMap<>();
+    private final Shard[] shards;
+    private final int shardMask;
+    private final long timeoutNanos;
+    private final long tickNanos;
+    private final long origin;
+    private final LongSupplier clock;
+    private final AtomicInteger onlineUsers = new AtomicInteger();
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private volatile LocalPresenceListener listener;
 
-    private static final long TIMEOUNT_SECONDS = 30;
+    /**
+     * Avisado quando um usuário passa a ter (ou deixa de ter) sessões neste
+     * nó. Chamado fora dos locks dos shards.
+     */
+    public interface LocalPresenceListener {
+        void onLocalOnline(long userId);
 
-    public void markOnline(Long userId) {
-        this.lastSeenMap.put(userId, Instant.now());
+        void onLocalOffline(long userId);
     }
 
-    public void markOffline(Long userId) {
-        this.lastSeenMap.remove(userId);
+    @Autowired
+    public PresenceService(
+            @Value("${presence.timeout:30s}") Duration timeout,
+            @Value("${presence.tick-interval:1s}") Duration tickInterval,
+            @Value("${presence.shards:64}") int shards,
+            MeterRegistry meterRegistry) {
+        this(timeout, tickInterval, shards, System::nanoTime);
+
+        Gauge.builder("presence.online.users", onlineUsers, AtomicInteger::get)
+                .description("Usuários com ao menos uma sessão websocket ativa")
+                .register(meterRegistry);
+        Gauge.builder("presence.sessions", openSessions, AtomicInteger::get)
+                .description("Sessões websocket ativas neste nó")
+                .register(meterRegistry);
+    }
+
+    PresenceService(Duration timeout, Duration tickInterval, int shards, LongSupplier clock) {
+        int shardCount = Integer.highestOneBit(Math.max(1, shards - 1)) << 1;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.shardMask = shardCount - 1;
+        this.timeoutNanos = timeout.toNanos();
+        this.tickNanos = Math.max(1, tickInterval.toNanos());
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    public void setLocalPresenceListener(LocalPresenceListener listener) {
+        this.listener = listener;
+    }
+
+    public void markOnline(long userId, String sessionId) {
+        touch(userId, sessionId);
+    }
+
+    public void heartbeat(long userId, String sessionId) {
+        // Um heartbeat de sessão desconhecida (ex.: depois de um restart)
+        // também registra a sessão.
+        touch(userId, sessionId);
+        log.debug("heartbeat userId: {}", userId);
+    }
+
+    public void markOffline(long userId, String sessionId) {
+        boolean localOffline = false;
+        Shard shard = shard(userId);
+        shard.lock.lock();
+        try {
+            UserPresence presence = shard.table.get(userId);
+            if (presence == null || !presence.remove(sessionId)) {
+                return;
+            }
+            if (!UserPresence.isRemote(sessionId)) {
+                openSessions.decrementAndGet();
+                localOffline = presence.localCount() == 0;
+            }
+            if (presence.count() == 0) {
+                // A entrada fica na tabela até o wheel passar por ela; assim
+                // cada usuário tem no máximo um agendamento.
+                onlineUsers.decrementAndGet();
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        if (localOffline) {
+            notifyOffline(userId);
+        }
+    }
+
+    /** Renova a presença do usuário conectado no nó informado. */
+    public void markRemoteOnline(long userId, String nodeId) {
+        touch(userId, UserPresence.REMOTE_PREFIX + nodeId);
+    }
+
+    public void markRemoteOffline(long userId, String nodeId) {
+        markOffline(userId, UserPresence.REMOTE_PREFIX + nodeId);
+    }
+
+    /** Usuários com ao menos uma sessão aberta neste nó. */
+    public long[] localOnlineUsers() {
+        LongList result = new LongList();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                shard.table.forEach((userId, presence) -> {
+                    if (presence.localCount() > 0) {
+                        result.add(userId);
+                    }
+                });
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return Arrays.copyOf(result.values, result.size);
+    }
+
+    public boolean isOnline(long userId) {
+        long cutoff = clock.getAsLong() - timeoutNanos;
+        Shard shard = shard(userId);
+        shard.lock.lock();
+        try {
+            UserPresence presence = shard.table.get(userId);
+            return presence != null && presence.count() > 0 && presence.seenAfter(cutoff);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /** Devolve, na ordem recebida, os ids que não estão online. */
+    public long[] filterOffline(long[] userIds) {
+        long cutoff = clock.getAsLong() - timeoutNanos;
+        long[] offline = new long[userIds.length];
+        int count = 0;
+        for (long userId : userIds) {
+            Shard shard = shard(userId);
+            boolean online;
+            shard.lock.lock();
+            try {
+                UserPresence presence = shard.table.get(userId);
+                online = presence != null && presence.count() > 0 && presence.seenAfter(cutoff);
+            } finally {
+                shard.lock.unlock();
+            }
+            if (!online) {
+                offline[count++] = userId;
+            }
+        }
+        return count == offline.length ? offline : Arrays.copyOf(offline, count);
     }
 
-    public void heartbeat(Long userId) {
-        this.lastSeenMap.put(userId, Instant.now());
-        log.info("heartbeat userId: {}", userId);
+    public int onlineCount() {
+        return onlineUsers.get();
+    }
+
+    public int sessionCount() {
+        return openSessions.get();
+    }
+
+    /** Avança o timer wheel de todos os shards até o tick atual. */
+    @Scheduled(fixedDelayString = "${presence.tick-interval:1s}")
+    public void expireStale() {
+        long now = clock.getAsLong();
+        long currentTick = tickOf(now);
+        int expired = 0;
+        LongList wentOffline = new LongList();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                expired += advance(shard, currentTick, now, wentOffline);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        for (int i = 0; i < wentOffline.size; i++) {
+            notifyOffline(wentOffline.values[i]);
+        }
+        if (expired > 0) {
+            log.debug("Sessões expiradas por falta de heartbeat: {}", expired);
+        }
+    }
+
+    private void touch(long userId, String sessionId) {
+        boolean remote = UserPresence.isRemote(sessionId);
+        boolean localOnline = false;
+        long now = clock.getAsLong();
+        Shard shard = shard(userId);
+        shard.lock.lock();
+        try {
+            UserPresence presence = shard.table.get(userId);
+            if (presence == null) {
+                presence = new UserPresence();
+                shard.table.put(userId, presence);
+                schedule(shard, userId, presence, deadlineTick(now));
+            }
+            boolean wasOffline = presence.count() == 0;
+            boolean wasLocalOffline = !remote && presence.localCount() == 0;
+            if (presence.touch(sessionId, now)) {
+                if (!remote) {
+                    openSessions.incrementAndGet();
+                    localOnline = wasLocalOffline;
+                }
+                if (wasOffline) {
+                    onlineUsers.incrementAndGet();
+                }
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        if (localOnline) {
+            LocalPresenceListener current = listener;
+            if (current != null) {
+                current.onLocalOnline(userId);
+            }
+        }
+    }
+
+    private void notifyOffline(long userId) {
+        LocalPresenceListener current = listener;
+        if (current != null) {
+            current.onLocalOffline(userId);
+        }
+    }
+
+    private int advance(Shard shard, long currentTick, long now, LongList wentOffline) {
+        if (currentTick <= shard.lastTick) {
+            return 0;
+        }
+        // Depois de uma pausa longa basta uma volta completa no wheel.
+        long from = Math.max(shard.lastTick + 1, currentTick - WHEEL_SLOTS + 1);
+        int expired = 0;
+        for (long tick = from; tick <= currentTick; tick++) {
+            expired += fire(shard, (int) (tick & (WHEEL_SLOTS - 1)), currentTick, now, wentOffline);
+        }
+        shard.lastTick = currentTick;
+        return expired;
+    }
+
+    private int fire(Shard shard, int slotIndex, long currentTick, long now, LongList wentOffline) {
+        LongList slot = shard.wheel[slotIndex];
+        LongList due = shard.due;
+        due.clear();
+
+        // Mantém no slot só quem está agendado para uma volta futura.
+        int kept = 0;
+        for (int i = 0; i < slot.size; i++) {
+            long userId = slot.values[i];
+            UserPresence presence = shard.table.get(userId);
+            if (presence == null) {
+                continue;
+            }
+            if (presence.scheduledTick > currentTick) {
+                slot.values[kept++] = userId;
+            } else {
+                due.add(userId);
+            }
+        }
+        slot.size = kept;
+
+        int expired = 0;
+        long cutoff = now - timeoutNanos;
+        for (int i = 0; i < due.size; i++) {
+            long userId = due.values[i];
+            UserPresence presence = shard.table.get(userId);
+            boolean wasOnline = presence.count() > 0;
+            boolean wasLocalOnline = presence.localCount() > 0;
+            int removed = presence.expire(cutoff);
+            expired += removed;
+            openSessions.addAndGet(-removed);
+            if (wasLocalOnline && presence.localCount() == 0) {
+                wentOffline.add(userId);
+            }
+
+            if (presence.count() == 0) {
+                shard.table.remove(userId);
+                if (wasOnline) {
+                    onlineUsers.decrementAndGet();
+                }
+            } else {
+                schedule(shard, userId, presence, Math.max(deadlineTick(presence.latest()), currentTick + 1));
+            }
+        }
+        return expired;
+    }
+
+    private void schedule(Shard shard, long userId, UserPresence presence, long tick) {
+        presence.scheduledTick = Math.max(tick, shard.lastTick + 1);
+        shard.wheel[(int) (presence.scheduledTick & (WHEEL_SLOTS - 1))].add(userId);
+    }
+
+    /** Primeiro tick em que uma sessão vista em lastSeen já terá expirado. */
+    private long deadlineTick(long lastSeen) {
+        long elapsed = lastSeen + timeoutNanos - origin;
+        return Math.floorDiv(elapsed + tickNanos - 1, tickNanos);
+    }
+
+    private long tickOf(long now) {
+        return Math.floorDiv(now - origin, tickNanos);
+    }
+
+    private Shard shard(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return shards[(int) (hash >>> 40) & shardMask];
+    }
+
+    private static final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        final PresenceTable table = new PresenceTable(1024);
+        final LongList[] wheel = new LongList[WHEEL_SLOTS];
+        final LongList due = new LongList();
+        long lastTick;
+
+        Shard() {
+            for (int i = 0; i < WHEEL_SLOTS; i++) {
+                wheel[i] = new LongList();
+            }
+        }
     }
 
-    public boolean isOnline(Long userId) {
-        Instant lastSeen = lastSeenMap.get(userId);
+    private static final class LongList {
+        long[] values = new long[16];
+        int size;
 
-        if (lastSeen == null) return false;
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
 
-        return lastSeen.isAfter(Instant.now().minusSeconds(TIMEOUNT_SECONDS));
+        void clear() {
+            size = 0;
+        }
     }
 }
@@ -0,0 +1,121 @@
+package com.usermanager.manager.websocket.presence;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de endereçamento aberto com chaves long primitivas, sem boxing nem
+ * nós de entrada. Usa sondagem linear e remoção por deslocamento, então não
+ * acumula marcas de remoção. Não é thread-safe: cada shard o protege com o
+ * próprio lock.
+ */
+final class PresenceTable {
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private UserPresence[] values;
+    private int mask;
+    private int size;
+
+    PresenceTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    UserPresence get(long key) {
+        int index = slot(key);
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                return values[index];
+            }
+            if (current == FREE) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+
+    interface Visitor {
+        void visit(long key, UserPresence value);
+    }
+
+    void put(long key, UserPresence value) {
+        if ((size + 1) * 4L > keys.length * 3L) {
+            resize(keys.length * 2);
+        }
+        int index = slot(key);
+        while (keys[index] != FREE && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        if (keys[index] == FREE) {
+            size++;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    void remove(long key) {
+        int index = slot(key);
+        while (keys[index] != key) {
+            if (keys[index] == FREE) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        // Puxa para o buraco as chaves seguintes que não estão na posição ideal.
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (keys[next] != FREE) {
+            int ideal = slot(keys[next]);
+            boolean movable = hole <= next
+                    ? ideal <= hole || ideal > next
+                    : ideal <= hole && ideal > next;
+            if (movable) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = FREE;
+        values[hole] = null;
+        size--;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        UserPresence[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        values = new UserPresence[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,118 @@
+package com.usermanager.manager.websocket.presence;
+
+import java.util.Arrays;
+
+/**
+ * Sessões abertas de um usuário com o último sinal de vida de cada uma, em
+ * nanoTime. Um usuário raramente tem mais de dois ou três aparelhos, então
+ * arrays pequenos com busca linear bastam. Acesso sempre sob o lock do shard.
+ *
+ * Sessões com prefixo REMOTE_PREFIX representam o usuário conectado em outro
+ * nó do cluster.
+ */
+final class UserPresence {
+    static final String REMOTE_PREFIX = "@";
+
+    private String[] sessions = new String[2];
+    private long[] lastSeen = new long[2];
+    private int count;
+
+    /** Tick do timer wheel em que este usuário será reavaliado. */
+    long scheduledTick;
+
+    int count() {
+        return count;
+    }
+
+    int localCount() {
+        int local = 0;
+        for (int i = 0; i < count; i++) {
+            if (!isRemote(sessions[i])) {
+                local++;
+            }
+        }
+        return local;
+    }
+
+    static boolean isRemote(String sessionId) {
+        return sessionId.startsWith(REMOTE_PREFIX);
+    }
+
+    /** Registra atividade da sessão; retorna true se ela ainda não existia. */
+    boolean touch(String sessionId, long now) {
+        int index = indexOf(sessionId);
+        if (index >= 0) {
+            lastSeen[index] = now;
+            return false;
+        }
+        if (count == sessions.length) {
+            sessions = Arrays.copyOf(sessions, count * 2);
+            lastSeen = Arrays.copyOf(lastSeen, count * 2);
+        }
+        sessions[count] = sessionId;
+        lastSeen[count] = now;
+        count++;
+        return true;
+    }
+
+    boolean remove(String sessionId) {
+        int index = indexOf(sessionId);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Remove as sessões vistas pela última vez até cutoff; retorna quantas
+     * sessões locais saíram.
+     */
+    int expire(long cutoff) {
+        int removed = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            if (lastSeen[i] - cutoff <= 0) {
+                if (!isRemote(sessions[i])) {
+                    removed++;
+                }
+                removeAt(i);
+            }
+        }
+        return removed;
+    }
+
+    boolean seenAfter(long cutoff) {
+        for (int i = 0; i < count; i++) {
+            if (lastSeen[i] - cutoff > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long latest() {
+        long latest = lastSeen[0];
+        for (int i = 1; i < count; i++) {
+            if (lastSeen[i] - latest > 0) {
+                latest = lastSeen[i];
+            }
+        }
+        return latest;
+    }
+
+    private int indexOf(String sessionId) {
+        for (int i = 0; i < count; i++) {
+            if (sessions[i].equals(sessionId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        count--;
+        sessions[index] = sessions[count];
+        lastSeen[index] = lastSeen[count];
+        sessions[count] = null;
+    }
+}
@@ -0,0 +1 @@
+CREATE INDEX idx_devices_active_user_token ON devices (user_id, push_token) WHERE active = true;
@@ -0,0 +1 @@
+CREATE INDEX idx_message_created_at_id ON message (created_at, id);
@@ -0,0 +1,15 @@
+CREATE TABLE message_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    message_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL,
+    locked_until TIMESTAMPTZ,
+    processed_at TIMESTAMPTZ,
+    last_error TEXT
+);
+
+CREATE INDEX idx_message_outbox_pending ON message_outbox (id) WHERE status = 'PENDING';
+CREATE INDEX idx_message_outbox_processed_at ON message_outbox (processed_at) WHERE status <> 'PENDING';
@@ -0,0 +1,8 @@
+ALTER TABLE webhook_events ADD COLUMN locked_until TIMESTAMPTZ;
+ALTER TABLE webhook_events ADD COLUMN last_error TEXT;
+
+UPDATE webhook_events SET retry_count = 0 WHERE retry_count IS NULL;
+ALTER TABLE webhook_events ALTER COLUMN retry_count SET DEFAULT 0;
+ALTER TABLE webhook_events ALTER COLUMN retry_count SET NOT NULL;
+
+CREATE INDEX idx_webhook_events_pending ON webhook_events (id) WHERE event_status = 'PENDING';
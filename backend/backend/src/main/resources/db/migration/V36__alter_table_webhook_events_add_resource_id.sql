@@ -0,0 +1,7 @@
+ALTER TABLE webhook_events ADD COLUMN resource_id VARCHAR(64);
+
+-- Uma notificação pendente por pagamento: reenvios do Mercado Pago enquanto o
+-- evento ainda não foi processado são descartados na ingestão. Depois de
+-- processado, uma nova notificação (mudança de status) volta a ser aceita.
+CREATE UNIQUE INDEX uq_webhook_events_pending_resource ON webhook_events (resource_id)
+    WHERE event_status = 'PENDING';
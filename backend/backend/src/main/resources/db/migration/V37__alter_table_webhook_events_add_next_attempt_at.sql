@@ -0,0 +1,15 @@
+ALTER TABLE webhook_events ADD COLUMN next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+-- Eventos adiados pelo backoff antigo (lease) passam a usar next_attempt_at
+UPDATE webhook_events
+SET next_attempt_at = locked_until, locked_until = NULL
+WHERE event_status = 'PENDING' AND locked_until IS NOT NULL;
+
+DROP INDEX IF EXISTS idx_webhook_events_pending;
+CREATE INDEX idx_webhook_events_status_next_attempt ON webhook_events (event_status, next_attempt_at);
+
+-- Eventos que esgotaram as tentativas, para inspeção e replay pelo admin
+CREATE VIEW webhook_events_dead_letter AS
+SELECT id, resource_id, retry_count, last_error, received_at, processed_at AS failed_at
+FROM webhook_events
+WHERE event_status = 'ERROR';
@@ -0,0 +1,18 @@
+-- O token deixa de ser gravado: a busca passa a ser pelo SHA-256 do JWT, 32
+-- bytes fixos em vez do JWT inteiro num VARCHAR(255) com dois índices.
+ALTER TABLE refresh_token ADD COLUMN token_hash BYTEA;
+
+UPDATE refresh_token SET token_hash = sha256(convert_to(token, 'UTF8'));
+
+ALTER TABLE refresh_token
+    ALTER COLUMN token_hash SET NOT NULL,
+    ADD CONSTRAINT chk_refresh_token_hash_length CHECK (octet_length(token_hash) = 32);
+
+CREATE UNIQUE INDEX uq_refresh_token_token_hash ON refresh_token (token_hash);
+
+DROP INDEX IF EXISTS idx_refresh_token;
+ALTER TABLE refresh_token DROP CONSTRAINT IF EXISTS constraint_token_unique;
+ALTER TABLE refresh_token DROP COLUMN token;
+
+-- "Sair de todos os dispositivos" revoga os tokens ativos do usuário
+CREATE INDEX idx_refresh_token_user_active ON refresh_token (user_id) WHERE used = false;
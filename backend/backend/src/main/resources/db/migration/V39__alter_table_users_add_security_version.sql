@@ -0,0 +1,10 @@
+-- Versão de segurança embutida no token de acesso. Ela sobe quando muda algo
+-- que está nos claims (role, assinatura, status, habilitado) ou a senha, e os
+-- tokens emitidos com a versão anterior passam a ser recusados.
+ALTER TABLE users
+    ADD COLUMN security_version INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN security_version_changed_at TIMESTAMPTZ;
+
+-- Carga inicial das revogações recentes na subida de cada nó
+CREATE INDEX idx_users_security_version_changed_at ON users (security_version_changed_at)
+    WHERE security_version_changed_at IS NOT NULL;
@@ -0,0 +1,10 @@
+-- Payloads do ClusterBus grandes demais para o NOTIFY. O NOTIFY leva só o id
+-- e os outros nós buscam o conteúdo aqui; linhas antigas são apagadas por
+-- quem publica. UNLOGGED: perder o conteúdo num crash do banco não importa.
+CREATE UNLOGGED TABLE cluster_message (
+    id BIGSERIAL PRIMARY KEY,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_cluster_message_created_at ON cluster_message (created_at);
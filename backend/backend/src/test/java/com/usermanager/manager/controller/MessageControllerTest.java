@@ -0,0 +1,164 @@
+package com.usermanager.manager.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.usermanager.manager.dto.message.MessageDTO;
+import com.usermanager.manager.dto.message.MessageListVersion;
+import com.usermanager.manager.dto.message.MessageSyncResponse;
+import com.usermanager.manager.service.message.MessageService;
+import com.usermanager.manager.websocket.broker.SignalBroadcaster;
+
+@ExtendWith(MockitoExtension.class)
+class MessageControllerTest {
+
+    private static final Instant LAST_MODIFIED = Instant.parse("2025-01-01T12:00:00Z");
+    private static final MessageListVersion VERSION = new MessageListVersion(3L, 1L, 3, LAST_MODIFIED);
+
+    @Mock
+    private MessageService messageService;
+
+    @Mock
+    private SignalBroadcaster signalBroadcaster;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new MessageController(messageService, signalBroadcaster, null))
+                .build();
+    }
+
+    private void stubList() {
+        Page<MessageDTO> page = new PageImpl<>(List.of());
+        when(messageService.findAllPaged(any())).thenReturn(page);
+    }
+
+    private String etagOf(MockHttpServletRequestBuilder request) throws Exception {
+        String etag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    @Test
+    @DisplayName("Should answer 304 with no body when If-None-Match matches the list")
+    void getMessages_MatchingEtag_NotModified() throws Exception {
+        when(messageService.currentVersion()).thenReturn(Optional.of(VERSION));
+        stubList();
+
+        String etag = mockMvc.perform(get("/api/message"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED.toEpochMilli()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/message").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verify(messageService, times(1)).findAllPaged(any());
+    }
+
+    @Test
+    @DisplayName("Should give each page, size and afterId its own tag")
+    void getMessages_DifferentParameters_DifferentEtags() throws Exception {
+        when(messageService.currentVersion()).thenReturn(Optional.of(VERSION));
+        stubList();
+        when(messageService.findAfterIdOrdered(any())).thenReturn(List.of());
+
+        String first = etagOf(get("/api/message").param("page", "0").param("size", "20"));
+        String secondPage = etagOf(get("/api/message").param("page", "1").param("size", "20"));
+        String otherSize = etagOf(get("/api/message").param("page", "0").param("size", "50"));
+        String afterId = etagOf(get("/api/message").param("afterId", "2"));
+
+        assertNotEquals(first, secondPage);
+        assertNotEquals(first, otherSize);
+        assertNotEquals(first, afterId);
+
+        mockMvc.perform(get("/api/message").param("page", "1").param("size", "20")
+                .header(HttpHeaders.IF_NONE_MATCH, first))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should honour If-Modified-Since against the list's Last-Modified")
+    void getMessages_IfModifiedSince() throws Exception {
+        when(messageService.currentVersion()).thenReturn(Optional.of(VERSION));
+        stubList();
+
+        mockMvc.perform(get("/api/message")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, ZonedDateTime.parse("2025-01-01T12:00:00Z")
+                        .format(DateTimeFormatter.RFC_1123_DATE_TIME)))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/message")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, ZonedDateTime.parse("2025-01-01T11:59:00Z")
+                        .format(DateTimeFormatter.RFC_1123_DATE_TIME)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should skip validators and always answer 200 when no version is available")
+    void getMessages_NoVersion_NoValidators() throws Exception {
+        when(messageService.currentVersion()).thenReturn(Optional.empty());
+        stubList();
+
+        mockMvc.perform(get("/api/message").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 on sync for the same cursor and 200 for another")
+    void sync_EtagPerCursor() throws Exception {
+        when(messageService.currentVersion()).thenReturn(Optional.of(VERSION));
+        when(messageService.sync(any(), anyInt()))
+                .thenReturn(new MessageSyncResponse(List.of(), "c1", false));
+
+        String etag = etagOf(get("/api/message/sync").param("cursor", "c1"));
+
+        mockMvc.perform(get("/api/message/sync").param("cursor", "c1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/message/sync").param("cursor", "c2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertNotEquals(etag, etagOf(get("/api/message/sync")));
+        assertNotEquals(etag, etagOf(get("/api/message/sync").param("cursor", "c1").param("size", "10")));
+
+        verify(messageService, never()).findAllPaged(any());
+    }
+}
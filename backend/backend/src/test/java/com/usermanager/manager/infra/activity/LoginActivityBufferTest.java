@@ -0,0 +1,95 @@
+package com.usermanager.manager.infra.activity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.usermanager.manager.repository.DeviceRepository;
+import com.usermanager.manager.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginActivityBufferTest {
+
+    private UserRepository userRepository;
+    private DeviceRepository deviceRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private LoginActivityBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        deviceRepository = mock(DeviceRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new LoginActivityBuffer(userRepository, deviceRepository, meterRegistry);
+    }
+
+    private double pending(String kind) {
+        return meterRegistry.get("login.activity.pending").tag("kind", kind).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should coalesce logins per user keeping the latest time in a single batch")
+    void flush_CoalescesPerUser() {
+        Instant first = Instant.parse("2026-01-01T10:00:00Z");
+        Instant second = Instant.parse("2026-01-01T10:00:03Z");
+        buffer.recordLogin(1L, second);
+        buffer.recordLogin(1L, first);
+        buffer.recordLogin(2L, first);
+        buffer.touchDevice("ExponentPushToken[a]", LocalDateTime.of(2026, 1, 1, 7, 0));
+        when(userRepository.updateLastLogins(anyMap())).thenReturn(2);
+        when(deviceRepository.touchDevices(anyMap())).thenReturn(1);
+
+        buffer.flush();
+
+        verify(userRepository).updateLastLogins(Map.of(1L, second, 2L, first));
+        verify(deviceRepository).touchDevices(Map.of("ExponentPushToken[a]", LocalDateTime.of(2026, 1, 1, 7, 0)));
+        assertEquals(0, pending("user"));
+        assertEquals(0, pending("device"));
+        assertEquals(2, meterRegistry.get("login.activity.rows").tag("kind", "user").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep pending entries when the batch update fails")
+    void flush_FailureKeepsEntries() {
+        buffer.recordLogin(1L, Instant.now());
+        when(userRepository.updateLastLogins(anyMap())).thenThrow(new QueryTimeoutException("timeout"));
+
+        buffer.flush();
+
+        assertEquals(1, pending("user"));
+        assertEquals(1, meterRegistry.get("login.activity.flush.failures").counter().count());
+        verify(deviceRepository, never()).touchDevices(anyMap());
+    }
+
+    @Test
+    @DisplayName("Should keep logins recorded while a flush is running")
+    void flush_KeepsNewerEntries() {
+        Instant newer = Instant.parse("2026-01-01T10:00:05Z");
+        buffer.recordLogin(1L, Instant.parse("2026-01-01T10:00:00Z"));
+        when(userRepository.updateLastLogins(anyMap())).thenAnswer(invocation -> {
+            buffer.recordLogin(1L, newer);
+            return 1;
+        });
+
+        buffer.flush();
+        assertEquals(1, pending("user"));
+
+        when(userRepository.updateLastLogins(anyMap())).thenReturn(1);
+        buffer.flush();
+        verify(userRepository).updateLastLogins(Map.of(1L, newer));
+        assertEquals(0, pending("user"));
+    }
+}
@@ -0,0 +1,179 @@
+package com.usermanager.manager.infra.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InstrumentedTaskDecoratorTest {
+
+    private static final String NAME = "test";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        MDC.clear();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /** One thread and one queue slot, so two tasks saturate the pool. */
+    private void startExecutor(AsyncProperties.RejectionPolicy policy) {
+        InstrumentedTaskDecorator decorator = new InstrumentedTaskDecorator(NAME, meterRegistry);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setTaskDecorator(decorator);
+        executor.setRejectedExecutionHandler(decorator.rejectionHandler(policy));
+        executor.initialize();
+    }
+
+    /** Blocks the only worker until the test ends and waits for it to start. */
+    private void occupyWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    private double queued() {
+        return meterRegistry.get("async.executor.queued").tag("name", NAME).gauge().value();
+    }
+
+    private double active() {
+        return meterRegistry.get("async.executor.active").tag("name", NAME).gauge().value();
+    }
+
+    private double rejected() {
+        return meterRegistry.get("async.executor.rejected").tag("name", NAME).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run tasks with the submitter's MDC and restore the worker's afterwards")
+    void decorate_PropagatesMdc() throws Exception {
+        startExecutor(AsyncProperties.RejectionPolicy.ABORT);
+        AtomicReference<String> seen = new AtomicReference<>();
+        AtomicReference<String> leaked = new AtomicReference<>("unset");
+        CountDownLatch done = new CountDownLatch(2);
+
+        MDC.put("requestId", "req-1");
+        executor.execute(() -> {
+            seen.set(MDC.get("requestId"));
+            done.countDown();
+        });
+        MDC.clear();
+        executor.execute(() -> {
+            leaked.set(MDC.get("requestId"));
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("req-1", seen.get());
+        assertNull(leaked.get());
+    }
+
+    @Test
+    @DisplayName("Should report queued and active tasks while the pool is saturated")
+    void gauges_TrackSaturation() throws Exception {
+        startExecutor(AsyncProperties.RejectionPolicy.ABORT);
+        occupyWorker();
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(ran::countDown);
+
+        assertEquals(1.0, active());
+        assertEquals(1.0, queued());
+
+        release.countDown();
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertEquals(0.0, queued());
+        assertEquals(0.0, rejected());
+    }
+
+    @Test
+    @DisplayName("Should count and drop the queued task, not the new one, under DISCARD_OLDEST")
+    void discardOldest_CountsDroppedTask() throws Exception {
+        startExecutor(AsyncProperties.RejectionPolicy.DISCARD_OLDEST);
+        occupyWorker();
+        AtomicBoolean oldestRan = new AtomicBoolean();
+        CountDownLatch newestRan = new CountDownLatch(1);
+
+        executor.execute(() -> oldestRan.set(true));
+        executor.execute(newestRan::countDown);
+
+        assertEquals(1.0, rejected());
+        assertEquals(1.0, queued());
+
+        release.countDown();
+        assertTrue(newestRan.await(5, TimeUnit.SECONDS));
+        assertFalse(oldestRan.get());
+        assertEquals(0.0, queued());
+    }
+
+    @Test
+    @DisplayName("Should run the overflow on the caller without counting a rejection under CALLER_RUNS")
+    void callerRuns_RunsOnSubmitter() throws Exception {
+        startExecutor(AsyncProperties.RejectionPolicy.CALLER_RUNS);
+        occupyWorker();
+        CountDownLatch queuedRan = new CountDownLatch(1);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executor.execute(queuedRan::countDown);
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertEquals(Thread.currentThread(), ranOn.get());
+        assertEquals(0.0, rejected());
+        assertEquals(1.0, queued());
+
+        release.countDown();
+        assertTrue(queuedRan.await(5, TimeUnit.SECONDS));
+        assertEquals(0.0, queued());
+    }
+
+    @Test
+    @DisplayName("Should count the rejection and leave the queue gauge untouched under ABORT")
+    void abort_CountsRejection() throws Exception {
+        startExecutor(AsyncProperties.RejectionPolicy.ABORT);
+        occupyWorker();
+        executor.execute(() -> {
+        });
+
+        TaskRejectedException e = assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {
+        }));
+
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(1.0, rejected());
+        assertEquals(1.0, queued());
+    }
+}
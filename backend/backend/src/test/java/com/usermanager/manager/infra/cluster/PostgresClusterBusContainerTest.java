@@ -0,0 +1,167 @@
+package com.usermanager.manager.infra.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Two PostgresClusterBus nodes on one real Postgres, each with its own pool.
+ * Runs only where Docker is available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresClusterBusContainerTest {
+
+    private static final String CHANNEL = "signals";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final BlockingQueue<ClusterMessage> receivedByA = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ClusterMessage> receivedByB = new LinkedBlockingQueue<>();
+    private final CountDownLatch reconnectedB = new CountDownLatch(1);
+    private HikariDataSource dataSourceB;
+    private PostgresClusterBus nodeA;
+    private PostgresClusterBus nodeB;
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        String migration = Files.readString(
+                Path.of("src/main/resources/db/migration/V40__create_table_cluster_message.sql"));
+        try (Connection connection = POSTGRES.createConnection("");
+                Statement statement = connection.createStatement()) {
+            statement.execute(migration);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        nodeA = start("node-a", dataSource(), receivedByA);
+        dataSourceB = dataSource();
+        nodeB = new PostgresClusterBus(dataSourceB, "node-b", 100);
+        nodeB.subscribe(CHANNEL, receivedByB::add);
+        nodeB.onReconnect(reconnectedB::countDown);
+        nodeB.afterPropertiesSet();
+        awaitListening(2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.destroy();
+        nodeB.destroy();
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource dataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(POSTGRES.getJdbcUrl());
+        dataSource.setUsername(POSTGRES.getUsername());
+        dataSource.setPassword(POSTGRES.getPassword());
+        dataSource.setMaximumPoolSize(2);
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+
+    private static PostgresClusterBus start(String nodeId, HikariDataSource dataSource,
+            BlockingQueue<ClusterMessage> received) {
+        PostgresClusterBus bus = new PostgresClusterBus(dataSource, nodeId, 100);
+        bus.subscribe(CHANNEL, received::add);
+        bus.afterPropertiesSet();
+        return bus;
+    }
+
+    /** Waits until the nodes have run LISTEN, so nothing the test publishes is lost. */
+    private static void awaitListening(int sessions) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (count("SELECT count(*) FROM pg_stat_activity WHERE query LIKE 'LISTEN %'") >= sessions) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Nodes did not LISTEN in time");
+    }
+
+    private static long count(String sql) throws Exception {
+        try (Connection connection = POSTGRES.createConnection("");
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver inline payloads to the other node and skip the sender")
+    void publish_Inline_ReachesOtherNode() throws Exception {
+        nodeA.publish(CHANNEL, "hello");
+
+        assertEquals(new ClusterMessage("node-a", "hello"), receivedByB.poll(5, TimeUnit.SECONDS));
+        assertNull(receivedByA.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should deliver oversized payloads through cluster_message")
+    void publish_Oversized_GoesByReference() throws Exception {
+        String large = "€".repeat(PostgresClusterBus.MAX_PAYLOAD_BYTES);
+
+        nodeA.publish(CHANNEL, large);
+
+        assertEquals(new ClusterMessage("node-a", large), receivedByB.poll(5, TimeUnit.SECONDS));
+        assertTrue(count("SELECT count(*) FROM cluster_message") >= 1);
+        assertNull(receivedByA.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should re-LISTEN and notify reconnect listeners after the listen connection is killed")
+    void listenConnectionKilled_Recovers() throws Exception {
+        long killed = count("SELECT count(pg_terminate_backend(pid)) FROM pg_stat_activity"
+                + " WHERE query LIKE 'LISTEN %'");
+        assertTrue(killed >= 2);
+
+        assertTrue(reconnectedB.await(15, TimeUnit.SECONDS));
+        awaitListening(2);
+        nodeA.publish(CHANNEL, "after reconnect");
+
+        assertEquals(new ClusterMessage("node-a", "after reconnect"), receivedByB.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should UNLISTEN before handing the listen connection back to the pool")
+    void destroy_ReturnsConnectionWithoutListens() throws Exception {
+        nodeB.destroy();
+
+        try (Connection first = dataSourceB.getConnection(); Connection second = dataSourceB.getConnection()) {
+            for (Connection connection : List.of(first, second)) {
+                try (Statement statement = connection.createStatement();
+                        ResultSet rs = statement.executeQuery("SELECT count(*) FROM pg_listening_channels()")) {
+                    rs.next();
+                    assertEquals(0L, rs.getLong(1));
+                }
+            }
+        }
+    }
+}
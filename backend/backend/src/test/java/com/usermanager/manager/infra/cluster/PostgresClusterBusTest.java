@@ -0,0 +1,133 @@
+package com.usermanager.manager.infra.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PostgresClusterBusTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement notify = mock(PreparedStatement.class);
+    private final PreparedStatement insert = mock(PreparedStatement.class);
+    private final PreparedStatement select = mock(PreparedStatement.class);
+    private PostgresClusterBus bus;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT pg_notify(?, ?)")).thenReturn(notify);
+        when(connection.prepareStatement("INSERT INTO cluster_message (payload) VALUES (?) RETURNING id"))
+                .thenReturn(insert);
+        when(connection.prepareStatement("SELECT payload FROM cluster_message WHERE id = ?")).thenReturn(select);
+        bus = new PostgresClusterBus(dataSource, "node-a", 10);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        bus.destroy();
+    }
+
+    @Test
+    @DisplayName("Should round-trip inline and reference envelopes")
+    void encodeDecode_RoundTrip() {
+        PostgresClusterBus.Envelope inline = PostgresClusterBus.decode(
+                PostgresClusterBus.inline("node-a", "x|y#1\nz"));
+        assertEquals("node-a", inline.origin());
+        assertEquals("x|y#1\nz", inline.payload());
+        assertFalse(inline.isReference());
+
+        PostgresClusterBus.Envelope reference = PostgresClusterBus.decode(
+                PostgresClusterBus.reference("node-a", 42L));
+        assertEquals("node-a", reference.origin());
+        assertTrue(reference.isReference());
+        assertEquals(42L, reference.reference());
+
+        assertEquals("", PostgresClusterBus.decode(PostgresClusterBus.inline("node-a", "")).payload());
+        assertNull(PostgresClusterBus.decode("garbage"));
+        assertNull(PostgresClusterBus.decode("node-a#not-a-number"));
+    }
+
+    @Test
+    @DisplayName("Should reject node ids containing the envelope separators")
+    void constructor_RejectsSeparatorsInNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new PostgresClusterBus(dataSource, "node|a", 10));
+        assertThrows(IllegalArgumentException.class, () -> new PostgresClusterBus(dataSource, "node#a", 10));
+    }
+
+    @Test
+    @DisplayName("Should measure the NOTIFY limit in UTF-8 bytes, not characters")
+    void fitsNotify_CountsBytes() {
+        assertTrue(PostgresClusterBus.fitsNotify("x".repeat(PostgresClusterBus.MAX_PAYLOAD_BYTES)));
+        assertFalse(PostgresClusterBus.fitsNotify("x".repeat(PostgresClusterBus.MAX_PAYLOAD_BYTES + 1)));
+        assertTrue(PostgresClusterBus.fitsNotify("€".repeat(PostgresClusterBus.MAX_PAYLOAD_BYTES / 3)));
+        assertFalse(PostgresClusterBus.fitsNotify("€".repeat(PostgresClusterBus.MAX_PAYLOAD_BYTES / 3 + 1)));
+    }
+
+    @Test
+    @DisplayName("Should send payloads that fit straight through NOTIFY")
+    void publish_SmallPayloadIsInline() throws Exception {
+        bus.publish("signals", "hello");
+
+        verify(notify, timeout(1000)).setString(2, "node-a|hello");
+        verify(notify, timeout(1000)).execute();
+        verify(insert, never()).executeQuery();
+    }
+
+    @Test
+    @DisplayName("Should store oversized payloads and notify only their id")
+    void publish_LargePayloadGoesByReference() throws Exception {
+        String large = "€".repeat(3000);
+        ResultSet generated = mock(ResultSet.class);
+        when(generated.next()).thenReturn(true);
+        when(generated.getLong(1)).thenReturn(42L);
+        when(insert.executeQuery()).thenReturn(generated);
+
+        bus.publish("signals", large);
+
+        verify(insert, timeout(1000)).setString(1, large);
+        verify(notify, timeout(1000)).setString(1, "chamagol_signals");
+        verify(notify, timeout(1000)).setString(2, "node-a#42");
+    }
+
+    @Test
+    @DisplayName("Should fetch referenced payloads and skip its own or missing messages")
+    void dispatch_FetchesReferencedPayload() throws Exception {
+        List<ClusterMessage> received = new ArrayList<>();
+        bus.subscribe("signals", received::add);
+        ResultSet found = mock(ResultSet.class);
+        when(found.next()).thenReturn(true, false);
+        when(found.getString(1)).thenReturn("big payload");
+        when(select.executeQuery()).thenReturn(found);
+
+        bus.dispatch(connection, "chamagol_signals", "node-b#42");
+        bus.dispatch(connection, "chamagol_signals", "node-b#43");
+        bus.dispatch(connection, "chamagol_signals", "node-a|own message");
+        bus.dispatch(connection, "chamagol_signals", "node-b|inline");
+
+        assertEquals(List.of(new ClusterMessage("node-b", "big payload"), new ClusterMessage("node-b", "inline")),
+                received);
+        verify(select).setLong(1, 42L);
+        verify(select).setLong(1, 43L);
+    }
+}
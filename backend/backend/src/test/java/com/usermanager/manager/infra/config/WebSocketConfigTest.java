@@ -0,0 +1,194 @@
+package com.usermanager.manager.infra.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import com.usermanager.manager.websocket.WebSocketAuthInterceptor;
+import com.usermanager.manager.websocket.broker.SlowConsumerHandlerDecorator;
+import com.usermanager.manager.websocket.broker.WebSocketBrokerProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WebSocketConfigTest {
+
+    private static final Duration SEND_TIME_LIMIT = Duration.ofMillis(100);
+    private static final DataSize SEND_BUFFER_LIMIT = DataSize.ofKilobytes(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch unblockClient = new CountDownLatch(1);
+    private final ExecutorService sender = Executors.newSingleThreadExecutor();
+    private final ExposedRegistration registration = new ExposedRegistration();
+    private SubProtocolWebSocketHandler subProtocolHandler;
+    private WebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        WebSocketBrokerProperties properties = new WebSocketBrokerProperties(SEND_TIME_LIMIT, SEND_BUFFER_LIMIT,
+                DataSize.ofKilobytes(64), new WebSocketBrokerProperties.Outbound(1, 1, 10));
+        new WebSocketConfig(mock(WebSocketAuthInterceptor.class), properties, meterRegistry)
+                .configureWebSocketTransport(registration);
+
+        // Same wiring Spring's STOMP configuration applies from the registration
+        subProtocolHandler = new SubProtocolWebSocketHandler(new ExecutorSubscribableChannel(),
+                new ExecutorSubscribableChannel());
+        subProtocolHandler.addProtocolHandler(new StompSubProtocolHandler());
+        subProtocolHandler.setSendTimeLimit(registration.sendTimeLimit());
+        subProtocolHandler.setSendBufferSizeLimit(registration.sendBufferSizeLimit());
+        subProtocolHandler.start();
+
+        handler = subProtocolHandler;
+        for (WebSocketHandlerDecoratorFactory factory : registration.decoratorFactories()) {
+            handler = factory.decorate(handler);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblockClient.countDown();
+        sender.shutdownNow();
+        subProtocolHandler.stop();
+    }
+
+    private double slowConsumerDisconnects() {
+        return meterRegistry.get("websocket.sessions.slow_consumer_disconnects").counter().count();
+    }
+
+    /**
+     * Session whose close notifies the handler, as the container does. A slow
+     * client blocks in its first send until the test ends.
+     */
+    private WebSocketSession session(String id, boolean slow, CountDownLatch firstSendStarted) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            firstSendStarted.countDown();
+            if (slow) {
+                unblockClient.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(session).sendMessage(any());
+        doAnswer(invocation -> {
+            handler.afterConnectionClosed(session, invocation.getArgument(0));
+            return null;
+        }).when(session).close(any(CloseStatus.class));
+        handler.afterConnectionEstablished(session);
+        return session;
+    }
+
+    private static Message<byte[]> signal(String sessionId, int size) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination("/topic/messages");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(new byte[size], accessor.getMessageHeaders());
+    }
+
+    /** First send, which leaves the slow client stuck on the socket. */
+    private void stallClient(String sessionId, CountDownLatch firstSendStarted) throws InterruptedException {
+        sender.execute(() -> subProtocolHandler.handleMessage(signal(sessionId, 16)));
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should apply the configured limits and the slow-consumer decorator to the transport")
+    void configureWebSocketTransport_AppliesLimits() {
+        assertEquals((int) SEND_TIME_LIMIT.toMillis(), registration.sendTimeLimit());
+        assertEquals((int) SEND_BUFFER_LIMIT.toBytes(), registration.sendBufferSizeLimit());
+        assertInstanceOf(SlowConsumerHandlerDecorator.class, handler);
+    }
+
+    @Test
+    @DisplayName("Should close and count a session whose send buffer overflows, leaving others alone")
+    void sendBufferOverflow_ClosesOnlySlowSession() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch normalStarted = new CountDownLatch(1);
+        WebSocketSession slow = session("slow", true, slowStarted);
+        WebSocketSession normal = session("normal", false, normalStarted);
+        stallClient("slow", slowStarted);
+
+        subProtocolHandler.handleMessage(signal("slow", (int) SEND_BUFFER_LIMIT.toBytes() * 2));
+        subProtocolHandler.handleMessage(signal("normal", (int) SEND_BUFFER_LIMIT.toBytes() * 2));
+
+        verify(slow).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(normal, never()).close(any(CloseStatus.class));
+        verify(normal, times(1)).sendMessage(any(WebSocketMessage.class));
+        assertEquals(1.0, slowConsumerDisconnects());
+    }
+
+    @Test
+    @DisplayName("Should close and count a session stuck in a send for longer than the time limit")
+    void sendTimeLimit_ClosesStuckSession() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        WebSocketSession slow = session("slow", true, slowStarted);
+        stallClient("slow", slowStarted);
+
+        Thread.sleep(SEND_TIME_LIMIT.toMillis() * 2);
+        subProtocolHandler.handleMessage(signal("slow", 16));
+
+        verify(slow).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1.0, slowConsumerDisconnects());
+    }
+
+    @Test
+    @DisplayName("Should not count sessions closed for other reasons")
+    void normalClose_IsNotCounted() throws Exception {
+        WebSocketSession session = session("normal", false, new CountDownLatch(1));
+
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        assertEquals(0.0, slowConsumerDisconnects());
+    }
+
+    /** Exposes the registration's protected getters. */
+    private static final class ExposedRegistration extends WebSocketTransportRegistration {
+
+        int sendTimeLimit() {
+            return getSendTimeLimit();
+        }
+
+        int sendBufferSizeLimit() {
+            return getSendBufferSizeLimit();
+        }
+
+        List<WebSocketHandlerDecoratorFactory> decoratorFactories() {
+            return getDecoratorFactories();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.usermanager.manager.infra.listener;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.usermanager.manager.dto.notification.PushRecipient;
+import com.usermanager.manager.infra.event.MessageCreatedEvent;
+import com.usermanager.manager.infra.service.PushNotificationService;
+import com.usermanager.manager.service.device.DeviceService;
+import com.usermanager.manager.websocket.presence.PresenceService;
+
+@ExtendWith(MockitoExtension.class)
+class MessageListenerTest {
+
+    @Mock private DeviceService deviceService;
+    @Mock private PushNotificationService pushNotificationService;
+    @Mock private PresenceService presenceService;
+
+    @InjectMocks
+    private MessageListener messageListener;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(messageListener, "pageSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should push only to offline users, page by page")
+    @SuppressWarnings("unchecked")
+    void handleMessageCreatedEvent_PushesOfflineUsersPerPage() {
+        when(deviceService.forEachActiveRecipientPage(eq(2), any())).thenAnswer(invocation -> {
+            Consumer<List<PushRecipient>> consumer = invocation.getArgument(1);
+            consumer.accept(List.of(new PushRecipient(1L, "t1"), new PushRecipient(2L, "t2")));
+            consumer.accept(List.of(new PushRecipient(3L, "t3")));
+            return 3L;
+        });
+        when(presenceService.filterOffline(new long[] { 1L, 2L })).thenReturn(new long[] { 2L });
+        when(presenceService.filterOffline(new long[] { 3L })).thenReturn(new long[0]);
+
+        messageListener.handleMessageCreatedEvent(new MessageCreatedEvent(10L, "Novo sinal", "EURUSD compra"));
+
+        verify(pushNotificationService).sendToTokens(eq(List.of("t2")), anyString(), anyString());
+        verify(pushNotificationService, never()).sendToTokens(eq(List.of("t3")), anyString(), anyString());
+    }
+}
@@ -0,0 +1,144 @@
+package com.usermanager.manager.infra.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.usermanager.manager.dto.message.ClaimedOutboxEntry;
+import com.usermanager.manager.infra.event.MessageCreatedEvent;
+import com.usermanager.manager.infra.listener.MessageListener;
+import com.usermanager.manager.repository.MessageOutboxRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class MessageOutboxRelayTest {
+
+    @Mock
+    private MessageOutboxRepository outboxRepository;
+
+    @Mock
+    private MessageListener messageListener;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MessageOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new MessageOutboxRelay(outboxRepository, messageListener, meterRegistry, 1, 10,
+                Duration.ofSeconds(1), Duration.ofMinutes(5), 3);
+    }
+
+    private final ZonedDateTime claimedUntil = ZonedDateTime.now().plusMinutes(5);
+    private final ZonedDateTime renewedUntil = claimedUntil.plusSeconds(30);
+
+    private ClaimedOutboxEntry entry(long id, int attempts) {
+        return new ClaimedOutboxEntry(id, 100 + id, "Nova mensagem", "conteúdo", attempts,
+                ZonedDateTime.now().minusSeconds(1), claimedUntil);
+    }
+
+    /** The lease is still ours when the relay gets to this entry. */
+    private void leaseHeld(long id) {
+        when(outboxRepository.renew(id, claimedUntil, Duration.ofMinutes(5))).thenReturn(Optional.of(renewedUntil));
+    }
+
+    private double events(String result) {
+        return meterRegistry.get("outbox.relay.events").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should dispatch claimed events to the listener and mark them done")
+    void relayBatch_DispatchesAndMarksDone() {
+        when(outboxRepository.claim(10, Duration.ofMinutes(5))).thenReturn(List.of(entry(1, 1), entry(2, 1)));
+        leaseHeld(1L);
+        leaseHeld(2L);
+        when(outboxRepository.markDone(any(Long.class), eq(renewedUntil))).thenReturn(true);
+
+        assertEquals(2, relay.relayBatch());
+
+        ArgumentCaptor<MessageCreatedEvent> captor = ArgumentCaptor.forClass(MessageCreatedEvent.class);
+        verify(messageListener, times(2)).handleMessageCreatedEvent(captor.capture());
+        assertEquals(101L, captor.getAllValues().get(0).messageId());
+        verify(outboxRepository).markDone(1L, renewedUntil);
+        verify(outboxRepository).markDone(2L, renewedUntil);
+        assertEquals(2.0, events("dispatched"));
+        assertEquals(2, meterRegistry.get("outbox.relay.lag").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should release failed events for retry until attempts are exhausted")
+    void relayBatch_RetriesThenFails() {
+        when(outboxRepository.claim(10, Duration.ofMinutes(5))).thenReturn(List.of(entry(1, 1), entry(2, 3)));
+        leaseHeld(1L);
+        leaseHeld(2L);
+        when(outboxRepository.markFailed(any(Long.class), eq(renewedUntil), any(), any(), any(Boolean.class)))
+                .thenReturn(true);
+        doThrow(new IllegalStateException("expo fora do ar"))
+                .when(messageListener).handleMessageCreatedEvent(any());
+
+        relay.relayBatch();
+
+        verify(outboxRepository).markFailed(eq(1L), eq(renewedUntil), eq("expo fora do ar"), any(Duration.class),
+                eq(false));
+        verify(outboxRepository).markFailed(eq(2L), eq(renewedUntil), eq("expo fora do ar"), any(Duration.class),
+                eq(true));
+        verify(outboxRepository, never()).markDone(any(Long.class), any());
+        assertEquals(1.0, events("retried"));
+        assertEquals(1.0, events("failed"));
+    }
+
+    @Test
+    @DisplayName("Should skip entries whose lease expired while earlier ones were being sent")
+    void relayBatch_LeaseExpiredMidBatch_SkipsRest() {
+        when(outboxRepository.claim(10, Duration.ofMinutes(5)))
+                .thenReturn(List.of(entry(1, 1), entry(2, 1), entry(3, 1)));
+        leaseHeld(1L);
+        // Another worker retook 2 and 3 after the lease ran out during the first fan-out
+        when(outboxRepository.renew(eq(2L), eq(claimedUntil), any())).thenReturn(Optional.empty());
+        when(outboxRepository.renew(eq(3L), eq(claimedUntil), any())).thenReturn(Optional.empty());
+        when(outboxRepository.markDone(1L, renewedUntil)).thenReturn(true);
+
+        assertEquals(3, relay.relayBatch());
+
+        ArgumentCaptor<MessageCreatedEvent> captor = ArgumentCaptor.forClass(MessageCreatedEvent.class);
+        verify(messageListener, times(1)).handleMessageCreatedEvent(captor.capture());
+        assertEquals(101L, captor.getValue().messageId());
+        verify(outboxRepository, never()).markDone(eq(2L), any());
+        verify(outboxRepository, never()).markDone(eq(3L), any());
+        assertEquals(1.0, events("dispatched"));
+        assertEquals(2.0, events("lease_lost"));
+    }
+
+    @Test
+    @DisplayName("Should not count an event as dispatched when its lease was lost during the send")
+    void relayBatch_LeaseLostDuringSend_NotCounted() {
+        when(outboxRepository.claim(10, Duration.ofMinutes(5))).thenReturn(List.of(entry(1, 1)));
+        leaseHeld(1L);
+        when(outboxRepository.markDone(1L, renewedUntil)).thenReturn(false);
+
+        relay.relayBatch();
+
+        verify(messageListener).handleMessageCreatedEvent(any());
+        assertEquals(0.0, events("dispatched"));
+        assertEquals(1.0, events("lease_lost"));
+    }
+}
@@ -0,0 +1,179 @@
+package com.usermanager.manager.infra.payment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.mercadopago.exceptions.MPApiException;
+import com.mercadopago.exceptions.MPException;
+import com.mercadopago.net.MPDefaultHttpClient;
+import com.mercadopago.resources.payment.Payment;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MercadoPagoGatewayTest {
+    private static final long STUB_LATENCY_MILLIS = 200;
+
+    private final AtomicInteger paymentRequests = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile String paymentStatus = "approved";
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private MercadoPagoGateway gateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/v1/payments/", this::handlePayment);
+        server.start();
+
+        MercadoPagoClientProperties properties = new MercadoPagoClientProperties(
+                "http://127.0.0.1:" + server.getAddress().getPort(),
+                Duration.ofSeconds(1), Duration.ofSeconds(2),
+                new MercadoPagoClientProperties.Circuit(3, Duration.ofMinutes(1)));
+        meterRegistry = new SimpleMeterRegistry();
+        // O client padrão do SDK só registra https; o stub local é http
+        gateway = new MercadoPagoGateway(properties, meterRegistry,
+                new MPDefaultHttpClient(HttpClients.createDefault()) {
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /** Stub de GET /v1/payments/{id}: responde após STUB_LATENCY_MILLIS com o status configurado. */
+    private void handlePayment(HttpExchange exchange) throws IOException {
+        paymentRequests.incrementAndGet();
+        try {
+            Thread.sleep(STUB_LATENCY_MILLIS);
+            String id = exchange.getRequestURI().getPath().substring("/v1/payments/".length());
+            String json = status == 200
+                    ? "{\"id\": " + id + ", \"status\": \"" + paymentStatus + "\", \"order\": {\"id\": 456}}"
+                    : "{\"message\": \"internal_error\", \"status\": " + status + "}";
+            byte[] response = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent lookups of the same payment into one request")
+    void getPayment_CoalescesConcurrentLookups() throws Exception {
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Payment>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                    return gateway.getPayment(123L);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor));
+        }
+        start.countDown();
+
+        for (CompletableFuture<Payment> result : results) {
+            Payment payment = result.join();
+            assertEquals(123L, payment.getId());
+            assertEquals("approved", payment.getStatus());
+            assertEquals(456L, payment.getOrder().getId());
+        }
+        executor.shutdown();
+
+        assertEquals(1, paymentRequests.get());
+        assertEquals(1, meterRegistry.get("mercadopago.client.requests")
+                .tags("endpoint", "payments.get", "outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should read the current status for each new notification of the same payment")
+    void getPayment_DoesNotReuseFinishedLookups() throws Exception {
+        paymentStatus = "pending";
+        assertEquals("pending", gateway.getPayment(123L).getStatus());
+
+        paymentStatus = "approved";
+        assertEquals("approved", gateway.getPayment(123L).getStatus());
+        assertEquals(2, paymentRequests.get());
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after consecutive server errors and stop calling the API")
+    void getPayment_OpensCircuitOnServerErrors() {
+        status = 500;
+
+        for (long id = 1; id <= 3; id++) {
+            long paymentId = id;
+            assertThrows(MPApiException.class, () -> gateway.getPayment(paymentId));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, gateway.circuitState("payments.get"));
+
+        assertThrows(MPException.class, () -> gateway.getPayment(4L));
+        assertEquals(3, paymentRequests.get());
+        assertEquals(1, meterRegistry.get("mercadopago.client.requests")
+                .tags("endpoint", "payments.get", "outcome", "short_circuited").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should not cache failed lookups")
+    void getPayment_RetriesAfterFailure() throws Exception {
+        status = 503;
+        assertThrows(MPApiException.class, () -> gateway.getPayment(7L));
+
+        status = 200;
+        assertEquals("approved", gateway.getPayment(7L).getStatus());
+        assertEquals(2, paymentRequests.get());
+    }
+
+    @Test
+    @DisplayName("Should let a single trial call through once the open duration has passed")
+    void circuitBreaker_HalfOpenAllowsOneTrial() {
+        AtomicInteger now = new AtomicInteger();
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofNanos(100), now::get);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(false, breaker.tryAcquire());
+
+        now.set(100);
+        assertEquals(true, breaker.tryAcquire());
+        assertEquals(false, breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(true, breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,137 @@
+package com.usermanager.manager.infra.push;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class ExpoPushSenderTest {
+    private static final int DEVICES = 50_000;
+    private static final long STUB_LATENCY_MILLIS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger maxBatch = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(32));
+        server.createContext("/--/api/v2/push/send", this::handle);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/--/api/v2/push/send";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /** Stub da Expo: responde um ticket por mensagem, marcando tokens "-dead" como não registrados. */
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            List<Map<String, Object>> messages = objectMapper.readValue(exchange.getRequestBody(),
+                    new TypeReference<List<Map<String, Object>>>() {
+                    });
+            requests.incrementAndGet();
+            maxBatch.accumulateAndGet(messages.size(), Math::max);
+
+            List<Map<String, Object>> tickets = new ArrayList<>(messages.size());
+            for (Map<String, Object> message : messages) {
+                String token = String.valueOf(message.get("to"));
+                if (token.endsWith("-dead")) {
+                    tickets.add(Map.of(
+                            "status", "error",
+                            "message", token + " is not a registered push notification recipient",
+                            "details", Map.of("error", "DeviceNotRegistered")));
+                } else {
+                    tickets.add(Map.of("status", "ok", "id", "ticket-" + token));
+                }
+            }
+
+            Thread.sleep(STUB_LATENCY_MILLIS);
+            byte[] response = objectMapper.writeValueAsString(Map.of("data", tickets))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fan out 50k devices in batches of 100 with bounded concurrency")
+    void send_FanOutFiftyThousandDevices() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        ExpoPushSender sender = new ExpoPushSender(url, 100, executor);
+        List<String> tokens = new ArrayList<>(DEVICES);
+        for (int i = 0; i < DEVICES; i++) {
+            tokens.add(i % 1000 == 0 ? "ExponentPushToken[" + i + "]-dead" : "ExponentPushToken[" + i + "]");
+        }
+
+        PushFanOutResult result = sender.send(tokens, "Novo sinal", "clique para abrir o novo sinal");
+        executor.shutdown();
+
+        log.info("Fan-out de {} devices em {} ms ({} requisições, pico de {} simultâneas)",
+                DEVICES, result.elapsed().toMillis(), requests.get(), maxInFlight.get());
+
+        assertEquals(DEVICES, result.requested());
+        assertEquals(DEVICES / 100, requests.get());
+        assertEquals(100, maxBatch.get());
+        assertTrue(maxInFlight.get() <= 8);
+        assertEquals(DEVICES - 50, result.delivered());
+        assertEquals(50, result.failed());
+        assertEquals(50, result.unregisteredTokens().size());
+    }
+
+    @Test
+    @DisplayName("Should report every ticket of a chunk as failed when the request fails")
+    void send_ReportsFailedChunk() {
+        server.stop(0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ExpoPushSender sender = new ExpoPushSender(url, 100, executor);
+
+        PushFanOutResult result = sender.send(List.of("a", "b", "c"), "t", "b");
+        executor.shutdown();
+
+        assertEquals(0, result.delivered());
+        assertEquals(3, result.failed());
+        assertTrue(result.unregisteredTokens().isEmpty());
+    }
+}
@@ -0,0 +1,58 @@
+package com.usermanager.manager.infra.retention;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RetentionEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should delete in bounded batches until a short batch and report metrics")
+    void run_DeletesInBatchesUntilShortBatch() {
+        RetentionEngine engine = new RetentionEngine(
+                new RetentionProperties(100, Duration.ZERO, Duration.ofMinutes(1)), meterRegistry);
+        AtomicInteger remaining = new AtomicInteger(250);
+        List<Integer> limits = new ArrayList<>();
+
+        RetentionRun run = engine.run("refresh_token", limit -> {
+            limits.add(limit);
+            int removed = Math.min(limit, remaining.get());
+            remaining.addAndGet(-removed);
+            return removed;
+        });
+
+        assertEquals(List.of(100, 100, 100), limits);
+        assertEquals(250, run.deleted());
+        assertEquals(3, run.batches());
+        assertTrue(run.complete());
+        assertEquals(250, meterRegistry.get("retention.rows.deleted").tag("task", "refresh_token").counter().count());
+        assertEquals(3, meterRegistry.get("retention.batches").tag("task", "refresh_token").counter().count());
+        assertEquals(1, meterRegistry.get("retention.run.duration").tag("task", "refresh_token")
+                .tag("complete", "true").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should stop when the run exceeds its time budget and leave the rest for the next run")
+    void run_StopsAtMaxRunDuration() {
+        RetentionEngine engine = new RetentionEngine(
+                new RetentionProperties(10, Duration.ofMillis(20), Duration.ofMillis(50)), meterRegistry);
+
+        RetentionRun run = engine.run("verification_token", limit -> limit);
+
+        assertFalse(run.complete());
+        assertTrue(run.batches() >= 1 && run.batches() <= 3, "lotes: " + run.batches());
+        assertEquals(run.batches() * 10L, run.deleted());
+    }
+}
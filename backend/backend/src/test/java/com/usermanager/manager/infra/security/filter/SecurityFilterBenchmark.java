@@ -0,0 +1,119 @@
+package com.usermanager.manager.infra.security.filter;
+
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.usermanager.manager.enums.Status;
+import com.usermanager.manager.enums.Subscription;
+import com.usermanager.manager.infra.cluster.LocalClusterBus;
+import com.usermanager.manager.infra.security.principal.UserPrincipalCache;
+import com.usermanager.manager.infra.security.token.SecurityVersionRegistry;
+import com.usermanager.manager.infra.security.token.TokenService;
+import com.usermanager.manager.infra.security.token.TokenVerificationCache;
+import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.repository.UserRepository;
+
+/**
+ * Custo de autenticar um token de acesso no SecurityFilter, antes e depois do
+ * cache de verificação:
+ *
+ * - validateAndFindByLogin: caminho antigo, que montava o Algorithm HMAC a
+ *   cada chamada, verificava o token e buscava o usuário pelo login. A busca
+ *   aqui é um Map em memória; o round-trip ao banco de verdade só aumentaria
+ *   a diferença.
+ * - cacheMiss: token ainda não verificado, com verificação e principal
+ *   montado a partir das claims (inclui invalidar a entrada antes).
+ * - cacheHit: token já verificado, o caso de toda requisição depois da primeira.
+ *
+ * Para rodar: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.usermanager.manager.infra.security.filter.SecurityFilterBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityFilterBenchmark {
+    private static final String SECRET = "benchmark-secret";
+    private static final String LOGIN = "user@test.com";
+
+    private Map<String, UserDetails> usersByLogin;
+    private TokenVerificationCache tokenVerificationCache;
+    private SecurityFilter filter;
+    private String token;
+
+    @Setup
+    public void setup() {
+        User user = new User("Benchmark User", LOGIN, "hash");
+        user.setId(42L);
+        user.setEnabled(true);
+        user.setStatus(Status.ACTIVE);
+        user.setSubscription(Subscription.VIP);
+        usersByLogin = Map.of(LOGIN, user);
+
+        TokenService tokenService = new TokenService(SECRET);
+        token = tokenService.generateToken(user);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        SecurityVersionRegistry registry = new SecurityVersionRegistry(
+                new LocalClusterBus("benchmark", new LocalClusterBus.Hub()), userRepository,
+                Duration.ofHours(4), 1000);
+        tokenVerificationCache = new TokenVerificationCache(50_000);
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(userRepository, registry, 300, 50_000);
+        filter = new SecurityFilter(tokenService, userPrincipalCache, tokenVerificationCache, null);
+        filter.createAuthentication(token);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken validateAndFindByLogin() {
+        String login = JWT.require(Algorithm.HMAC256(SECRET))
+                .withIssuer("UserManager")
+                .build()
+                .verify(token)
+                .getSubject();
+        UserDetails user = Optional.ofNullable(usersByLogin.get(login)).orElseThrow(
+                () -> new BadCredentialsException("Bad credentials: verify login or password"));
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken cacheMiss() {
+        tokenVerificationCache.invalidateSubject(LOGIN);
+        return filter.createAuthentication(token);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken cacheHit() {
+        return filter.createAuthentication(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecurityFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.usermanager.manager.infra.security.password;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Mede o custo de um matches do bcrypt em cada strength (e do Argon2 padrão)
+ * neste host e indica o maior strength que cabe na latência alvo de login,
+ * para api.security.password.bcrypt-strength.
+ *
+ * Para rodar (alvo padrão de 250 ms):
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.usermanager.manager.infra.security.password.PasswordEncoderBenchmark
+ * -Dexec.args=250
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({ "10", "11", "12", "13", "14" })
+    public int strength;
+
+    private BCryptPasswordEncoder bcrypt;
+    private String bcryptHash;
+
+    @Setup
+    public void setup() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        bcryptHash = bcrypt.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean bcrypt() {
+        return bcrypt.matches(PASSWORD, bcryptHash);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Argon2State {
+        Argon2PasswordEncoder encoder;
+        String hash;
+
+        @Setup
+        public void setup() {
+            encoder = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+            hash = encoder.encode(PASSWORD);
+        }
+    }
+
+    @Benchmark
+    public boolean argon2(Argon2State state) {
+        return state.encoder.matches(PASSWORD, state.hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        double targetMillis = args.length > 0 ? Double.parseDouble(args[0]) : 250;
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(PasswordEncoderBenchmark.class.getSimpleName() + ".bcrypt")
+                .build()).run();
+
+        int chosen = 0;
+        for (RunResult result : results) {
+            int strength = Integer.parseInt(result.getParams().getParam("strength"));
+            if (result.getPrimaryResult().getScore() <= targetMillis && strength > chosen) {
+                chosen = strength;
+            }
+        }
+        if (chosen == 0) {
+            System.out.printf("Nenhum strength cabe em %.0f ms neste host; use 10 e reveja o alvo%n", targetMillis);
+        } else {
+            System.out.printf("api.security.password.bcrypt-strength: %d (alvo %.0f ms por login)%n", chosen, targetMillis);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.usermanager.manager.infra.security.password;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.usermanager.manager.exception.authentication.PasswordHashingOverloadedException;
+import com.usermanager.manager.infra.config.PasswordHashingConfig;
+import com.usermanager.manager.infra.security.password.PasswordHashingProperties.Algorithm;
+
+class PasswordHashingServiceTest {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should match legacy unprefixed bcrypt hashes and flag them for rehash")
+    void legacyHash_MatchesAndIsRehashed() {
+        PasswordHashingService service = service(Algorithm.BCRYPT, 4, 1);
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(service.matches("secret", legacy));
+        assertFalse(service.matches("wrong", legacy));
+
+        String rehashed = service.rehashIfNeeded("secret", legacy).orElseThrow();
+        assertTrue(rehashed.startsWith("{bcrypt}"));
+        assertTrue(service.matches("secret", rehashed));
+        assertTrue(service.rehashIfNeeded("secret", rehashed).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rehash bcrypt passwords when the configured algorithm is Argon2")
+    void bcryptHash_IsRehashedToArgon2() {
+        PasswordHashingService service = service(Algorithm.ARGON2, 4, 1);
+        String bcrypt = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(service.matches("secret", bcrypt));
+        String rehashed = service.rehashIfNeeded("secret", bcrypt).orElseThrow();
+        assertTrue(rehashed.startsWith("{argon2}"));
+        assertTrue(service.matches("secret", rehashed));
+    }
+
+    @Test
+    @DisplayName("Should shed hashing requests once the pool and its queue are full")
+    void saturatedPool_RejectsImmediately() throws Exception {
+        PasswordHashingService service = service(Algorithm.BCRYPT, 4, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+
+        try {
+            assertThrows(PasswordHashingOverloadedException.class, () -> service.encode("secret"));
+            assertTrue(service.rehashIfNeeded("secret", new BCryptPasswordEncoder(4).encode("secret")).isEmpty());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not hash a queued password once its caller has timed out")
+    void timedOutTask_IsNotHashed() throws Exception {
+        AtomicInteger hashed = new AtomicInteger();
+        PasswordEncoder counting = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashed.incrementAndGet();
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        // Room for the timed-out task and for the sentinel queued behind it
+        PasswordHashingService service = service(counting, Duration.ofMillis(100), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThrows(PasswordHashingOverloadedException.class, () -> service.encode("secret"));
+        release.countDown();
+        executor.execute(finished::countDown);
+        finished.await();
+
+        assertEquals(0, hashed.get());
+    }
+
+    private PasswordHashingService service(Algorithm algorithm, int strength, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties(algorithm, strength, Duration.ofSeconds(5));
+        return service(new PasswordHashingConfig().passwordEncoder(properties), properties.timeout(), queueCapacity);
+    }
+
+    private PasswordHashingService service(PasswordEncoder encoder, Duration timeout, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties(Algorithm.BCRYPT, 4, timeout);
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return new PasswordHashingService(encoder, executor, properties);
+    }
+}
@@ -0,0 +1,103 @@
+package com.usermanager.manager.infra.security.principal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.usermanager.manager.enums.Status;
+import com.usermanager.manager.infra.event.UserChangedEvent;
+import com.usermanager.manager.infra.security.token.SecurityVersionRegistry;
+import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserPrincipal;
+import com.usermanager.manager.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalCacheTest {
+
+    private static final String LOGIN = "user@test.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SecurityVersionRegistry securityVersionRegistry;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private UserPrincipalCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache(userRepository, securityVersionRegistry, 300, 100, nanos::get);
+        user = new User();
+        user.setId(1L);
+        user.setLogin(LOGIN);
+        user.setEnabled(true);
+        user.setStatus(Status.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should load the principal once and serve later lookups from the cache")
+    void get_CachesPrincipal() {
+        when(userRepository.findUserByLogin(LOGIN)).thenReturn(Optional.of(user));
+
+        Optional<UserPrincipal> first = cache.get(LOGIN);
+        Optional<UserPrincipal> second = cache.get(LOGIN);
+
+        assertTrue(first.isPresent());
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findUserByLogin(LOGIN);
+    }
+
+    @Test
+    @DisplayName("Should reload the principal after a UserChangedEvent for that login")
+    void onUserChanged_EvictsPrincipal() {
+        when(userRepository.findUserByLogin(LOGIN)).thenReturn(Optional.of(user));
+        assertTrue(cache.get(LOGIN).orElseThrow().isEnabled());
+
+        user.setEnabled(false);
+        cache.onUserChanged(new UserChangedEvent(1L, LOGIN, user.getSecurityVersion(), true));
+
+        assertFalse(cache.get(LOGIN).orElseThrow().isEnabled());
+        verify(userRepository, times(2)).findUserByLogin(LOGIN);
+    }
+
+    @Test
+    @DisplayName("Should reload the principal once the TTL has passed")
+    void get_ExpiresAfterTtl() {
+        when(userRepository.findUserByLogin(LOGIN)).thenReturn(Optional.of(user));
+        cache.get(LOGIN);
+
+        nanos.addAndGet(Duration.ofSeconds(299).toNanos());
+        cache.get(LOGIN);
+        verify(userRepository, times(1)).findUserByLogin(LOGIN);
+
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        cache.get(LOGIN);
+        verify(userRepository, times(2)).findUserByLogin(LOGIN);
+    }
+
+    @Test
+    @DisplayName("Should not cache a missing user")
+    void get_DoesNotCacheMisses() {
+        when(userRepository.findUserByLogin(LOGIN)).thenReturn(Optional.empty());
+
+        assertTrue(cache.get(LOGIN).isEmpty());
+        assertTrue(cache.get(LOGIN).isEmpty());
+        verify(userRepository, times(2)).findUserByLogin(LOGIN);
+    }
+}
@@ -0,0 +1,71 @@
+package com.usermanager.manager.infra.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitProperties properties = new RateLimitProperties(2, Duration.ofMinutes(1),
+                RateLimitProperties.KeyType.USER, 1000, Duration.ofMinutes(10),
+                List.of(new RateLimitProperties.Route("/api/auth/login", 1, Duration.ofMinutes(1),
+                        RateLimitProperties.KeyType.IP)));
+        rateLimiter = new RateLimiter(new CaffeineBucketStore(1000, Duration.ofMinutes(10)), properties,
+                meterRegistry);
+    }
+
+    private MockHttpServletRequest request(String path, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRequestURI(path);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per authenticated user behind the same IP")
+    void tryConsume_SeparatesUsersBehindSameIp() {
+        assertTrue(rateLimiter.tryConsume(request("/api/message", "10.0.0.1"), "a@example.com"));
+        assertTrue(rateLimiter.tryConsume(request("/api/message", "10.0.0.1"), "a@example.com"));
+        assertFalse(rateLimiter.tryConsume(request("/api/message", "10.0.0.1"), "a@example.com"));
+
+        assertTrue(rateLimiter.tryConsume(request("/api/message", "10.0.0.1"), "b@example.com"));
+        assertEquals(1.0, meterRegistry.get("security.ratelimit.rejections").tag("rule", "default")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should apply explicit route rules to public routes only when configured")
+    void tryConsumeRoute_AppliesOnlyConfiguredRoutes() {
+        assertTrue(rateLimiter.tryConsumeRoute(request("/api/auth/login", "10.0.0.2")));
+        assertFalse(rateLimiter.tryConsumeRoute(request("/api/auth/login", "10.0.0.2")));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimiter.tryConsumeRoute(request("/api/auth/register", "10.0.0.2")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report live buckets through the gauge")
+    void gauge_ReportsLiveBuckets() {
+        rateLimiter.tryConsume(request("/api/message", "10.0.0.3"), null);
+        rateLimiter.tryConsume(request("/api/message", "10.0.0.4"), null);
+
+        assertEquals(2.0, meterRegistry.get("security.ratelimit.buckets").gauge().value());
+    }
+}
@@ -0,0 +1,127 @@
+package com.usermanager.manager.infra.security.token;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.usermanager.manager.enums.Status;
+import com.usermanager.manager.enums.Subscription;
+import com.usermanager.manager.infra.cluster.ClusterBus;
+import com.usermanager.manager.infra.cluster.LocalClusterBus;
+import com.usermanager.manager.infra.event.UserChangedEvent;
+import com.usermanager.manager.model.security.AccessClaims;
+import com.usermanager.manager.model.user.UserRole;
+import com.usermanager.manager.repository.UserRepository;
+
+class SecurityVersionRegistryTest {
+
+    private SecurityVersionRegistry nodeA;
+    private SecurityVersionRegistry nodeB;
+
+    @BeforeEach
+    void setUp() {
+        LocalClusterBus.Hub hub = new LocalClusterBus.Hub();
+        nodeA = new SecurityVersionRegistry(new LocalClusterBus("a", hub), mock(UserRepository.class),
+                Duration.ofHours(4), 1000);
+        nodeB = new SecurityVersionRegistry(new LocalClusterBus("b", hub), mock(UserRepository.class),
+                Duration.ofHours(4), 1000);
+    }
+
+    private static AccessClaims claims(long userId, int securityVersion) {
+        return claims(userId, securityVersion, Instant.now());
+    }
+
+    private static AccessClaims claims(long userId, int securityVersion, Instant issuedAt) {
+        return new AccessClaims(userId, UserRole.ROLE_USER, Subscription.FREE, Status.ACTIVE, securityVersion,
+                issuedAt);
+    }
+
+    @Test
+    @DisplayName("Should accept any version for users that never changed")
+    void isCurrent_UnknownUser() {
+        assertTrue(nodeA.isCurrent(claims(42L, 0)));
+    }
+
+    @Test
+    @DisplayName("Should reject older versions on every node once a change is committed")
+    void onUserChanged_RevokesOlderTokensAcrossNodes() {
+        nodeA.onUserChanged(new UserChangedEvent(42L, "user@test.com", 2, true));
+
+        assertFalse(nodeA.isCurrent(claims(42L, 1)));
+        assertFalse(nodeB.isCurrent(claims(42L, 1)));
+        assertTrue(nodeB.isCurrent(claims(42L, 2)));
+        assertTrue(nodeB.isCurrent(claims(7L, 0)));
+    }
+
+    @Test
+    @DisplayName("Should never move the minimum version backwards")
+    void advance_IgnoresOlderVersions() {
+        assertTrue(nodeA.advance(42L, 3));
+        assertFalse(nodeA.advance(42L, 2));
+
+        assertFalse(nodeA.isCurrent(claims(42L, 2)));
+        assertTrue(nodeA.isCurrent(claims(42L, 3)));
+    }
+
+    @Test
+    @DisplayName("Should ignore saves that did not change the security version")
+    void onUserChanged_IgnoresUnchangedVersion() {
+        nodeA.onUserChanged(new UserChangedEvent(42L, "user@test.com", 5, false));
+
+        assertTrue(nodeA.isCurrent(claims(42L, 0)));
+        assertTrue(nodeB.isCurrent(claims(42L, 0)));
+    }
+
+    @Test
+    @DisplayName("Should fail closed for tokens issued before a revocation evicted by size")
+    void sizeEviction_RejectsOlderTokensOfUnknownUsers() {
+        SecurityVersionRegistry small = new SecurityVersionRegistry(
+                new LocalClusterBus("c", new LocalClusterBus.Hub()), mock(UserRepository.class),
+                Duration.ofHours(4), 1);
+        Instant before = Instant.now().minusSeconds(60);
+
+        for (long userId = 1; userId <= 10; userId++) {
+            small.advance(userId, 1);
+        }
+
+        assertFalse(small.isCurrent(claims(99L, 0, before)));
+        assertFalse(small.isCurrent(claims(99L, 0, null)));
+        assertTrue(small.isCurrent(claims(99L, 0, Instant.now().plusSeconds(1))));
+    }
+
+    @Test
+    @DisplayName("Should reload recent changes when the cluster bus reconnects")
+    void reconnect_RewarmsFromDatabase() {
+        UserRepository userRepository = mock(UserRepository.class);
+        List<Runnable> reconnectListeners = new ArrayList<>();
+        ClusterBus bus = new LocalClusterBus("d", new LocalClusterBus.Hub()) {
+            @Override
+            public void onReconnect(Runnable listener) {
+                reconnectListeners.add(listener);
+            }
+        };
+        SecurityVersionRegistry registry = new SecurityVersionRegistry(bus, userRepository, Duration.ofHours(4), 1000);
+        UserRepository.SecurityVersionView changed = mock(UserRepository.SecurityVersionView.class);
+        when(changed.getId()).thenReturn(42L);
+        when(changed.getSecurityVersion()).thenReturn(3);
+        when(changed.getSecurityVersionChangedAt()).thenReturn(ZonedDateTime.now());
+        when(userRepository.findBySecurityVersionChangedAtAfter(any())).thenReturn(List.of(changed));
+
+        reconnectListeners.forEach(Runnable::run);
+
+        assertFalse(registry.isCurrent(claims(42L, 2)));
+        assertTrue(registry.isCurrent(claims(42L, 3)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.usermanager.manager.infra.security.token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.usermanager.manager.enums.Status;
+import com.usermanager.manager.enums.Subscription;
+import com.usermanager.manager.exception.authentication.TokenInvalid;
+import com.usermanager.manager.model.security.AccessClaims;
+import com.usermanager.manager.model.security.VerifiedToken;
+import com.usermanager.manager.model.user.User;
+import com.usermanager.manager.model.user.UserPrincipal;
+import com.usermanager.manager.model.user.UserRole;
+
+class TokenServiceTest {
+
+    private final TokenService tokenService = new TokenService("test-secret");
+
+    private static User user() {
+        User user = new User("Test User", "user@test.com", "hash");
+        user.setId(42L);
+        user.setEnabled(true);
+        user.setStatus(Status.ACTIVE);
+        user.setSubscription(Subscription.VIP);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should embed the claims needed to build the principal")
+    void generateToken_EmbedsClaims() {
+        User user = user();
+
+        VerifiedToken verified = tokenService.verifyToken(tokenService.generateToken(user));
+
+        AccessClaims claims = verified.claims();
+        assertEquals("user@test.com", verified.subject());
+        assertEquals(42L, claims.userId());
+        assertEquals(UserRole.ROLE_USER, claims.role());
+        assertEquals(Subscription.VIP, claims.subscription());
+        assertEquals(Status.ACTIVE, claims.status());
+        assertEquals(user.getSecurityVersion(), claims.securityVersion());
+        assertNotNull(claims.issuedAt());
+
+        UserPrincipal principal = claims.toPrincipal(verified.subject());
+        assertEquals(UserPrincipal.from(user), principal);
+    }
+
+    @Test
+    @DisplayName("Should bump the security version when a claim changes")
+    void setters_BumpSecurityVersion() {
+        User user = user();
+        int version = user.getSecurityVersion();
+
+        user.setSubscription(Subscription.VIP);
+        assertEquals(version, user.getSecurityVersion());
+
+        user.setSubscription(Subscription.FREE);
+        assertEquals(version + 1, user.getSecurityVersion());
+    }
+
+    @Test
+    @DisplayName("Should leave claims empty for tokens without the claims version")
+    void verifyToken_RefreshTokenHasNoClaims() {
+        VerifiedToken verified = tokenService.verifyToken(tokenService.generateToken(user(), 60));
+
+        assertEquals("user@test.com", verified.subject());
+        assertNull(verified.claims());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with another secret")
+    void verifyToken_WrongSecret() {
+        String token = new TokenService("other-secret").generateToken(user());
+
+        assertThrows(TokenInvalid.class, () -> tokenService.verifyToken(token));
+    }
+}
@@ -0,0 +1,90 @@
+package com.usermanager.manager.infra.security.token;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.usermanager.manager.model.security.VerifiedToken;
+
+/**
+ * Custo de invalidar os tokens de um usuário (UserChangedEvent) com o cache
+ * cheio: o índice por subject contra a varredura com removeIf da versão
+ * anterior. Cada operação invalida um subject e recoloca seu token, para o
+ * cache continuar do mesmo tamanho.
+ *
+ * Para rodar: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.usermanager.manager.infra.security.token.TokenVerificationCacheBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenVerificationCacheBenchmark {
+
+    @Param({ "1000", "50000" })
+    public int size;
+
+    private TokenVerificationCache indexed;
+    private Cache<String, VerifiedToken> scanned;
+    private VerifiedToken[] tokens;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        indexed = new TokenVerificationCache(size);
+        scanned = Caffeine.newBuilder().maximumSize(size).build();
+        tokens = new VerifiedToken[size];
+        for (int i = 0; i < size; i++) {
+            tokens[i] = new VerifiedToken("user" + i + "@test.com", expiresAt);
+            indexed.put("jwt-" + i, tokens[i]);
+            scanned.put("jwt-" + i, tokens[i]);
+        }
+    }
+
+    @Benchmark
+    public void subjectIndex() {
+        int i = nextIndex();
+        indexed.invalidateSubject(tokens[i].subject());
+        indexed.put("jwt-" + i, tokens[i]);
+    }
+
+    @Benchmark
+    public void removeIfScan() {
+        int i = nextIndex();
+        String subject = tokens[i].subject();
+        scanned.asMap().values().removeIf(verified -> verified.subject().equals(subject));
+        scanned.put("jwt-" + i, tokens[i]);
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = (next + 1) % size;
+        return i;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenVerificationCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
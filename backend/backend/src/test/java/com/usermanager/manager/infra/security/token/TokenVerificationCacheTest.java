@@ -0,0 +1,119 @@
+package com.usermanager.manager.infra.security.token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.usermanager.manager.infra.event.UserChangedEvent;
+import com.usermanager.manager.model.security.VerifiedToken;
+
+class TokenVerificationCacheTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final AtomicLong nanos = new AtomicLong();
+    private TokenVerificationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TokenVerificationCache(100, nanos::get, new TickerClock());
+    }
+
+    private VerifiedToken token(String subject, Duration ttl) {
+        return new VerifiedToken(subject, START.plus(ttl));
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("Should return the cached verification for the same token")
+    void get_Hit() {
+        VerifiedToken verified = token("user@test.com", Duration.ofMinutes(15));
+        cache.put("jwt-1", verified);
+
+        assertSame(verified, cache.get("jwt-1"));
+        assertNull(cache.get("jwt-2"));
+    }
+
+    @Test
+    @DisplayName("Should drop the entry at the token's exp")
+    void get_ExpiresAtTokenExp() {
+        cache.put("jwt-1", token("user@test.com", Duration.ofSeconds(30)));
+
+        advance(Duration.ofSeconds(29));
+        assertSame("user@test.com", cache.get("jwt-1").subject());
+
+        advance(Duration.ofSeconds(1));
+        assertNull(cache.get("jwt-1"));
+        cache.cleanUp();
+        assertEquals(0, cache.indexedSubjects());
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that are already expired")
+    void put_SkipsExpiredTokens() {
+        cache.put("jwt-1", token("user@test.com", Duration.ofSeconds(-1)));
+
+        assertNull(cache.get("jwt-1"));
+        assertEquals(0, cache.indexedSubjects());
+    }
+
+    @Test
+    @DisplayName("Should invalidate every token of a subject when the user changes")
+    void onUserChanged_InvalidatesSubject() {
+        cache.put("jwt-1", token("user@test.com", Duration.ofMinutes(15)));
+        cache.put("jwt-2", token("user@test.com", Duration.ofMinutes(15)));
+        cache.put("jwt-3", token("other@test.com", Duration.ofMinutes(15)));
+
+        cache.onUserChanged(new UserChangedEvent(1L, "user@test.com", 1, true));
+
+        assertNull(cache.get("jwt-1"));
+        assertNull(cache.get("jwt-2"));
+        assertSame("other@test.com", cache.get("jwt-3").subject());
+        assertEquals(1, cache.indexedSubjects());
+    }
+
+    @Test
+    @DisplayName("Should keep the subject index in step with size evictions")
+    void eviction_UnindexesSubject() {
+        TokenVerificationCache small = new TokenVerificationCache(1, nanos::get, new TickerClock());
+        for (int i = 0; i < 50; i++) {
+            small.put("jwt-" + i, token("user" + i + "@test.com", Duration.ofMinutes(15)));
+        }
+        small.cleanUp();
+
+        assertEquals(small.size(), small.indexedSubjects());
+    }
+
+    /** Clock that moves together with the cache ticker. */
+    private final class TickerClock extends Clock {
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return START.plusNanos(nanos.get());
+        }
+    }
+}
@@ -1,48 +1,52 @@
 package com.usermanager.manager.infra.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedConstruction;
-import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.mercadopago.client.merchantorder.MerchantOrderClient;
-import com.mercadopago.client.payment.PaymentClient;
 import com.mercadopago.resources.merchantorder.MerchantOrder;
 import com.mercadopago.resources.payment.Payment;
 import com.mercadopago.resources.payment.PaymentOrder;
+import com.usermanager.manager.dto.payment.ClaimedWebhookEvent;
 import com.usermanager.manager.infra.mail.MailService;
+import com.usermanager.manager.infra.payment.MercadoPagoGateway;
+import com.usermanager.manager.infra.webhook.WebhookRetryPolicy;
+import com.usermanager.manager.infra.webhook.WebhookSignatureVerifier;
 import com.usermanager.manager.model.user.User;
-import com.usermanager.manager.model.webhook.WebhookEvent;
-import com.usermanager.manager.model.webhook.enums.EventStatus;
 import com.usermanager.manager.repository.WebhookEventsRepository;
 import com.usermanager.manager.service.user.UserService;
 import com.usermanager.manager.service.vip_activation.VipActivationService;
 
 class WebhookServiceTest {
 
+    private static final Duration LEASE = Duration.ofMinutes(2);
+
     @Mock
     private WebhookEventsRepository webhookRepository;
     @Mock
     private UserService userService;
     @Mock
-    private PaymentClient paymentClient;
-    @Mock
-    private MerchantOrderClient merchantOrderClient;
+    private MercadoPagoGateway mercadoPagoGateway;
 
     @Mock
     private VipActivationService vipActivationService;
@@ -50,144 +54,121 @@ class WebhookServiceTest {
     @Mock
     private MailService mailService;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private WebhookService webhookService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        webhookService = new WebhookService(webhookRepository, userService, vipActivationService, mailService);
-        // Injeta o mock do PaymentClient na instância real
-        ReflectionTestUtils.setField(webhookService, "paymentClient", paymentClient);
+        webhookService = new WebhookService(webhookRepository, userService, vipActivationService, mailService,
+                new WebhookRetryPolicy(5, Duration.ofSeconds(30), Duration.ofHours(1)),
+                new WebhookSignatureVerifier(), mercadoPagoGateway,
+                new TransactionTemplate(transactionManager), Runnable::run);
     }
 
-    private WebhookEvent buildEvent(Long id, String payload, EventStatus status, int retryCount) {
-        WebhookEvent event = new WebhookEvent();
-        event.setId(id);
-        event.setPayloadJson(payload);
-        event.setStatus(status);
-        event.setRetryCount(retryCount);
+    private ClaimedWebhookEvent claim(long id, String payload, int retryCount) {
+        ClaimedWebhookEvent event = new ClaimedWebhookEvent(id, payload, retryCount, ZonedDateTime.now());
+        when(webhookRepository.claim(anyInt(), any())).thenReturn(List.of(event));
         return event;
     }
 
-    @Test
-    void testProcessWebhookEvents_SuccessfulApprovedPayment() throws Exception {
-        // Arrange
-        Long paymentId = 123L;
-        Long merchantOrderId = 456L;
-        Long userId = 789L;
-        String payload = new ObjectMapper().writeValueAsString(
-                Map.of("data", Map.of("id", paymentId)));
-        WebhookEvent event = buildEvent(1L, payload, EventStatus.PENDING, 0);
-
-        when(webhookRepository.findByStatusAndRetryCountLessThan(EventStatus.PENDING, 5))
-                .thenReturn(List.of(event));
-
+    private void mockPayment(Long paymentId, Long merchantOrderId, Long userId, String status) throws Exception {
         Payment payment = mock(Payment.class);
         PaymentOrder paymentOrder = mock(PaymentOrder.class);
-        when(payment.getStatus()).thenReturn("approved");
+        when(payment.getStatus()).thenReturn(status);
         when(payment.getOrder()).thenReturn(paymentOrder);
         when(paymentOrder.getId()).thenReturn(merchantOrderId);
-        when(paymentClient.get(paymentId)).thenReturn(payment);
+        when(mercadoPagoGateway.getPayment(paymentId)).thenReturn(payment);
 
         MerchantOrder merchantOrder = mock(MerchantOrder.class);
         when(merchantOrder.getExternalReference()).thenReturn(userId.toString());
+        when(mercadoPagoGateway.getMerchantOrder(merchantOrderId)).thenReturn(merchantOrder);
+    }
 
-        // Simule o retorno do usuário como vazio para forçar erro (ou ajuste conforme seu fluxo real)
-        when(userService.findByIdOptional(userId)).thenReturn(java.util.Optional.empty());
-        when(webhookRepository.save(any(WebhookEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        // Act
-        webhookService.processWebhookEvents();
-
-        // Assert: evento deve ficar como PENDING e retryCount incrementado
-        verify(userService, never()).save(any());
-        verify(webhookRepository).save(argThat(e -> e.getStatus() == EventStatus.PENDING && e.getRetryCount() == 1));
+    private String payload(Long paymentId) throws Exception {
+        return new ObjectMapper().writeValueAsString(Map.of("data", Map.of("id", paymentId)));
     }
 
     @Test
-    void testProcessWebhookEvents_PaymentNotApproved() throws Exception {
-        Long paymentId = 123L;
-        Long merchantOrderId = 456L;
-        Long userId = 789L;
-        String payload = new ObjectMapper().writeValueAsString(
-                Map.of("data", Map.of("id", paymentId)));
-        WebhookEvent event = buildEvent(2L, payload, EventStatus.PENDING, 0);
+    void testProcessBatch_SuccessfulApprovedPayment() throws Exception {
+        claim(1L, payload(123L), 0);
+        mockPayment(123L, 456L, 789L, "approved");
+        User user = new User();
+        user.setLogin("vip@test.com");
+        when(userService.findByIdOptional(789L)).thenReturn(java.util.Optional.of(user));
+        when(webhookRepository.markProcessed(1L)).thenReturn(1);
+
+        int claimed = webhookService.dispatch(16, LEASE, () -> { });
+
+        assertEquals(1, claimed);
+        verify(vipActivationService).createVipActivation(user);
+        verify(vipActivationService).nextVipActivation();
+        verify(mailService).sendMail(eq("vip@test.com"), anyString(), anyString());
+        verify(webhookRepository, never()).markFailed(anyLong(), any(), any(), eq(false));
+    }
 
-        when(webhookRepository.findByStatusAndRetryCountLessThan(EventStatus.PENDING, 5))
-                .thenReturn(List.of(event));
+    @Test
+    void testProcessBatch_AlreadyProcessedByAnotherWorker() throws Exception {
+        claim(2L, payload(123L), 0);
+        mockPayment(123L, 456L, 789L, "approved");
+        when(userService.findByIdOptional(789L)).thenReturn(java.util.Optional.of(new User()));
+        when(webhookRepository.markProcessed(2L)).thenReturn(0);
 
-        Payment payment = mock(Payment.class);
-        PaymentOrder paymentOrder = mock(PaymentOrder.class);
-        when(payment.getStatus()).thenReturn("rejected");
-        when(payment.getOrder()).thenReturn(paymentOrder);
-        when(paymentOrder.getId()).thenReturn(merchantOrderId);
-        when(paymentClient.get(paymentId)).thenReturn(payment);
+        webhookService.dispatch(16, LEASE, () -> { });
 
-        MerchantOrder merchantOrder = mock(MerchantOrder.class);
-        when(merchantOrder.getExternalReference()).thenReturn(userId.toString());
+        verify(vipActivationService, never()).createVipActivation(any());
+        verify(mailService, never()).sendMail(any(), any(), any());
+    }
 
-        when(userService.findByIdOptional(userId)).thenReturn(java.util.Optional.of(new User()));
-        when(webhookRepository.save(any(WebhookEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    @Test
+    void testProcessBatch_PaymentNotApproved() throws Exception {
+        claim(3L, payload(123L), 0);
+        mockPayment(123L, 456L, 789L, "rejected");
+        when(userService.findByIdOptional(789L)).thenReturn(java.util.Optional.of(new User()));
+        when(webhookRepository.markProcessed(3L)).thenReturn(1);
 
-        webhookService.processWebhookEvents();
+        webhookService.dispatch(16, LEASE, () -> { });
 
         verify(userService, never()).save(any());
-        verify(webhookRepository).save(argThat(e -> e.getStatus() == EventStatus.PENDING && e.getRetryCount() == 1));
+        verify(vipActivationService, never()).createVipActivation(any());
+        verify(webhookRepository).markProcessed(3L);
     }
 
     @Test
-    void testProcessWebhookEvents_UserNotFound() throws Exception {
-        Long paymentId = 123L;
-        Long merchantOrderId = 456L;
-        Long userId = 789L;
-        String payload = new ObjectMapper().writeValueAsString(
-                Map.of("data", Map.of("id", paymentId)));
-        WebhookEvent event = buildEvent(3L, payload, EventStatus.PENDING, 0);
+    void testProcessBatch_UserNotFound() throws Exception {
+        claim(4L, payload(123L), 0);
+        mockPayment(123L, 456L, 789L, "approved");
+        when(userService.findByIdOptional(789L)).thenReturn(java.util.Optional.empty());
 
-        when(webhookRepository.findByStatusAndRetryCountLessThan(EventStatus.PENDING, 5))
-                .thenReturn(List.of(event));
+        webhookService.dispatch(16, LEASE, () -> { });
 
-        Payment payment = mock(Payment.class);
-        PaymentOrder paymentOrder = mock(PaymentOrder.class);
-        when(payment.getStatus()).thenReturn("approved");
-        when(payment.getOrder()).thenReturn(paymentOrder);
-        when(paymentOrder.getId()).thenReturn(merchantOrderId);
-        when(paymentClient.get(paymentId)).thenReturn(payment);
-
-        MerchantOrder merchantOrder = mock(MerchantOrder.class);
-        when(merchantOrder.getExternalReference()).thenReturn(userId.toString());
-
-        try (MockedConstruction<MerchantOrderClient> ignored = Mockito.mockConstruction(MerchantOrderClient.class,
-                (mock, context) -> {
-                    when(mock.get(merchantOrderId)).thenReturn(merchantOrder);
-                })) {
+        verify(userService, never()).save(any());
+        verify(webhookRepository, never()).markProcessed(anyLong());
+        // Volta para a fila com backoff, ainda sem esgotar as tentativas
+        verify(webhookRepository).markFailed(eq(4L), anyString(), any(Duration.class), eq(false));
+    }
 
-            when(userService.findByIdOptional(userId)).thenReturn(java.util.Optional.empty());
-            when(webhookRepository.save(any(WebhookEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    @Test
+    void testProcessBatch_NullDataInPayload() throws Exception {
+        Map<String, Object> map = new java.util.HashMap<>();
+        map.put("data", null);
+        claim(6L, new ObjectMapper().writeValueAsString(map), 0);
 
-            webhookService.processWebhookEvents();
+        webhookService.dispatch(16, LEASE, () -> { });
 
-            verify(userService, never()).save(any());
-            // Espera-se que o evento seja marcado como erro (retryCount incrementado)
-            verify(webhookRepository).save(argThat(e -> e.getRetryCount() == 1 && e.getStatus() == EventStatus.PENDING));
-        }
+        verify(webhookRepository).markFailed(eq(6L), anyString(), any(Duration.class), eq(false));
     }
 
     @Test
-    void testProcessWebhookEvents_NullDataInPayload() throws Exception {
+    void testProcessBatch_LastAttemptMovesToError() throws Exception {
         Map<String, Object> map = new java.util.HashMap<>();
         map.put("data", null);
-        String payload = new ObjectMapper().writeValueAsString(map);
-        WebhookEvent event = buildEvent(6L, payload, EventStatus.PENDING, 0);
-
-        when(webhookRepository.findByStatusAndRetryCountLessThan(EventStatus.PENDING, 5))
-                .thenReturn(List.of(event));
-        when(webhookRepository.save(any(WebhookEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        claim(7L, new ObjectMapper().writeValueAsString(map), 4);
 
-        webhookService.processWebhookEvents();
+        webhookService.dispatch(16, LEASE, () -> { });
 
-        // Espera-se que o evento seja marcado como erro (retryCount incrementado)
-        verify(webhookRepository).save(argThat(e -> e.getRetryCount() == 1 && e.getStatus() == EventStatus.PENDING));
+        verify(webhookRepository).markFailed(eq(7L), anyString(), any(Duration.class), eq(true));
     }
-}
\ No newline at end of file
+}
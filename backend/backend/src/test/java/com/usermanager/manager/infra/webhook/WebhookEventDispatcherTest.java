@@ -0,0 +1,59 @@
+package com.usermanager.manager.infra.webhook;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.usermanager.manager.infra.service.WebhookService;
+
+class WebhookEventDispatcherTest {
+
+    private WebhookEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep claiming events on the free slots while a slow event is still running")
+    void slowEvent_DoesNotBlockOtherEvents() throws Exception {
+        WebhookService webhookService = mock(WebhookService.class);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicReference<Runnable> slowEventDone = new AtomicReference<>();
+        CountDownLatch fastEventsDone = new CountDownLatch(5);
+        when(webhookService.dispatch(anyInt(), any(), any())).thenAnswer(invocation -> {
+            Runnable onDone = invocation.getArgument(2);
+            if (calls.incrementAndGet() == 1) {
+                // Primeiro evento fica preso, ocupando uma das duas vagas
+                slowEventDone.set(onDone);
+            } else if (fastEventsDone.getCount() > 0) {
+                fastEventsDone.countDown();
+                onDone.run();
+            } else {
+                return 0;
+            }
+            return 1;
+        });
+
+        dispatcher = new WebhookEventDispatcher(webhookService, 2, Duration.ofMillis(50), Duration.ofMinutes(2));
+        dispatcher.start();
+
+        assertTrue(fastEventsDone.await(5, TimeUnit.SECONDS));
+        slowEventDone.get().run();
+    }
+}
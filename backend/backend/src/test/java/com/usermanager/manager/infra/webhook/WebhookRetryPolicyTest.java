@@ -0,0 +1,42 @@
+package com.usermanager.manager.infra.webhook;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WebhookRetryPolicyTest {
+
+    private final WebhookRetryPolicy policy = new WebhookRetryPolicy(8, Duration.ofSeconds(30), Duration.ofHours(1));
+
+    @Test
+    @DisplayName("Should double the backoff per failure with jitter between half and the full base delay")
+    void backoff_GrowsExponentiallyWithJitter() {
+        for (int failures = 1; failures <= 7; failures++) {
+            long base = 30_000L << (failures - 1);
+            for (int i = 0; i < 100; i++) {
+                long millis = policy.backoff(failures).toMillis();
+                assertTrue(millis >= base / 2 && millis <= base, "falha " + failures + ": " + millis);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should cap the backoff at the configured maximum")
+    void backoff_IsCapped() {
+        for (int failures : new int[] { 8, 20, 64, Integer.MAX_VALUE }) {
+            long millis = policy.backoff(failures).toMillis();
+            assertTrue(millis >= Duration.ofMinutes(30).toMillis() && millis <= Duration.ofHours(1).toMillis());
+        }
+    }
+
+    @Test
+    @DisplayName("Should exhaust the event on the configured attempt")
+    void isExhausted_AfterMaxAttempts() {
+        assertFalse(policy.isExhausted(7));
+        assertTrue(policy.isExhausted(8));
+    }
+}
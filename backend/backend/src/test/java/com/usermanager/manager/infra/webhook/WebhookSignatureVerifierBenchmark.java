@@ -0,0 +1,80 @@
+package com.usermanager.manager.infra.webhook;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Custo por validação de assinatura: o verificador com Mac protótipo clonado contra a
+ * implementação anterior (Mac.getInstance + String.format por byte).
+ *
+ * Para rodar: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.usermanager.manager.infra.webhook.WebhookSignatureVerifierBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebhookSignatureVerifierBenchmark {
+    private static final String SECRET = "bench_secret_0123456789abcdef";
+    private static final String DATA_ID = "123456789012";
+    private static final String REQUEST_ID = "9f0c5b3a-1d2e-4f5a-8b7c-6d5e4f3a2b1c";
+    private static final String TS = "1742505638683";
+
+    private WebhookSignatureVerifier verifier;
+    private String header;
+    private String hash;
+
+    @Setup
+    public void setup() throws Exception {
+        verifier = new WebhookSignatureVerifier();
+        hash = legacyHmac("id:" + DATA_ID + ";request-id:" + REQUEST_ID + ";ts:" + TS + ";", SECRET);
+        header = "ts=" + TS + ",v1=" + hash;
+    }
+
+    @Benchmark
+    public boolean verifier() {
+        return verifier.verify(header, REQUEST_ID, DATA_ID, SECRET);
+    }
+
+    @Benchmark
+    public boolean legacy() throws Exception {
+        String message = "id:" + DATA_ID + ";request-id:" + REQUEST_ID + ";ts:" + header.split(",")[0].split("=", 2)[1] + ";";
+        return legacyHmac(message, SECRET).equals(hash);
+    }
+
+    private static String legacyHmac(String message, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] hashBytes = mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : hashBytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WebhookSignatureVerifierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.usermanager.manager.infra.webhook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WebhookSignatureVerifierTest {
+    private static final String SECRET = "test_secret";
+
+    private final WebhookSignatureVerifier verifier = new WebhookSignatureVerifier();
+
+    @Test
+    @DisplayName("Should accept the HMAC of the id/request-id/ts manifest")
+    void verify_ValidSignature() throws Exception {
+        String hash = hmac("id:123;request-id:req-1;ts:1700000000;", SECRET);
+
+        assertTrue(verifier.verify("ts=1700000000,v1=" + hash, "req-1", "123", SECRET));
+        assertTrue(verifier.verify(" v1=" + hash.toUpperCase() + " , ts=1700000000 ", "req-1", "123", SECRET));
+    }
+
+    @Test
+    @DisplayName("Should leave out empty manifest parts")
+    void verify_OptionalManifestParts() throws Exception {
+        String hash = hmac("ts:1700000000;", SECRET);
+
+        assertTrue(verifier.verify("ts=1700000000,v1=" + hash, null, "", SECRET));
+    }
+
+    @Test
+    @DisplayName("Should reject tampered, truncated or incomplete signatures")
+    void verify_InvalidSignature() throws Exception {
+        String hash = hmac("id:123;request-id:req-1;ts:1700000000;", SECRET);
+        char last = hash.charAt(hash.length() - 1);
+        String tampered = hash.substring(0, hash.length() - 1) + (last == '0' ? '1' : '0');
+
+        assertFalse(verifier.verify("ts=1700000000,v1=" + tampered, "req-1", "123", SECRET));
+        assertFalse(verifier.verify("ts=1700000001,v1=" + hash, "req-1", "123", SECRET));
+        assertFalse(verifier.verify("ts=1700000000,v1=" + hash.substring(2), "req-1", "123", SECRET));
+        assertFalse(verifier.verify("v1=" + hash, "req-1", "123", SECRET));
+        assertFalse(verifier.verify("ts=1700000000", "req-1", "123", SECRET));
+        assertFalse(verifier.verify("garbage", "req-1", "123", SECRET));
+    }
+
+    @Test
+    @DisplayName("Should re-key the cached Mac when the secret changes")
+    void verify_SecretChange() throws Exception {
+        String hash = hmac("id:123;ts:1;", "other_secret");
+
+        assertFalse(verifier.verify("ts=1,v1=" + hash, null, "123", SECRET));
+        assertTrue(verifier.verify("ts=1,v1=" + hash, null, "123", "other_secret"));
+        assertFalse(verifier.verify("ts=1,v1=" + hash, null, "123", SECRET));
+    }
+
+    @Test
+    @DisplayName("Should not fold control characters onto hex digits")
+    void verify_ControlCharactersAreNotDigits() throws Exception {
+        String hash = hmac("id:123;ts:1;", SECRET);
+        StringBuilder forged = new StringBuilder(hash.length());
+        for (char c : hash.toCharArray()) {
+            // 0x10-0x19 | 0x20 == '0'-'9'
+            forged.append(c >= '0' && c <= '9' ? (char) (c - 0x20) : c);
+        }
+
+        assertFalse(verifier.verify("ts=1,v1=" + forged, null, "123", SECRET));
+    }
+
+    @Test
+    @DisplayName("Should verify concurrently from virtual threads with alternating secrets")
+    void verify_ConcurrentVirtualThreads() throws Exception {
+        String hash = hmac("id:123;ts:1;", SECRET);
+        String otherHash = hmac("id:123;ts:1;", "other_secret");
+        AtomicInteger failures = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2000; i++) {
+                boolean other = i % 2 == 0;
+                executor.execute(() -> {
+                    boolean ok = other
+                            ? verifier.verify("ts=1,v1=" + otherHash, null, "123", "other_secret")
+                            : verifier.verify("ts=1,v1=" + hash, null, "123", SECRET);
+                    if (!ok) {
+                        failures.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertEquals(0, failures.get());
+    }
+
+    private static String hmac(String message, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(message.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -9,11 +9,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,11 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.usermanager.manager.dto.authentication.AuthenticationDTO;
 import com.usermanager.manager.dto.authentication.CreateUserDTO;
@@ -39,13 +35,15 @@ import com.usermanager.manager.dto.authentication.UserCreatedDTO;
 import com.usermanager.manager.dto.authentication.UserEmailDTO;
 import com.usermanager.manager.enums.Status;
 import com.usermanager.manager.exception.authentication.PasswordFormatNotValidException;
+import com.usermanager.manager.exception.authentication.TokenInvalid;
 import com.usermanager.manager.exception.authentication.TokenInvalidException;
 import com.usermanager.manager.exception.authentication.TokenNotFoundException;
 import com.usermanager.manager.exception.user.UserExistsException;
 import com.usermanager.manager.exception.user.UserNotEnabledException;
+import com.usermanager.manager.infra.activity.LoginActivityBuffer;
 import com.usermanager.manager.infra.mail.MailService;
+import com.usermanager.manager.infra.security.password.PasswordHashingService;
 import com.usermanager.manager.infra.service.NotificationService;
-import com.usermanager.manager.model.security.RefreshToken;
 import com.usermanager.manager.model.security.TokenProvider;
 import com.usermanager.manager.model.user.User;
 import com.usermanager.manager.model.user.UserRole;
@@ -59,13 +57,13 @@ class AuthServiceTest {
 
     @Mock private UserService userService;
     @Mock private TokenProvider tokenProvider;
-    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private PasswordHashingService passwordHashingService;
     @Mock private VerificationTokenService verificationService;
     @Mock private MailService mailService;
     @Mock private RefreshTokenService refreshTokenService;
     @Mock private SubscriptionService subscriptionService;
-    @Mock private AuthenticationManager authenticationManager;
     @Mock private NotificationService notificationService;
+    @Mock private LoginActivityBuffer loginActivityBuffer;
 
     @InjectMocks
     private AuthService authService;
@@ -98,7 +96,7 @@ class AuthServiceTest {
     void register_NewUser_Success() {
         CreateUserDTO dto = new CreateUserDTO("Test User", testEmail, testPassword);
         when(userService.findUserEntityByLoginOptional(testEmail)).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(testPassword)).thenReturn(encodedPassword);
+        when(passwordHashingService.encode(testPassword)).thenReturn(encodedPassword);
         when(userService.save(any(User.class))).thenReturn(user);
         VerificationToken token = new VerificationToken();
         token.setUuid(UUID.randomUUID());
@@ -132,7 +130,7 @@ class AuthServiceTest {
         User existing = User.builder().id(2L).login(testEmail).enabled(false).build();
         CreateUserDTO dto = new CreateUserDTO("New Name", testEmail, testPassword);
         when(userService.findUserEntityByLoginOptional(testEmail)).thenReturn(Optional.of(existing));
-        when(passwordEncoder.encode(testPassword)).thenReturn(encodedPassword);
+        when(passwordHashingService.encode(testPassword)).thenReturn(encodedPassword);
         when(userService.save(any(User.class))).thenReturn(existing);
         VerificationToken token = new VerificationToken();
         token.setUuid(UUID.randomUUID());
@@ -148,20 +146,33 @@ class AuthServiceTest {
     @Test
     void login_Success() {
         AuthenticationDTO dto = new AuthenticationDTO(testEmail, testPassword);
-        Authentication authentication = mock(Authentication.class);
 
         when(userService.findUserByLogin(testEmail)).thenReturn(user);
-        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
-        when(authentication.getPrincipal()).thenReturn(user);
+        when(passwordHashingService.matches(testPassword, encodedPassword)).thenReturn(true);
+        when(passwordHashingService.rehashIfNeeded(testPassword, encodedPassword)).thenReturn(Optional.empty());
         when(tokenProvider.generateToken(user)).thenReturn("accessToken");
         when(refreshTokenService.createRefreshToken(user)).thenReturn("refreshToken");
-        when(userService.save(any(User.class))).thenReturn(user);
 
         TokensDTO result = authService.login(dto);
 
         assertEquals("accessToken", result.accessToken());
         assertEquals("refreshToken", result.refreshToken());
+        verify(loginActivityBuffer).recordLogin(eq(user.getId()), any(Instant.class));
+        verify(userService, never()).save(any(User.class));
+    }
+
+    @Test
+    void login_OutdatedHash_IsRehashed() {
+        when(userService.findUserByLogin(testEmail)).thenReturn(user);
+        when(passwordHashingService.matches(testPassword, encodedPassword)).thenReturn(true);
+        when(passwordHashingService.rehashIfNeeded(testPassword, encodedPassword)).thenReturn(Optional.of("{bcrypt}rehashed"));
+        when(tokenProvider.generateToken(user)).thenReturn("accessToken");
+        when(refreshTokenService.createRefreshToken(user)).thenReturn("refreshToken");
+
+        authService.login(new AuthenticationDTO(testEmail, testPassword));
+
+        assertEquals("{bcrypt}rehashed", user.getPassword());
+        verify(userService).save(user);
     }
 
     @Test
@@ -175,7 +186,7 @@ class AuthServiceTest {
     @Test
     void login_InvalidPassword_ThrowsException() {
         when(userService.findUserByLogin(testEmail)).thenReturn(user);
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+        when(passwordHashingService.matches(anyString(), anyString())).thenReturn(false);
 
         assertThrows(BadCredentialsException.class, () -> authService.login(new AuthenticationDTO(testEmail, testPassword)));
     }
@@ -184,31 +195,40 @@ class AuthServiceTest {
     @Test
     void refreshToken_ValidToken_Success() {
         String oldToken = "oldToken";
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
-        when(refreshTokenService.findByToken(oldToken)).thenReturn(refreshToken);
+        when(tokenProvider.validateToken(oldToken)).thenReturn(testEmail);
+        when(userService.findUserByLogin(testEmail)).thenReturn(user);
         when(tokenProvider.generateToken(user)).thenReturn("accessToken");
-        when(refreshTokenService.createRefreshToken(user)).thenReturn("newRefreshToken");
+        when(refreshTokenService.rotate(oldToken, user)).thenReturn("newRefreshToken");
 
         TokensDTO result = authService.refreshToken(oldToken);
 
         assertEquals("accessToken", result.accessToken());
         assertEquals("newRefreshToken", result.refreshToken());
-        verify(refreshTokenService).invalidateToken(oldToken);
     }
 
     @Test
     void refreshToken_TokenNotFound_ThrowsException() {
-        when(refreshTokenService.findByToken("invalid")).thenThrow(new TokenNotFoundException("not found"));
+        when(tokenProvider.validateToken("invalid")).thenReturn(testEmail);
+        when(userService.findUserByLogin(testEmail)).thenReturn(user);
+        when(refreshTokenService.rotate("invalid", user)).thenThrow(new TokenNotFoundException("not found"));
         assertThrows(TokenNotFoundException.class, () -> authService.refreshToken("invalid"));
     }
 
     @Test
     void refreshToken_TokenInvalid_ThrowsException() {
-        when(refreshTokenService.findByToken("expired")).thenThrow(new TokenInvalidException("expired"));
+        when(tokenProvider.validateToken("expired")).thenReturn(testEmail);
+        when(userService.findUserByLogin(testEmail)).thenReturn(user);
+        when(refreshTokenService.rotate("expired", user)).thenThrow(new TokenInvalidException("expired"));
         assertThrows(TokenInvalidException.class, () -> authService.refreshToken("expired"));
     }
 
+    @Test
+    void refreshToken_BadSignature_DoesNotTouchStore() {
+        when(tokenProvider.validateToken("forged")).thenThrow(new TokenInvalid("Token invalid or expired."));
+        assertThrows(TokenInvalid.class, () -> authService.refreshToken("forged"));
+        verify(refreshTokenService, never()).rotate(anyString(), any());
+    }
+
     // ----------- sendActivationCode -----------
     @Test
     void sendActivationCode_UserNotEnabled_SendsMail() {
@@ -274,7 +294,7 @@ class AuthServiceTest {
         verificationToken.setUser(user);
 
         when(verificationService.findVerificationByToken(uuid)).thenReturn(verificationToken);
-        when(passwordEncoder.encode("newPass")).thenReturn("encodedNewPass");
+        when(passwordHashingService.encode("newPass")).thenReturn("encodedNewPass");
 
         authService.passwordReset(uuid, dto);
 
@@ -283,6 +303,7 @@ class AuthServiceTest {
         assertNotNull(verificationToken.getActivationDate());
         verify(userService).save(user);
         verify(verificationService).saveVerificationToken(verificationToken);
+        verify(refreshTokenService).revokeAll(user.getId());
     }
 
     // ----------- confirmEmail -----------
@@ -324,7 +345,7 @@ class AuthServiceTest {
         VerificationToken verificationToken = new VerificationToken();
         when(userService.findUserByLogin(testEmail)).thenReturn(user);
         when(verificationService.findVerificationByUser(user)).thenReturn(verificationToken);
-        when(passwordEncoder.encode("newPass")).thenReturn("encodedNewPass");
+        when(passwordHashingService.encode("newPass")).thenReturn("encodedNewPass");
 
         authService.passwordReset(dto);
 
@@ -334,6 +355,7 @@ class AuthServiceTest {
         assertNotNull(verificationToken.getActivationDate());
         verify(userService, atLeastOnce()).save(user);
         verify(verificationService).saveVerificationToken(verificationToken);
+        verify(refreshTokenService).revokeAll(user.getId());
     }
 
     // ----------- isEmailConfirmed -----------
@@ -1,11 +1,12 @@
 package com.usermanager.manager.service.auth;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -18,6 +19,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,6 +27,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import com.usermanager.manager.exception.authentication.TokenInvalidException;
 import com.usermanager.manager.exception.authentication.TokenNotFoundException;
+import com.usermanager.manager.infra.security.token.TokenHashes;
 import com.usermanager.manager.model.security.RefreshToken;
 import com.usermanager.manager.model.security.TokenProvider;
 import com.usermanager.manager.model.user.User;
@@ -45,47 +48,40 @@ class RefreshTokenServiceTest {
     private User mockUser;
     private RefreshToken mockRefreshToken;
     private static final String TEST_TOKEN = "test-token";
+    private static final String NEW_TOKEN = "new-token";
     private static final long EXPIRATION_TIME = 1440L; // 24 hours
 
     @BeforeEach
     void setUp() {
         mockUser = new User();
+        mockUser.setId(1L);
         mockUser.setLogin("test@example.com");
-        
-        mockRefreshToken = new RefreshToken(mockUser, TEST_TOKEN);
+
+        mockRefreshToken = new RefreshToken(mockUser, TokenHashes.sha256(TEST_TOKEN));
         mockRefreshToken.setExpiresAt(LocalDateTime.now().plusMinutes(EXPIRATION_TIME));
-        
+
         ReflectionTestUtils.setField(refreshTokenService, "expirationTime", EXPIRATION_TIME);
     }
 
     @Nested
     @DisplayName("Create Refresh Token Tests")
     class CreateRefreshTokenTests {
-        
+
         @Test
-        @DisplayName("Should create new refresh token successfully")
+        @DisplayName("Should store only the SHA-256 of the new token in a single upsert")
         void createRefreshToken_Success() {
             when(tokenProvider.generateToken(mockUser, EXPIRATION_TIME)).thenReturn(TEST_TOKEN);
-            when(refreshTokenRepository.existsByToken(TEST_TOKEN)).thenReturn(false);
-            when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(mockRefreshToken);
 
             String result = refreshTokenService.createRefreshToken(mockUser);
 
+            ArgumentCaptor<byte[]> hash = ArgumentCaptor.forClass(byte[].class);
+            ArgumentCaptor<LocalDateTime> createdAt = ArgumentCaptor.forClass(LocalDateTime.class);
+            ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(refreshTokenRepository).upsert(eq(1L), hash.capture(), createdAt.capture(), expiresAt.capture());
             assertEquals(TEST_TOKEN, result);
-            verify(refreshTokenRepository).save(any(RefreshToken.class));
-        }
-
-        @Test
-        @DisplayName("Should handle duplicate token by deleting existing one")
-        void createRefreshToken_HandlesDuplicateToken() {
-            when(tokenProvider.generateToken(mockUser, EXPIRATION_TIME)).thenReturn(TEST_TOKEN);
-            when(refreshTokenRepository.existsByToken(TEST_TOKEN)).thenReturn(true);
-            when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(mockRefreshToken);
-
-            refreshTokenService.createRefreshToken(mockUser);
-
-            verify(refreshTokenRepository).deleteByToken(TEST_TOKEN);
-            verify(refreshTokenRepository).save(any(RefreshToken.class));
+            assertEquals(32, hash.getValue().length);
+            assertArrayEquals(TokenHashes.sha256(TEST_TOKEN), hash.getValue());
+            assertEquals(createdAt.getValue().plusDays(7), expiresAt.getValue());
         }
 
         @Test
@@ -93,99 +89,111 @@ class RefreshTokenServiceTest {
         void createRefreshToken_ThrowsException_WhenGenerationFails() {
             when(tokenProvider.generateToken(mockUser, EXPIRATION_TIME)).thenReturn(null);
 
-            assertThrows(TokenNotFoundException.class, 
+            assertThrows(TokenNotFoundException.class,
                 () -> refreshTokenService.createRefreshToken(mockUser));
-            
-            verify(refreshTokenRepository, never()).save(any());
+
+            verify(refreshTokenRepository, never()).upsert(anyLong(), any(), any(), any());
         }
     }
 
     @Nested
-    @DisplayName("Invalidate Token Tests")
-    class InvalidateTokenTests {
-        
+    @DisplayName("Rotate Token Tests")
+    class RotateTokenTests {
+
         @Test
-        @DisplayName("Should invalidate token successfully")
-        void invalidateToken_Success() {
-            when(refreshTokenRepository.findByToken(TEST_TOKEN))
-                .thenReturn(Optional.of(mockRefreshToken));
+        @DisplayName("Should consume the old token and store the new one in one statement")
+        void rotate_Success() {
+            when(tokenProvider.generateToken(mockUser, EXPIRATION_TIME)).thenReturn(NEW_TOKEN);
+            when(refreshTokenRepository.rotate(eq(1L), any(), any(), any(), any())).thenReturn(true);
+
+            String result = refreshTokenService.rotate(TEST_TOKEN, mockUser);
+
+            assertEquals(NEW_TOKEN, result);
+            ArgumentCaptor<byte[]> oldHash = ArgumentCaptor.forClass(byte[].class);
+            ArgumentCaptor<byte[]> newHash = ArgumentCaptor.forClass(byte[].class);
+            verify(refreshTokenRepository).rotate(eq(1L), oldHash.capture(), newHash.capture(), any(), any());
+            assertArrayEquals(TokenHashes.sha256(TEST_TOKEN), oldHash.getValue());
+            assertArrayEquals(TokenHashes.sha256(NEW_TOKEN), newHash.getValue());
+            verify(refreshTokenRepository, never()).findByTokenHash(any());
+        }
 
-            boolean result = refreshTokenService.invalidateToken(TEST_TOKEN);
+        @Test
+        @DisplayName("Should throw exception when token is already used")
+        void rotate_ThrowsException_WhenTokenUsed() {
+            mockRefreshToken.setUsed(true);
+            givenRotationRejected();
 
-            assertTrue(result);
-            assertTrue(mockRefreshToken.getUsed());
-            verify(refreshTokenRepository).save(mockRefreshToken);
+            assertThrows(TokenInvalidException.class,
+                () -> refreshTokenService.rotate(TEST_TOKEN, mockUser));
         }
 
         @Test
-        @DisplayName("Should throw exception when token not found")
-        void invalidateToken_ThrowsException_WhenTokenNotFound() {
-            when(refreshTokenRepository.findByToken(TEST_TOKEN))
-                .thenReturn(Optional.empty());
+        @DisplayName("Should throw exception when token is expired")
+        void rotate_ThrowsException_WhenTokenExpired() {
+            mockRefreshToken.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+            givenRotationRejected();
 
-            assertThrows(TokenNotFoundException.class, 
-                () -> refreshTokenService.invalidateToken(TEST_TOKEN));
-            
-            verify(refreshTokenRepository, never()).save(any());
+            assertThrows(TokenInvalidException.class,
+                () -> refreshTokenService.rotate(TEST_TOKEN, mockUser));
         }
-    }
 
-    @Nested
-    @DisplayName("Find Token Tests")
-    class FindTokenTests {
-        
         @Test
-        @DisplayName("Should find valid token successfully")
-        void findByToken_Success() {
-            when(refreshTokenRepository.findByToken(TEST_TOKEN))
-                .thenReturn(Optional.of(mockRefreshToken));
-
-            RefreshToken result = refreshTokenService.findByToken(TEST_TOKEN);
+        @DisplayName("Should throw exception when token belongs to another user")
+        void rotate_ThrowsException_WhenTokenOfAnotherUser() {
+            givenRotationRejected();
 
-            assertNotNull(result);
-            assertEquals(TEST_TOKEN, result.getToken());
-            assertFalse(result.getUsed());
+            assertThrows(TokenInvalidException.class,
+                () -> refreshTokenService.rotate(TEST_TOKEN, mockUser));
         }
 
         @Test
-        @DisplayName("Should throw exception when token is already used")
-        void findByToken_ThrowsException_WhenTokenUsed() {
-            mockRefreshToken.setUsed(true);
-            when(refreshTokenRepository.findByToken(TEST_TOKEN))
-                .thenReturn(Optional.of(mockRefreshToken));
+        @DisplayName("Should throw exception when token not found")
+        void rotate_ThrowsException_WhenTokenNotFound() {
+            when(tokenProvider.generateToken(mockUser, EXPIRATION_TIME)).thenReturn(NEW_TOKEN);
+            when(refreshTokenRepository.rotate(eq(1L), any(), any(), any(), any())).thenReturn(false);
+            when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+            assertThrows(TokenNotFoundException.class,
+                () -> refreshTokenService.rotate(TEST_TOKEN, mockUser));
+        }
 
-            assertThrows(TokenInvalidException.class, 
-                () -> refreshTokenService.findByToken(TEST_TOKEN));
+        private void givenRotationRejected() {
+            when(tokenProvider.generateToken(mockUser, EXPIRATION_TIME)).thenReturn(NEW_TOKEN);
+            when(refreshTokenRepository.rotate(eq(1L), any(), any(), any(), any())).thenReturn(false);
+            when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.of(mockRefreshToken));
         }
+    }
+
+    @Nested
+    @DisplayName("Invalidate Token Tests")
+    class InvalidateTokenTests {
 
         @Test
-        @DisplayName("Should throw exception when token is expired")
-        void findByToken_ThrowsException_WhenTokenExpired() {
-            mockRefreshToken.setExpiresAt(LocalDateTime.now().minusMinutes(1));
-            when(refreshTokenRepository.findByToken(TEST_TOKEN))
-                .thenReturn(Optional.of(mockRefreshToken));
+        @DisplayName("Should invalidate token successfully")
+        void invalidateToken_Success() {
+            when(refreshTokenRepository.markUsed(any())).thenReturn(1);
+
+            boolean result = refreshTokenService.invalidateToken(TEST_TOKEN);
 
-            assertThrows(TokenInvalidException.class, 
-                () -> refreshTokenService.findByToken(TEST_TOKEN));
+            assertTrue(result);
         }
 
         @Test
         @DisplayName("Should throw exception when token not found")
-        void findByToken_ThrowsException_WhenTokenNotFound() {
-            when(refreshTokenRepository.findByToken(TEST_TOKEN))
-                .thenReturn(Optional.empty());
+        void invalidateToken_ThrowsException_WhenTokenNotFound() {
+            when(refreshTokenRepository.markUsed(any())).thenReturn(0);
 
-            assertThrows(TokenNotFoundException.class, 
-                () -> refreshTokenService.findByToken(TEST_TOKEN));
+            assertThrows(TokenNotFoundException.class,
+                () -> refreshTokenService.invalidateToken(TEST_TOKEN));
         }
     }
 
     @Test
-    @DisplayName("Should check if token exists")
-    void existsByToken_Success() {
-        when(refreshTokenRepository.existsByToken(TEST_TOKEN)).thenReturn(true);
+    @DisplayName("Should revoke every active session of the user in one update")
+    void revokeAll_Success() {
+        when(refreshTokenRepository.revokeAllByUserId(1L)).thenReturn(3);
 
-        assertTrue(refreshTokenService.existsByToken(TEST_TOKEN));
-        verify(refreshTokenRepository).existsByToken(TEST_TOKEN);
+        assertEquals(3, refreshTokenService.revokeAll(1L));
+        verify(refreshTokenRepository).revokeAllByUserId(1L);
     }
-}
\ No newline at end of file
+}
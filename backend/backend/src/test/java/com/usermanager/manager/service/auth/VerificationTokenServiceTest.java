@@ -31,8 +31,8 @@ import com.usermanager.manager.exception.authentication.TokenNotFoundException;
 import com.usermanager.manager.model.user.User;
 import com.usermanager.manager.model.verification.VerificationToken;
 import com.usermanager.manager.model.verification.enums.TokenType;
-import com.usermanager.manager.repository.UserRepository;
 import com.usermanager.manager.repository.VerificationTokenRepository;
+import com.usermanager.manager.service.user.UserService;
 
 @ExtendWith(MockitoExtension.class)
 class VerificationTokenServiceTest {
@@ -41,7 +41,7 @@ class VerificationTokenServiceTest {
     private VerificationTokenRepository verificationRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserService userService;
 
     @InjectMocks
     private VerificationTokenService verificationTokenService;
@@ -166,7 +166,7 @@ class VerificationTokenServiceTest {
         void confirmVerificationToken_ValidToken_ActivatesUserAndToken() {
             // Arrange
             when(verificationRepository.findById(validTokenUuid)).thenReturn(Optional.of(validToken));
-            when(userRepository.save(any(User.class))).thenReturn(testUser);
+            when(userService.save(any(User.class))).thenReturn(testUser);
             when(verificationRepository.save(any(VerificationToken.class))).thenReturn(validToken);
 
             // Act
@@ -178,7 +178,7 @@ class VerificationTokenServiceTest {
 
             // Verify
             ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-            verify(userRepository).save(userCaptor.capture());
+            verify(userService).save(userCaptor.capture());
             User savedUser = userCaptor.getValue();
             assertTrue(savedUser.getEnabled());
 
@@ -203,7 +203,7 @@ class VerificationTokenServiceTest {
 
             // Verify
             verify(verificationRepository).findById(any(UUID.class));
-            verifyNoInteractions(userRepository);
+            verifyNoInteractions(userService);
             verify(verificationRepository, never()).save(any(VerificationToken.class));
         }
 
@@ -221,7 +221,7 @@ class VerificationTokenServiceTest {
 
             // Verify
             verify(verificationRepository).findById(expiredTokenUuid);
-            verifyNoInteractions(userRepository);
+            verifyNoInteractions(userService);
             verify(verificationRepository, never()).save(any(VerificationToken.class));
         }
     }
@@ -0,0 +1,67 @@
+package com.usermanager.manager.service.device;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.usermanager.manager.dto.notification.PushRecipient;
+import com.usermanager.manager.enums.Status;
+import com.usermanager.manager.infra.activity.LoginActivityBuffer;
+import com.usermanager.manager.repository.DeviceRepository;
+import com.usermanager.manager.service.user.UserService;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceServiceTest {
+
+    @Mock private DeviceRepository deviceRepository;
+    @Mock private UserService userService;
+    @Mock private LoginActivityBuffer loginActivityBuffer;
+
+    @InjectMocks
+    private DeviceService deviceService;
+
+    @Test
+    @DisplayName("Should continue each page from the last (user id, token) of the previous one")
+    void forEachActiveRecipientPage_ContinuesFromPageBoundary() {
+        List<PushRecipient> first = List.of(new PushRecipient(1L, "b"), new PushRecipient(2L, "a"));
+        List<PushRecipient> second = List.of(new PushRecipient(2L, "c"));
+        when(deviceRepository.findRecipientsAfter(Status.ACTIVE, 0L, "", 2)).thenReturn(first);
+        when(deviceRepository.findRecipientsAfter(Status.ACTIVE, 2L, "a", 2)).thenReturn(second);
+
+        List<List<PushRecipient>> pages = new ArrayList<>();
+        long total = deviceService.forEachActiveRecipientPage(2, pages::add);
+
+        assertEquals(3, total);
+        assertEquals(List.of(first, second), pages);
+    }
+
+    @Test
+    @DisplayName("Should stop on an empty page when the last page was exactly full")
+    void forEachActiveRecipientPage_StopsAfterFullLastPage() {
+        List<PushRecipient> first = List.of(new PushRecipient(1L, "a"), new PushRecipient(1L, "b"));
+        when(deviceRepository.findRecipientsAfter(eq(Status.ACTIVE), anyLong(), anyString(), anyInt()))
+                .thenReturn(first)
+                .thenReturn(List.of());
+
+        List<List<PushRecipient>> pages = new ArrayList<>();
+        long total = deviceService.forEachActiveRecipientPage(2, pages::add);
+
+        assertEquals(2, total);
+        assertEquals(List.of(first), pages);
+        verify(deviceRepository).findRecipientsAfter(Status.ACTIVE, 1L, "b", 2);
+    }
+}
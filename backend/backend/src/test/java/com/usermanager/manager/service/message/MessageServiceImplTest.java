@@ -0,0 +1,116 @@
+package com.usermanager.manager.service.message;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.usermanager.manager.dto.message.MessageDTO;
+import com.usermanager.manager.dto.message.MessageSyncCursor;
+import com.usermanager.manager.dto.message.MessageSyncResponse;
+import com.usermanager.manager.enums.People;
+import com.usermanager.manager.exception.message.InvalidCursorException;
+import com.usermanager.manager.infra.outbox.MessageOutboxService;
+import com.usermanager.manager.model.message.Message;
+import com.usermanager.manager.repository.MessageRepository;
+import com.usermanager.manager.service.message.impl.MessageServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class MessageServiceImplTest {
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private MessageOutboxService outboxService;
+
+    @Mock
+    private RecentMessageStore recentMessageStore;
+
+    private MessageServiceImpl messageService;
+
+    private final ZonedDateTime base = ZonedDateTime.parse("2025-01-01T12:00:00.123456Z");
+
+    @BeforeEach
+    void setUp() {
+        messageService = new MessageServiceImpl(messageRepository, outboxService, recentMessageStore, 50);
+    }
+
+    private List<Message> messages(long fromId, int count) {
+        List<Message> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(new Message(fromId + i, "sinal " + i, base.plusSeconds(i), People.values()[0]));
+        }
+        return list;
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database and report hasMore when an extra row exists")
+    void sync_ReturnsBatchAndHasMore() {
+        when(messageRepository.findFirstForSync(Limit.of(3))).thenReturn(messages(1, 3));
+
+        MessageSyncResponse response = messageService.sync(null, 2);
+
+        assertEquals(2, response.messages().size());
+        assertTrue(response.hasMore());
+        MessageSyncCursor next = MessageSyncCursor.decode(response.nextCursor());
+        assertEquals(2L, next.id());
+        assertEquals(base.plusSeconds(1).toInstant(), next.createdAt().toInstant());
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor and keep it when nothing is new")
+    void sync_ContinuesAfterCursor() {
+        String cursor = new MessageSyncCursor(base, 10L).encode();
+        when(messageRepository.findAfterCursor(any(), anyLong(), anyInt())).thenReturn(List.of());
+
+        MessageSyncResponse response = messageService.sync(cursor, 100);
+
+        verify(messageRepository).findAfterCursor(base.withZoneSameInstant(ZoneOffset.UTC), 10L, 51);
+        assertTrue(response.messages().isEmpty());
+        assertFalse(response.hasMore());
+        assertEquals(cursor, response.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should serve sync from the in-memory store without touching the database")
+    void sync_ServedFromStore() {
+        List<MessageDTO> cached = messages(1, 2).stream().map(MessageDTO::new).toList();
+        when(recentMessageStore.afterCursor(null, 3)).thenReturn(Optional.of(cached));
+
+        MessageSyncResponse response = messageService.sync(null, 2);
+
+        assertEquals(2, response.messages().size());
+        assertFalse(response.hasMore());
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void sync_RejectsMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> messageService.sync("não-é-base64", 10));
+        assertThrows(InvalidCursorException.class,
+                () -> messageService.sync(Base64.getUrlEncoder().encodeToString("1:2".getBytes()), 10));
+    }
+}
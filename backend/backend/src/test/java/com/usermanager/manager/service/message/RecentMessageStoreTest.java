@@ -0,0 +1,211 @@
+package com.usermanager.manager.service.message;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.usermanager.manager.dto.message.MessageDTO;
+import com.usermanager.manager.dto.message.MessageListVersion;
+import com.usermanager.manager.dto.message.MessageSyncCursor;
+import com.usermanager.manager.enums.People;
+import com.usermanager.manager.model.message.Message;
+import com.usermanager.manager.repository.MessageRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RecentMessageStoreTest {
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    private final ZonedDateTime base = ZonedDateTime.parse("2025-01-01T12:00:00Z");
+
+    private Message entity(long id, int secondsAfterBase) {
+        return new Message(id, "sinal " + id, base.plusSeconds(secondsAfterBase), People.values()[0]);
+    }
+
+    private MessageDTO dto(long id, int secondsAfterBase) {
+        return new MessageDTO(entity(id, secondsAfterBase));
+    }
+
+    private RecentMessageStore warmed(int capacity, Message... newestFirst) {
+        when(messageRepository.findByOrderByCreatedAtDescIdDesc(any())).thenReturn(new ArrayList<>(List.of(newestFirst)));
+        RecentMessageStore store = new RecentMessageStore(messageRepository, capacity, Duration.ofMinutes(1));
+        store.warm();
+        return store;
+    }
+
+    @Test
+    @DisplayName("Should serve reads in (createdAt, id) order once warmed")
+    void warm_ServesOrderedReads() {
+        RecentMessageStore store = warmed(10, entity(3, 20), entity(2, 10), entity(1, 0));
+
+        assertEquals(List.of(1L, 2L, 3L), store.all().orElseThrow().stream().map(MessageDTO::id).toList());
+        assertEquals(List.of(3L), store.afterId(2).orElseThrow().stream().map(MessageDTO::id).toList());
+        assertEquals(List.of(2L, 3L), store.afterCursor(new MessageSyncCursor(base, 1L), 5).orElseThrow().stream()
+                .map(MessageDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should insert appended messages in order and ignore duplicates")
+    void append_KeepsOrderAndIgnoresDuplicates() {
+        RecentMessageStore store = warmed(10, entity(2, 10), entity(1, 0));
+
+        store.append(dto(4, 30));
+        store.append(dto(3, 20));
+        store.append(dto(3, 20));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), store.all().orElseThrow().stream().map(MessageDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database when the buffer overflowed")
+    void append_BeyondCapacityMarksIncomplete() {
+        RecentMessageStore store = warmed(2, entity(2, 10), entity(1, 0));
+
+        store.append(dto(3, 20));
+
+        assertEquals(2, store.size());
+        assertTrue(store.all().isEmpty());
+        assertTrue(store.afterCursor(null, 10).isEmpty());
+        assertTrue(store.afterCursor(new MessageSyncCursor(base.plusSeconds(10), 2L), 10).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should pick up a lower id committed after a higher one")
+    void reconcile_PicksUpOutOfOrderCommits() {
+        RecentMessageStore store = warmed(10, entity(5, 20), entity(3, 0));
+        // id 4 foi gerado antes do 5, mas só confirmou depois do primeiro reconcile
+        when(messageRepository.findCreatedSince(base.plusSeconds(20).minusMinutes(1)))
+                .thenReturn(List.of(entity(3, 0), entity(5, 20)))
+                .thenReturn(List.of(entity(3, 0), entity(4, 15), entity(5, 20)));
+
+        store.reconcile();
+        store.reconcile();
+
+        assertEquals(List.of(3L, 4L, 5L), store.all().orElseThrow().stream().map(MessageDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should become complete again after a reload that fits the capacity")
+    void reload_ResetsCompleteAfterOverflow() {
+        RecentMessageStore store = warmed(2, entity(2, 10), entity(1, 0));
+        store.append(dto(3, 20));
+        assertTrue(store.all().isEmpty());
+
+        // A retenção apagou a mensagem 1 no banco
+        when(messageRepository.findByOrderByCreatedAtDescIdDesc(any())).thenReturn(List.of(entity(3, 20), entity(2, 10)));
+        store.reload();
+
+        assertEquals(List.of(2L, 3L), store.all().orElseThrow().stream().map(MessageDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should drop messages older than the retention cutoff")
+    void evictBefore_DropsExpired() {
+        RecentMessageStore store = warmed(10, entity(3, 20), entity(2, 10), entity(1, 0));
+
+        store.evictBefore(base.plusSeconds(15));
+
+        assertEquals(List.of(3L), store.all().orElseThrow().stream().map(MessageDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should evict only once the retention transaction commits")
+    void evictAfterCommit_WaitsForCommit() {
+        RecentMessageStore store = warmed(10, entity(3, 20), entity(2, 10), entity(1, 0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.evictAfterCommit(base.plusSeconds(15));
+            assertEquals(3, store.all().orElseThrow().size());
+
+            // Rollback: the rows are still in the database
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertEquals(3, store.all().orElseThrow().size());
+            TransactionSynchronizationManager.clearSynchronization();
+
+            TransactionSynchronizationManager.initSynchronization();
+            store.evictAfterCommit(base.plusSeconds(15));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(3L), store.all().orElseThrow().stream().map(MessageDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should change the version whenever the retained content changes")
+    void version_ChangesWithContent() {
+        RecentMessageStore store = warmed(10, entity(2, 10), entity(1, 0));
+        MessageListVersion initial = store.version().orElseThrow();
+
+        assertEquals(initial.etag("list", 0, 20), store.version().orElseThrow().etag("list", 0, 20));
+        assertNotEquals(initial.etag("list", 0, 20), initial.etag("list", 1, 20));
+
+        store.append(dto(3, 20));
+        MessageListVersion appended = store.version().orElseThrow();
+        assertNotEquals(initial.etag("list", 0, 20), appended.etag("list", 0, 20));
+        assertEquals(base.plusSeconds(20).toInstant(), appended.lastModified());
+
+        store.evictBefore(base.plusSeconds(5));
+        assertNotEquals(appended.etag("list", 0, 20), store.version().orElseThrow().etag("list", 0, 20));
+    }
+
+    @Test
+    @DisplayName("Should give different parameter combinations different ETags")
+    void etag_DistinguishesParameters() {
+        MessageListVersion version = new MessageListVersion(3L, 1L, 3, null);
+
+        // Same Arrays.hashCode: 31 * 0 + 20 == 31 * 1 - 11
+        assertNotEquals(version.etag("list", 0, 20), version.etag("list", 1, -11));
+        assertNotEquals(version.etag("sync", null, 100), version.etag("sync", "null", 100));
+        assertNotEquals(version.etag("sync", "a;1:b", 100), version.etag("sync", "a", "b", 100));
+        assertEquals(version.etag("list", 0, 20), version.etag("list", 0, 20));
+    }
+
+    @Test
+    @DisplayName("Should move Last-Modified forward when retention removes messages")
+    void version_LastModifiedFollowsEviction() {
+        RecentMessageStore store = warmed(10, entity(2, 10), entity(1, 0));
+        Instant beforeEviction = Instant.now();
+
+        store.evictBefore(base.plusSeconds(5));
+        Instant evicted = store.version().orElseThrow().lastModified();
+        assertTrue(!evicted.isBefore(beforeEviction));
+
+        store.evictBefore(base.plusSeconds(15));
+        MessageListVersion empty = store.version().orElseThrow();
+        assertEquals(0, empty.count());
+        assertTrue(!empty.lastModified().isBefore(evicted));
+    }
+
+    @Test
+    @DisplayName("Should keep Last-Modified when a reload finds the same messages")
+    void version_StableAcrossIdenticalReload() {
+        RecentMessageStore store = warmed(10, entity(2, 10), entity(1, 0));
+        MessageListVersion warmedVersion = store.version().orElseThrow();
+
+        store.reload();
+
+        assertEquals(warmedVersion, store.version().orElseThrow());
+        assertEquals(base.plusSeconds(10).toInstant(), warmedVersion.lastModified());
+    }
+}
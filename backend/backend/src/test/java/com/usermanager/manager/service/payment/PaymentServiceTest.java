@@ -92,7 +92,7 @@ class PaymentServiceTest {
         savedEvent.setReceivedAt(ZonedDateTime.now());
 
         when(webhookService.validateSignature(xSignature, xRequestId, dataId, "test_secret")).thenReturn(true);
-        when(webhookService.saveWebhookEvent(any(WebhookEvent.class))).thenReturn(savedEvent);
+        when(webhookService.saveWebhookEvent(any(WebhookEvent.class))).thenReturn(Optional.of(savedEvent));
 
         WebhookResponse response = paymentService.createPaymentProcessing(request);
 
@@ -143,7 +143,7 @@ class PaymentServiceTest {
                 Map.of("data", Map.of("id", 123)));
 
         when(webhookService.validateSignature(xSignature, xRequestId, dataId, "test_secret")).thenReturn(true);
-        when(webhookService.saveWebhookEvent(any(WebhookEvent.class))).thenReturn(new WebhookEvent());
+        when(webhookService.saveWebhookEvent(any(WebhookEvent.class))).thenReturn(Optional.of(new WebhookEvent()));
 
         WebhookResponse response = paymentService.createPaymentProcessing(request);
 
@@ -151,6 +151,46 @@ class PaymentServiceTest {
         verify(webhookService).validateSignature(xSignature, xRequestId, dataId, "test_secret");
     }
 
+    @Test
+    void createPaymentProcessing_ShouldStoreResourceId_AndDropDuplicate() {
+        String xSignature = "ts=123,v1=valid";
+        String xRequestId = "req-4";
+        String dataId = "77";
+
+        WebhookRequest request = new WebhookRequest(
+                xSignature,
+                xRequestId,
+                Map.of("data.id", dataId, "type", "payment"),
+                Map.of("type", "payment", "data", Map.of("id", 77)));
+
+        when(webhookService.validateSignature(xSignature, xRequestId, dataId, "test_secret")).thenReturn(true);
+        when(webhookService.saveWebhookEvent(any(WebhookEvent.class))).thenReturn(Optional.empty());
+
+        WebhookResponse response = paymentService.createPaymentProcessing(request);
+
+        ArgumentCaptor<WebhookEvent> captor = ArgumentCaptor.forClass(WebhookEvent.class);
+        verify(webhookService).saveWebhookEvent(captor.capture());
+        assertEquals(dataId, captor.getValue().getResourceId());
+        assertEquals(200, response.httpStatus());
+        verify(publisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createPaymentProcessing_ShouldIgnoreMerchantOrderTopic() {
+        WebhookRequest request = new WebhookRequest(
+                "ts=123,v1=valid",
+                "req-5",
+                Map.of("topic", "merchant_order", "id", "555"),
+                Map.of("resource", "https://api.mercadolibre.com/merchant_orders/555", "topic", "merchant_order"));
+
+        WebhookResponse response = paymentService.createPaymentProcessing(request);
+
+        assertEquals(200, response.httpStatus());
+        verify(webhookService, never()).validateSignature(any(), any(), any(), any());
+        verify(webhookService, never()).saveWebhookEvent(any());
+        verify(publisher, never()).publishEvent(any());
+    }
+
     @Test
     void getUserSubscription_ShouldReturnUserSubscription() {
         User user = new User();
@@ -18,13 +18,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.usermanager.manager.dto.user.DeleteByLoginDTO;
 import com.usermanager.manager.dto.user.UserDTO;
 import com.usermanager.manager.dto.user.UserResponseDTO;
 import com.usermanager.manager.exception.user.UserNotFoundException;
 import com.usermanager.manager.infra.mail.MailService;
+import com.usermanager.manager.infra.security.password.PasswordHashingService;
 import com.usermanager.manager.mappers.UserMapper;
 import com.usermanager.manager.model.user.User;
 import com.usermanager.manager.model.user.UserRole;
@@ -41,13 +42,16 @@ class UserServiceTest {
     private UserMapper userMapper;
     
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     
     @Mock
     private VerificationTokenService verificationService;
     
     @Mock
     private MailService mailService;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
     
     @InjectMocks
     private UserService userService;
@@ -73,7 +77,7 @@ class UserServiceTest {
         UserResponseDTO dto = new UserResponseDTO("Updated Name", "test@example.com", "newPassword");
         UserResponseDTO expectedResponse = new UserResponseDTO("Updated name", "test@example.com", "newEncodedPassword");
         when(userRepository.findByLogin(dto.login())).thenReturn(Optional.of(user));
-        when(passwordEncoder.encode(dto.password())).thenReturn("newEncodedPassword");
+        when(passwordHashingService.encode(dto.password())).thenReturn("newEncodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(userMapper.userToUserResponseDTO(any(User.class))).thenReturn(expectedResponse);
 
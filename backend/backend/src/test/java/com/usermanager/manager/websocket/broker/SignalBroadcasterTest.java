@@ -0,0 +1,115 @@
+package com.usermanager.manager.websocket.broker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanager.manager.dto.message.MessageDTO;
+import com.usermanager.manager.enums.People;
+import com.usermanager.manager.infra.cluster.LocalClusterBus;
+
+class SignalBroadcasterTest {
+
+    private final List<Message<?>> sent = new ArrayList<>();
+    private ObjectMapper objectMapper;
+    private SignalBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        broadcaster = new SignalBroadcaster(template, objectMapper,
+                new LocalClusterBus("node-a", new LocalClusterBus.Hub()));
+    }
+
+    @Test
+    @DisplayName("Should publish the serialized payload once with destination and JSON content type")
+    void broadcast_PublishesPreSerializedPayload() {
+        MessageDTO dto = new MessageDTO(1L, "Gol!", ZonedDateTime.parse("2025-01-01T12:00:00Z"),
+                People.values()[0]);
+
+        broadcaster.broadcast(SignalBroadcaster.MESSAGES_TOPIC, dto);
+
+        assertEquals(1, sent.size());
+        Message<?> message = sent.get(0);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        assertEquals(SignalBroadcaster.MESSAGES_TOPIC, accessor.getDestination());
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, accessor.getContentType());
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        Message<?> expected = converter.toMessage(dto, null);
+        assertEquals(new String((byte[]) expected.getPayload(), StandardCharsets.UTF_8),
+                new String((byte[]) message.getPayload(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should fail without publishing anything when the payload cannot be serialized")
+    void broadcast_UnserializablePayload() {
+        LocalClusterBus.Hub hub = new LocalClusterBus.Hub();
+        List<Message<?>> sentOnB = new ArrayList<>();
+        SignalBroadcaster nodeA = new SignalBroadcaster(
+                new SimpMessagingTemplate((message, timeout) -> sent.add(message)), objectMapper,
+                new LocalClusterBus("node-a", hub));
+        new SignalBroadcaster(new SimpMessagingTemplate((message, timeout) -> sentOnB.add(message)), objectMapper,
+                new LocalClusterBus("node-b", hub));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> nodeA.broadcast(SignalBroadcaster.MESSAGES_TOPIC, new Object()));
+
+        assertTrue(sent.isEmpty());
+        assertTrue(sentOnB.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore relayed signals without a destination")
+    void onRemoteSignal_IgnoresMalformedPayload() {
+        LocalClusterBus.Hub hub = new LocalClusterBus.Hub();
+        LocalClusterBus other = new LocalClusterBus("node-b", hub);
+        new SignalBroadcaster(new SimpMessagingTemplate((message, timeout) -> sent.add(message)), objectMapper,
+                new LocalClusterBus("node-a", hub));
+
+        other.publish(SignalBroadcaster.CHANNEL, "{\"id\":1}");
+
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should deliver the same JSON to sockets connected on other nodes")
+    void broadcast_RelaysToOtherNodes() {
+        LocalClusterBus.Hub hub = new LocalClusterBus.Hub();
+        List<Message<?>> sentOnA = new ArrayList<>();
+        List<Message<?>> sentOnB = new ArrayList<>();
+        SignalBroadcaster nodeA = new SignalBroadcaster(
+                new SimpMessagingTemplate((message, timeout) -> sentOnA.add(message)), objectMapper,
+                new LocalClusterBus("node-a", hub));
+        new SignalBroadcaster(new SimpMessagingTemplate((message, timeout) -> sentOnB.add(message)), objectMapper,
+                new LocalClusterBus("node-b", hub));
+
+        nodeA.broadcast(SignalBroadcaster.MESSAGES_TOPIC, new MessageDTO(3L, "linha\nnova", null, null));
+
+        assertEquals(1, sentOnA.size());
+        assertEquals(1, sentOnB.size());
+        SimpMessageHeaderAccessor remote = SimpMessageHeaderAccessor.wrap(sentOnB.get(0));
+        assertEquals(SignalBroadcaster.MESSAGES_TOPIC, remote.getDestination());
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, remote.getContentType());
+        assertEquals(new String((byte[]) sentOnA.get(0).getPayload(), StandardCharsets.UTF_8),
+                new String((byte[]) sentOnB.get(0).getPayload(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+package com.usermanager.manager.websocket.broker;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanager.manager.dto.message.MessageDTO;
+import com.usermanager.manager.enums.People;
+import com.usermanager.manager.infra.cluster.LocalClusterBus;
+
+/**
+ * Custo de entregar um sinal a N inscritos: a serialização (uma vez por sinal,
+ * tanto pelo conversor do convertAndSend quanto pelo SignalBroadcaster) e o
+ * frame STOMP de cada sessão, que o StompSubProtocolHandler codifica com
+ * subscription e message-id próprios e cópia do payload.
+ *
+ * Para rodar (com o perfil de alocação do GCProfiler):
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.usermanager.manager.websocket.broker.SignalFanOutBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignalFanOutBenchmark {
+
+    @Param({ "1", "100", "1000" })
+    public int subscribers;
+
+    private final StompEncoder encoder = new StompEncoder();
+    private MappingJackson2MessageConverter converter;
+    private SignalBroadcaster broadcaster;
+    private MessageDTO signal;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        broadcaster = new SignalBroadcaster(new SimpMessagingTemplate((message, timeout) -> true), objectMapper,
+                new LocalClusterBus("bench", new LocalClusterBus.Hub()));
+        signal = new MessageDTO(1L, "EURUSD compra 1.0850 stop 1.0820 alvo 1.0910",
+                ZonedDateTime.parse("2025-01-01T12:00:00Z"), People.values()[0]);
+    }
+
+    @Benchmark
+    public Object serializeOnly() {
+        return converter.toMessage(signal, null);
+    }
+
+    @Benchmark
+    public void convertAndSend(Blackhole blackhole) {
+        fanOut(converter.toMessage(signal, null), blackhole);
+    }
+
+    @Benchmark
+    public void signalBroadcaster(Blackhole blackhole) {
+        fanOut(broadcaster.toMessage(signal), blackhole);
+    }
+
+    private void fanOut(Message<?> message, Blackhole blackhole) {
+        byte[] payload = (byte[]) message.getPayload();
+        for (int session = 0; session < subscribers; session++) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            accessor.setDestination(SignalBroadcaster.MESSAGES_TOPIC);
+            accessor.setSubscriptionId("sub-0");
+            accessor.setMessageId("session" + session + "-1");
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            blackhole.consume(encoder.encode(accessor.getMessageHeaders(), payload));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SignalFanOutBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.usermanager.manager.websocket.presence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.usermanager.manager.infra.cluster.LocalClusterBus;
+
+class PresenceGossipTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private PresenceService nodeA;
+    private PresenceService nodeB;
+    private PresenceGossip gossipA;
+    private PresenceGossip gossipB;
+
+    @BeforeEach
+    void setUp() {
+        LocalClusterBus.Hub hub = new LocalClusterBus.Hub();
+        nodeA = new PresenceService(Duration.ofSeconds(30), Duration.ofSeconds(1), 4, clock::get);
+        nodeB = new PresenceService(Duration.ofSeconds(30), Duration.ofSeconds(1), 4, clock::get);
+        gossipA = new PresenceGossip(new LocalClusterBus("a", hub), nodeA);
+        gossipB = new PresenceGossip(new LocalClusterBus("b", hub), nodeB);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+        nodeA.expireStale();
+        nodeB.expireStale();
+    }
+
+    @Test
+    @DisplayName("Should see users connected on another node right away")
+    void connect_PropagatesToOtherNode() {
+        nodeA.markOnline(42L, "s1");
+
+        assertTrue(nodeB.isOnline(42L));
+        assertArrayEquals(new long[] { 7L }, nodeB.filterOffline(new long[] { 7L, 42L }));
+        assertEquals(0, nodeB.sessionCount());
+
+        nodeA.markOffline(42L, "s1");
+        assertFalse(nodeB.isOnline(42L));
+    }
+
+    @Test
+    @DisplayName("Should keep remote users alive through digests and drop them when digests stop")
+    void digest_RenewsAndExpiresRemotePresence() {
+        nodeA.markOnline(42L, "s1");
+
+        for (int i = 0; i < 6; i++) {
+            advance(Duration.ofSeconds(10));
+            nodeA.heartbeat(42L, "s1");
+            gossipA.publishDigest();
+        }
+        assertTrue(nodeB.isOnline(42L));
+
+        // O nó A some sem avisar: a sessão remota expira no timeout.
+        advance(Duration.ofSeconds(31));
+        assertFalse(nodeB.isOnline(42L));
+        assertEquals(0, nodeB.onlineCount());
+    }
+
+    @Test
+    @DisplayName("Should not echo remote presence back to the cluster")
+    void remotePresence_IsNotRepublished() {
+        nodeA.markOnline(42L, "s1");
+        gossipB.publishDigest();
+
+        assertArrayEquals(new long[0], nodeB.localOnlineUsers());
+        nodeA.markOffline(42L, "s1");
+        assertFalse(nodeA.isOnline(42L));
+    }
+}
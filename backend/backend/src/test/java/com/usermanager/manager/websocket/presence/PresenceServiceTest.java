@@ -0,0 +1,105 @@
+package com.usermanager.manager.websocket.presence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PresenceServiceTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private PresenceService presenceService;
+
+    @BeforeEach
+    void setUp() {
+        presenceService = new PresenceService(Duration.ofSeconds(30), Duration.ofSeconds(1), 4, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+        presenceService.expireStale();
+    }
+
+    @Test
+    @DisplayName("Should keep a user online while any device session is connected")
+    void markOffline_KeepsUserOnlineWithOtherDevice() {
+        presenceService.markOnline(1L, "phone");
+        presenceService.markOnline(1L, "tablet");
+        assertEquals(1, presenceService.onlineCount());
+        assertEquals(2, presenceService.sessionCount());
+
+        presenceService.markOffline(1L, "phone");
+        assertTrue(presenceService.isOnline(1L));
+
+        presenceService.markOffline(1L, "tablet");
+        assertFalse(presenceService.isOnline(1L));
+        assertEquals(0, presenceService.onlineCount());
+        assertEquals(0, presenceService.sessionCount());
+    }
+
+    @Test
+    @DisplayName("Should expire sessions that stop sending heartbeats without a disconnect")
+    void expireStale_RemovesSilentSessions() {
+        presenceService.markOnline(1L, "a");
+        presenceService.markOnline(2L, "b");
+
+        for (int i = 0; i < 5; i++) {
+            advance(Duration.ofSeconds(10));
+            presenceService.heartbeat(2L, "b");
+        }
+
+        assertFalse(presenceService.isOnline(1L));
+        assertTrue(presenceService.isOnline(2L));
+        assertEquals(1, presenceService.onlineCount());
+        assertEquals(1, presenceService.sessionCount());
+    }
+
+    @Test
+    @DisplayName("Should count a reconnect after disconnect only once")
+    void markOnline_AfterDisconnectIsCountedOnce() {
+        presenceService.markOnline(1L, "a");
+        presenceService.markOffline(1L, "a");
+        presenceService.markOnline(1L, "b");
+        assertEquals(1, presenceService.onlineCount());
+
+        advance(Duration.ofSeconds(31));
+        assertEquals(0, presenceService.onlineCount());
+        assertEquals(0, presenceService.sessionCount());
+        assertFalse(presenceService.isOnline(1L));
+    }
+
+    @Test
+    @DisplayName("Should return offline ids in input order")
+    void filterOffline_PreservesOrder() {
+        presenceService.markOnline(2L, "s2");
+        presenceService.markOnline(4L, "s4");
+
+        assertArrayEquals(new long[] { 1L, 3L, 5L },
+                presenceService.filterOffline(new long[] { 1L, 2L, 3L, 4L, 5L }));
+    }
+
+    @Test
+    @DisplayName("Should track many users across shard resizes and removals")
+    void manyUsers_ResizeAndRemove() {
+        for (long id = 1; id <= 10_000; id++) {
+            presenceService.markOnline(id, "s");
+        }
+        for (long id = 1; id <= 10_000; id += 2) {
+            presenceService.markOffline(id, "s");
+        }
+        assertEquals(5_000, presenceService.onlineCount());
+
+        advance(Duration.ofSeconds(31));
+        assertEquals(0, presenceService.onlineCount());
+        for (long id = 1; id <= 10_000; id++) {
+            assertFalse(presenceService.isOnline(id));
+        }
+    }
+}